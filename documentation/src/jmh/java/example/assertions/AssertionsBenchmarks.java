@@ -0,0 +1,107 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package example.assertions;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Assertions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput and allocation rate of the passing primitive overloads of
+ * {@link Assertions}.
+ *
+ * <p>Run via {@code gradlew :documentation:jmh}; the {@code gc} profiler
+ * reports the allocated bytes per operation as {@code gc.alloc.rate.norm}.
+ * These benchmarks only measure; that passing assertions allocate nothing
+ * is enforced by {@code AssertionsAllocationTests} as part of the regular
+ * test run.
+ *
+ * @since 5.3
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class AssertionsBenchmarks {
+
+	private static final Supplier<String> MESSAGE = () -> "message";
+
+	// non-final fields keep the JIT from folding the comparisons away
+	int intValue = 2;
+
+	long longValue = 2L;
+
+	double doubleValue = 0.5;
+
+	float floatValue = 0.5f;
+
+	char charValue = 'a';
+
+	boolean condition = true;
+
+	@Benchmark
+	public void assertEqualsInt() {
+		Assertions.assertEquals(this.intValue, this.intValue);
+	}
+
+	@Benchmark
+	public void assertEqualsIntWithMessage() {
+		Assertions.assertEquals(this.intValue, this.intValue, "message");
+	}
+
+	@Benchmark
+	public void assertEqualsLongWithSupplier() {
+		Assertions.assertEquals(this.longValue, this.longValue, MESSAGE);
+	}
+
+	@Benchmark
+	public void assertEqualsChar() {
+		Assertions.assertEquals(this.charValue, this.charValue);
+	}
+
+	@Benchmark
+	public void assertEqualsDouble() {
+		Assertions.assertEquals(this.doubleValue, this.doubleValue);
+	}
+
+	@Benchmark
+	public void assertEqualsDoubleWithDelta() {
+		Assertions.assertEquals(this.doubleValue, this.doubleValue, 0.1);
+	}
+
+	@Benchmark
+	public void assertEqualsFloatWithDelta() {
+		Assertions.assertEquals(this.floatValue, this.floatValue, 0.1f);
+	}
+
+	@Benchmark
+	public void assertTrueWithSupplier() {
+		Assertions.assertTrue(this.condition, MESSAGE);
+	}
+
+	@Benchmark
+	public void assertFalse() {
+		Assertions.assertFalse(!this.condition);
+	}
+
+}
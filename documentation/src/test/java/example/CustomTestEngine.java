@@ -10,19 +10,84 @@
 
 package example;
 
+import static java.lang.invoke.MethodType.methodType;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Predicate;
+import java.util.logging.Logger;
+
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.junit.platform.commons.support.HierarchyTraversalMode;
+import org.junit.platform.commons.support.ReflectionSupport;
+import org.junit.platform.engine.ConfigurationParameters;
 import org.junit.platform.engine.EngineDiscoveryRequest;
+import org.junit.platform.engine.EngineExecutionListener;
 import org.junit.platform.engine.ExecutionRequest;
 import org.junit.platform.engine.TestDescriptor;
 import org.junit.platform.engine.TestEngine;
+import org.junit.platform.engine.TestExecutionResult;
 import org.junit.platform.engine.UniqueId;
+import org.junit.platform.engine.discovery.ClassSelector;
+import org.junit.platform.engine.discovery.ClasspathRootSelector;
+import org.junit.platform.engine.discovery.MethodSelector;
+import org.junit.platform.engine.discovery.PackageSelector;
+import org.junit.platform.engine.support.descriptor.AbstractTestDescriptor;
+import org.junit.platform.engine.support.descriptor.ClassSource;
 import org.junit.platform.engine.support.descriptor.EngineDescriptor;
+import org.junit.platform.engine.support.descriptor.MethodSource;
+import org.junit.platform.engine.support.filter.ClasspathScanningSupport;
+import org.opentest4j.TestAbortedException;
 
 /**
- * This is a no-op {@link TestEngine} that is only
- * used to make examples compile.
+ * Lightweight {@link TestEngine} for {@link MicroTest @MicroTest} methods.
+ *
+ * <p>Every test method is resolved exactly once during discovery and
+ * compiled via {@link LambdaMetafactory} into a {@link Runnable}. Executing
+ * a test is therefore a plain interface call without any reflection, and
+ * there is no extension model or lifecycle whose overhead could exceed
+ * that of the test body itself.
+ *
+ * <p>Tests are executed in the calling thread unless they are annotated
+ * with {@link Execution @Execution(CONCURRENT)}, either directly or on their
+ * class. Concurrent tests of a class are submitted to an executor which is
+ * configured via the {@value #EXECUTOR_PROPERTY_NAME} configuration
+ * parameter:
+ *
+ * <ul>
+ * <li>{@code fixed} (default): a pool of platform threads whose size is
+ * configured via {@value #PARALLELISM_PROPERTY_NAME} and defaults to the
+ * number of available processors</li>
+ * <li>{@code virtual}: a new virtual thread per test, which lets thousands
+ * of blocking tests wait at the same time while the JVM multiplexes them
+ * onto a bounded pool of carrier threads; falls back to {@code fixed} on
+ * JREs that do not support virtual threads</li>
+ * </ul>
  */
 class CustomTestEngine implements TestEngine {
 
+	static final String EXECUTOR_PROPERTY_NAME = "custom-test-engine.execution.parallel.executor";
+
+	static final String PARALLELISM_PROPERTY_NAME = "custom-test-engine.execution.parallel.config.fixed.parallelism";
+
+	private static final Logger logger = Logger.getLogger(CustomTestEngine.class.getName());
+
+	private static final Predicate<Method> IS_MICRO_TEST = method -> AnnotationSupport.isAnnotated(method,
+		MicroTest.class);
+
 	@Override
 	public String getId() {
 		return "custom-test-engine";
@@ -30,11 +95,178 @@ class CustomTestEngine implements TestEngine {
 
 	@Override
 	public TestDescriptor discover(EngineDiscoveryRequest discoveryRequest, UniqueId uniqueId) {
-		return new EngineDescriptor(UniqueId.forEngine(getId()), "Custom Test Engine");
+		EngineDescriptor engineDescriptor = new EngineDescriptor(uniqueId, "Custom Test Engine");
+		Predicate<String> classNamePredicate = ClasspathScanningSupport.buildClassNamePredicate(discoveryRequest);
+		Predicate<Class<?>> hasMicroTests = testClass -> !ReflectionSupport.findMethods(testClass, IS_MICRO_TEST,
+			HierarchyTraversalMode.TOP_DOWN).isEmpty();
+
+		List<Class<?>> testClasses = new ArrayList<>();
+		discoveryRequest.getSelectorsByType(ClasspathRootSelector.class).forEach(selector -> testClasses.addAll(
+			ReflectionSupport.findAllClassesInClasspathRoot(selector.getClasspathRoot(), hasMicroTests,
+				classNamePredicate)));
+		discoveryRequest.getSelectorsByType(PackageSelector.class).forEach(selector -> testClasses.addAll(
+			ReflectionSupport.findAllClassesInPackage(selector.getPackageName(), hasMicroTests, classNamePredicate)));
+		discoveryRequest.getSelectorsByType(ClassSelector.class).forEach(
+			selector -> testClasses.add(selector.getJavaClass()));
+
+		testClasses.forEach(testClass -> resolveClass(engineDescriptor, testClass, IS_MICRO_TEST));
+		discoveryRequest.getSelectorsByType(MethodSelector.class).forEach(
+			selector -> resolveClass(engineDescriptor, selector.getJavaClass(),
+				IS_MICRO_TEST.and(selector.getJavaMethod()::equals)));
+		return engineDescriptor;
+	}
+
+	private void resolveClass(EngineDescriptor engineDescriptor, Class<?> testClass, Predicate<Method> filter) {
+		UniqueId classId = engineDescriptor.getUniqueId().append("class", testClass.getName());
+		MicroClassDescriptor classDescriptor = engineDescriptor.findByUniqueId(classId) //
+				.map(MicroClassDescriptor.class::cast) //
+				.orElseGet(() -> new MicroClassDescriptor(classId, testClass));
+
+		for (Method method : ReflectionSupport.findMethods(testClass, filter, HierarchyTraversalMode.TOP_DOWN)) {
+			if (!Modifier.isStatic(method.getModifiers()) || method.getParameterCount() > 0) {
+				logger.warning(() -> String.format(
+					"@MicroTest method [%s] must be static and must not declare parameters; ignoring it.", method));
+				continue;
+			}
+			UniqueId methodId = classId.append("method", method.getName());
+			if (!classDescriptor.findByUniqueId(methodId).isPresent()) {
+				classDescriptor.addChild(new MicroTestDescriptor(methodId, testClass, method));
+			}
+		}
+		if (!classDescriptor.getChildren().isEmpty() && !classDescriptor.getParent().isPresent()) {
+			engineDescriptor.addChild(classDescriptor);
+		}
 	}
 
 	@Override
 	public void execute(ExecutionRequest request) {
+		TestDescriptor engineDescriptor = request.getRootTestDescriptor();
+		EngineExecutionListener listener = request.getEngineExecutionListener();
+
+		ExecutorService executorService = createExecutorService(request.getConfigurationParameters());
+		try {
+			listener.executionStarted(engineDescriptor);
+			for (TestDescriptor classDescriptor : engineDescriptor.getChildren()) {
+				listener.executionStarted(classDescriptor);
+				List<CompletableFuture<Void>> concurrentTests = new ArrayList<>();
+				for (TestDescriptor child : classDescriptor.getChildren()) {
+					MicroTestDescriptor testDescriptor = (MicroTestDescriptor) child;
+					if (testDescriptor.getExecutionMode() == ExecutionMode.CONCURRENT) {
+						concurrentTests.add(
+							CompletableFuture.runAsync(() -> execute(testDescriptor, listener), executorService));
+					}
+					else {
+						execute(testDescriptor, listener);
+					}
+				}
+				concurrentTests.forEach(CompletableFuture::join);
+				listener.executionFinished(classDescriptor, TestExecutionResult.successful());
+			}
+			listener.executionFinished(engineDescriptor, TestExecutionResult.successful());
+		}
+		finally {
+			executorService.shutdownNow();
+		}
+	}
+
+	private void execute(MicroTestDescriptor testDescriptor, EngineExecutionListener listener) {
+		listener.executionStarted(testDescriptor);
+		listener.executionFinished(testDescriptor, testDescriptor.execute());
+	}
+
+	private ExecutorService createExecutorService(ConfigurationParameters configurationParameters) {
+		String executor = configurationParameters.get(EXECUTOR_PROPERTY_NAME).orElse("fixed");
+		if ("virtual".equals(executor.trim().toLowerCase(Locale.ROOT))) {
+			try {
+				return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+			}
+			catch (ReflectiveOperationException e) {
+				logger.info(() -> "Virtual threads are not supported by this JRE; using a fixed thread pool instead.");
+			}
+		}
+		int parallelism = configurationParameters.get(PARALLELISM_PROPERTY_NAME, Integer::valueOf) //
+				.orElse(Runtime.getRuntime().availableProcessors());
+		return Executors.newFixedThreadPool(parallelism, runnable -> {
+			Thread thread = new Thread(runnable, "custom-test-engine-worker");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	static class MicroClassDescriptor extends AbstractTestDescriptor {
+
+		MicroClassDescriptor(UniqueId uniqueId, Class<?> testClass) {
+			super(uniqueId, testClass.getSimpleName(), ClassSource.from(testClass));
+		}
+
+		@Override
+		public Type getType() {
+			return Type.CONTAINER;
+		}
+
+	}
+
+	static class MicroTestDescriptor extends AbstractTestDescriptor {
+
+		private final Runnable body;
+
+		private final ExecutionMode executionMode;
+
+		MicroTestDescriptor(UniqueId uniqueId, Class<?> testClass, Method method) {
+			super(uniqueId, method.getName() + "()", MethodSource.from(testClass, method));
+			this.body = compile(testClass, method);
+			this.executionMode = AnnotationSupport.findAnnotation(method, Execution.class) //
+					.map(Optional::of) //
+					.orElseGet(() -> AnnotationSupport.findAnnotation(testClass, Execution.class)) //
+					.map(Execution::value) //
+					.orElse(ExecutionMode.SAME_THREAD);
+		}
+
+		@Override
+		public Type getType() {
+			return Type.TEST;
+		}
+
+		ExecutionMode getExecutionMode() {
+			return this.executionMode;
+		}
+
+		TestExecutionResult execute() {
+			try {
+				this.body.run();
+				return TestExecutionResult.successful();
+			}
+			catch (TestAbortedException e) {
+				return TestExecutionResult.aborted(e);
+			}
+			catch (Throwable t) {
+				return TestExecutionResult.failed(t);
+			}
+		}
+
+		/**
+		 * Compile the supplied static method into a {@link Runnable}.
+		 *
+		 * <p>Checked exceptions thrown by the method are propagated unchanged
+		 * since the generated class does not declare them. If the method
+		 * cannot be compiled, the returned {@code Runnable} reports the cause
+		 * when the test is executed.
+		 */
+		private static Runnable compile(Class<?> testClass, Method method) {
+			try {
+				MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(testClass, MethodHandles.lookup());
+				MethodHandle target = lookup.unreflect(method);
+				CallSite callSite = LambdaMetafactory.metafactory(lookup, "run", methodType(Runnable.class),
+					methodType(void.class), target, methodType(void.class));
+				return (Runnable) callSite.getTarget().invokeExact();
+			}
+			catch (Throwable t) {
+				return () -> {
+					throw new IllegalStateException("Failed to compile @MicroTest method " + method, t);
+				};
+			}
+		}
+
 	}
 
 }
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectMethod;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.junit.platform.engine.DiscoverySelector;
+import org.junit.platform.launcher.Launcher;
+import org.junit.platform.launcher.LauncherDiscoveryRequest;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.core.LauncherConfig;
+import org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder;
+import org.junit.platform.launcher.core.LauncherFactory;
+import org.junit.platform.launcher.listeners.SummaryGeneratingListener;
+import org.junit.platform.launcher.listeners.TestExecutionSummary;
+
+/**
+ * Tests for {@link CustomTestEngine}.
+ *
+ * @since 5.3
+ */
+class CustomTestEngineTests {
+
+	private final Launcher launcher = LauncherFactory.create(LauncherConfig.builder() //
+			.enableTestEngineAutoRegistration(false) //
+			.addTestEngines(new CustomTestEngine()) //
+			.build());
+
+	@Test
+	void discoversStaticMicroTestMethodsOnly() {
+		LauncherDiscoveryRequest request = request(selectClass(MicroTestCase.class));
+
+		assertEquals(4, launcher.discover(request).countTestIdentifiers(TestIdentifier::isTest));
+	}
+
+	@Test
+	void discoversSelectedMethod() {
+		LauncherDiscoveryRequest request = request(selectMethod(MicroTestCase.class, "succeedingTest"));
+
+		assertEquals(1, launcher.discover(request).countTestIdentifiers(TestIdentifier::isTest));
+	}
+
+	@Test
+	void reportsResultsOfCompiledTestMethods() {
+		SummaryGeneratingListener listener = new SummaryGeneratingListener();
+
+		launcher.execute(request(selectClass(MicroTestCase.class)), listener);
+
+		TestExecutionSummary summary = listener.getSummary();
+		assertEquals(1, summary.getTestsSucceededCount());
+		assertEquals(2, summary.getTestsFailedCount());
+		assertEquals(1, summary.getTestsAbortedCount());
+		assertEquals(IOException.class, summary.getFailures().stream() //
+				.filter(failure -> failure.getTestIdentifier().getDisplayName().equals("checkedExceptionTest()")) //
+				.findFirst().get().getException().getClass());
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "fixed", "virtual" })
+	void executesConcurrentTestsInParallel(String executor) throws Exception {
+		Method isVirtual = isVirtualMethod();
+		assumeTrue(!executor.equals("virtual") || isVirtual != null, "virtual threads are not supported");
+		ConcurrentMicroTestCase.threads.clear();
+		LauncherDiscoveryRequest request = LauncherDiscoveryRequestBuilder.request() //
+				.selectors(selectClass(ConcurrentMicroTestCase.class)) //
+				.configurationParameter(CustomTestEngine.EXECUTOR_PROPERTY_NAME, executor) //
+				.configurationParameter(CustomTestEngine.PARALLELISM_PROPERTY_NAME, "3") //
+				.build();
+		SummaryGeneratingListener listener = new SummaryGeneratingListener();
+
+		launcher.execute(request, listener);
+
+		assertEquals(3, listener.getSummary().getTestsSucceededCount());
+		assertEquals(3, ConcurrentMicroTestCase.threads.size());
+		if (isVirtual != null) {
+			for (Thread thread : ConcurrentMicroTestCase.threads) {
+				assertEquals(executor.equals("virtual"), isVirtual.invoke(thread), thread::toString);
+			}
+		}
+	}
+
+	/**
+	 * Get {@code Thread.isVirtual()} if virtual threads can be created on
+	 * this JRE, and {@code null} otherwise.
+	 */
+	private static Method isVirtualMethod() {
+		try {
+			((ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null)).shutdown();
+			return Thread.class.getMethod("isVirtual");
+		}
+		catch (ReflectiveOperationException e) {
+			return null;
+		}
+	}
+
+	private static LauncherDiscoveryRequest request(DiscoverySelector selector) {
+		return LauncherDiscoveryRequestBuilder.request().selectors(selector).build();
+	}
+
+	static class MicroTestCase {
+
+		@MicroTest
+		static void succeedingTest() {
+			assertEquals(4, 2 * 2);
+		}
+
+		@MicroTest
+		static void failingTest() {
+			assertEquals(5, 2 * 2);
+		}
+
+		@MicroTest
+		static void checkedExceptionTest() throws IOException {
+			throw new IOException("expected");
+		}
+
+		@MicroTest
+		static void abortedTest() {
+			assumeTrue(false);
+		}
+
+		@MicroTest
+		void instanceMethodIsIgnored() {
+		}
+
+	}
+
+	@Execution(ExecutionMode.CONCURRENT)
+	static class ConcurrentMicroTestCase {
+
+		private static final CyclicBarrier barrier = new CyclicBarrier(3);
+
+		static final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+
+		@MicroTest
+		static void first() throws Exception {
+			threads.add(Thread.currentThread());
+			barrier.await(5, TimeUnit.SECONDS);
+		}
+
+		@MicroTest
+		static void second() throws Exception {
+			threads.add(Thread.currentThread());
+			barrier.await(5, TimeUnit.SECONDS);
+		}
+
+		@MicroTest
+		static void third() throws Exception {
+			threads.add(Thread.currentThread());
+			barrier.await(5, TimeUnit.SECONDS);
+		}
+
+	}
+
+}
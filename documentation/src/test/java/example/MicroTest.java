@@ -0,0 +1,31 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package example;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a {@code static}, parameterless {@code void} method as a test that
+ * is executed by the {@link CustomTestEngine}.
+ *
+ * <p>Micro tests have no lifecycle callbacks, no extensions and no
+ * parameter resolution, which makes them suitable for very large numbers of
+ * tiny tests of pure functions.
+ *
+ * @since 5.3
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface MicroTest {
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package example.assertions;
+
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Guards that the primitive overloads of {@link Assertions} do not
+ * allocate when they pass, neither for boxing nor for building messages.
+ *
+ * @since 5.3
+ */
+class AssertionsAllocationTests {
+
+	private static final Supplier<String> MESSAGE = () -> "message";
+
+	@Test
+	void doesNotAllocateWhenPassing() {
+		ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+		com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) bean;
+		assumeTrue(threadBean.isThreadAllocatedMemorySupported() && threadBean.isThreadAllocatedMemoryEnabled());
+
+		long threadId = Thread.currentThread().getId();
+		passingAssertions(100_000);
+		long before = threadBean.getThreadAllocatedBytes(threadId);
+		passingAssertions(1_000_000);
+		long allocated = threadBean.getThreadAllocatedBytes(threadId) - before;
+
+		// leave room for the measurement itself, but not for a single byte per call
+		Assertions.assertTrue(allocated < 100_000, () -> allocated + " bytes allocated");
+	}
+
+	private static void passingAssertions(int iterations) {
+		for (int i = 0; i < iterations; i++) {
+			Assertions.assertEquals(i, i);
+			Assertions.assertEquals((char) i, (char) i, "char");
+			Assertions.assertEquals((long) i, i, "long");
+			Assertions.assertEquals(i * 0.5, i * 0.5, MESSAGE);
+			Assertions.assertEquals(i * 0.5, i * 0.5 + 0.01, 0.1);
+			Assertions.assertEquals(i * 0.5f, i * 0.5f + 0.01f, 0.1f);
+			Assertions.assertTrue(i >= 0, MESSAGE);
+			Assertions.assertFalse(i < 0, "negative");
+		}
+	}
+
+}
@@ -0,0 +1,397 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package example.assertions;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.IntFunction;
+
+import org.opentest4j.AssertionFailedError;
+
+/**
+ * Variants of {@code Assertions.assertArrayEquals()} and
+ * {@code Assertions.assertIterableEquals()} for very large arrays and
+ * iterables.
+ *
+ * <p>Arrays are compared via {@link Arrays#mismatch}, which the JIT
+ * compiles into vectorized bulk comparisons, instead of element by
+ * element. Iterables are compared in a single pass that stops once
+ * {@value #MAX_MISMATCHES} mismatches have been found. Equality follows
+ * the built-in assertions: floating-point values are compared by their
+ * bits, so {@code NaN} equals {@code NaN}; elements of object arrays are
+ * compared deeply; and elements of iterables are compared recursively if
+ * both are iterables and via {@link Object#equals} otherwise.
+ *
+ * <p>Failure messages start like those of the built-in assertions, but
+ * instead of the complete arrays they only contain a diff of the first
+ * {@value #MAX_MISMATCHES} mismatches, each shown with up to
+ * {@value #CONTEXT_SIZE} equal elements before and after it. Element
+ * values are abbreviated to {@value #MAX_VALUE_LENGTH} characters, so the
+ * message size is bounded no matter how large the compared values are.
+ *
+ * @since 5.3
+ */
+public final class BulkAssertions {
+
+	static final int MAX_MISMATCHES = 10;
+
+	static final int CONTEXT_SIZE = 3;
+
+	static final int MAX_VALUE_LENGTH = 50;
+
+	private static final Object ABSENT = new Object() {
+
+		@Override
+		public String toString() {
+			return "<absent>";
+		}
+	};
+
+	private BulkAssertions() {
+		/* no-op */
+	}
+
+	public static void assertArrayEquals(boolean[] expected, boolean[] actual) {
+		assertArrayEquals(expected, actual, null);
+	}
+
+	public static void assertArrayEquals(boolean[] expected, boolean[] actual, String message) {
+		if (checkNulls(expected, actual, message)) {
+			int length = Math.min(expected.length, actual.length);
+			assertArrayEquals(expected.length, actual.length, message, i -> expected[i], i -> actual[i],
+				from -> offset(from, Arrays.mismatch(expected, from, length, actual, from, length)));
+		}
+	}
+
+	public static void assertArrayEquals(char[] expected, char[] actual) {
+		assertArrayEquals(expected, actual, null);
+	}
+
+	public static void assertArrayEquals(char[] expected, char[] actual, String message) {
+		if (checkNulls(expected, actual, message)) {
+			int length = Math.min(expected.length, actual.length);
+			assertArrayEquals(expected.length, actual.length, message, i -> expected[i], i -> actual[i],
+				from -> offset(from, Arrays.mismatch(expected, from, length, actual, from, length)));
+		}
+	}
+
+	public static void assertArrayEquals(byte[] expected, byte[] actual) {
+		assertArrayEquals(expected, actual, null);
+	}
+
+	public static void assertArrayEquals(byte[] expected, byte[] actual, String message) {
+		if (checkNulls(expected, actual, message)) {
+			int length = Math.min(expected.length, actual.length);
+			assertArrayEquals(expected.length, actual.length, message, i -> expected[i], i -> actual[i],
+				from -> offset(from, Arrays.mismatch(expected, from, length, actual, from, length)));
+		}
+	}
+
+	public static void assertArrayEquals(short[] expected, short[] actual) {
+		assertArrayEquals(expected, actual, null);
+	}
+
+	public static void assertArrayEquals(short[] expected, short[] actual, String message) {
+		if (checkNulls(expected, actual, message)) {
+			int length = Math.min(expected.length, actual.length);
+			assertArrayEquals(expected.length, actual.length, message, i -> expected[i], i -> actual[i],
+				from -> offset(from, Arrays.mismatch(expected, from, length, actual, from, length)));
+		}
+	}
+
+	public static void assertArrayEquals(int[] expected, int[] actual) {
+		assertArrayEquals(expected, actual, null);
+	}
+
+	public static void assertArrayEquals(int[] expected, int[] actual, String message) {
+		if (checkNulls(expected, actual, message)) {
+			int length = Math.min(expected.length, actual.length);
+			assertArrayEquals(expected.length, actual.length, message, i -> expected[i], i -> actual[i],
+				from -> offset(from, Arrays.mismatch(expected, from, length, actual, from, length)));
+		}
+	}
+
+	public static void assertArrayEquals(long[] expected, long[] actual) {
+		assertArrayEquals(expected, actual, null);
+	}
+
+	public static void assertArrayEquals(long[] expected, long[] actual, String message) {
+		if (checkNulls(expected, actual, message)) {
+			int length = Math.min(expected.length, actual.length);
+			assertArrayEquals(expected.length, actual.length, message, i -> expected[i], i -> actual[i],
+				from -> offset(from, Arrays.mismatch(expected, from, length, actual, from, length)));
+		}
+	}
+
+	public static void assertArrayEquals(float[] expected, float[] actual) {
+		assertArrayEquals(expected, actual, null);
+	}
+
+	public static void assertArrayEquals(float[] expected, float[] actual, String message) {
+		if (checkNulls(expected, actual, message)) {
+			int length = Math.min(expected.length, actual.length);
+			assertArrayEquals(expected.length, actual.length, message, i -> expected[i], i -> actual[i],
+				from -> offset(from, Arrays.mismatch(expected, from, length, actual, from, length)));
+		}
+	}
+
+	public static void assertArrayEquals(double[] expected, double[] actual) {
+		assertArrayEquals(expected, actual, null);
+	}
+
+	public static void assertArrayEquals(double[] expected, double[] actual, String message) {
+		if (checkNulls(expected, actual, message)) {
+			int length = Math.min(expected.length, actual.length);
+			assertArrayEquals(expected.length, actual.length, message, i -> expected[i], i -> actual[i],
+				from -> offset(from, Arrays.mismatch(expected, from, length, actual, from, length)));
+		}
+	}
+
+	public static void assertArrayEquals(Object[] expected, Object[] actual) {
+		assertArrayEquals(expected, actual, null);
+	}
+
+	public static void assertArrayEquals(Object[] expected, Object[] actual, String message) {
+		if (checkNulls(expected, actual, message)) {
+			int length = Math.min(expected.length, actual.length);
+			assertArrayEquals(expected.length, actual.length, message, i -> expected[i], i -> actual[i],
+				from -> offset(from, Arrays.mismatch(expected, from, length, actual, from, length,
+					(left, right) -> Objects.deepEquals(left, right) ? 0 : 1)));
+		}
+	}
+
+	public static void assertIterableEquals(Iterable<?> expected, Iterable<?> actual) {
+		assertIterableEquals(expected, actual, null);
+	}
+
+	public static void assertIterableEquals(Iterable<?> expected, Iterable<?> actual, String message) {
+		if (expected == actual) {
+			return;
+		}
+		if (expected == null || actual == null) {
+			throw nullFailure("iterable", expected, actual, message);
+		}
+		Iterator<?> expectedElements = expected.iterator();
+		Iterator<?> actualElements = actual.iterator();
+		Diff diff = new Diff();
+		Deque<String> precedingRows = new ArrayDeque<>(CONTEXT_SIZE);
+		int trailingRows = 0;
+		int lastRow = -1;
+		for (int i = 0; expectedElements.hasNext() || actualElements.hasNext(); i++) {
+			Object expectedElement = expectedElements.hasNext() ? expectedElements.next() : ABSENT;
+			Object actualElement = actualElements.hasNext() ? actualElements.next() : ABSENT;
+			boolean mismatch = expectedElement == ABSENT || actualElement == ABSENT
+					|| !iterableElementsEqual(expectedElement, actualElement);
+			if (mismatch && diff.isFull()) {
+				diff.truncated = true;
+				break;
+			}
+			if (mismatch) {
+				if (diff.mismatches == 0) {
+					diff.firstMismatch(i, expectedElement, actualElement);
+				}
+				if (lastRow >= 0 && i - precedingRows.size() > lastRow + 1) {
+					diff.gap();
+				}
+				precedingRows.forEach(diff::row);
+				precedingRows.clear();
+				diff.mismatch(i, expectedElement, actualElement);
+				trailingRows = CONTEXT_SIZE;
+				lastRow = i;
+			}
+			else if (trailingRows > 0) {
+				diff.row(row(" ", i, expectedElement, actualElement));
+				trailingRows--;
+				lastRow = i;
+			}
+			else if (diff.isFull()) {
+				break;
+			}
+			else {
+				if (precedingRows.size() == CONTEXT_SIZE) {
+					precedingRows.removeFirst();
+				}
+				precedingRows.addLast(row(" ", i, expectedElement, actualElement));
+			}
+		}
+		if (diff.mismatches > 0) {
+			String first = diff.firstExpected == ABSENT || diff.firstActual == ABSENT ? "iterable lengths differ"
+					: "iterable contents differ";
+			throw diff.toFailure(first + diff.describeFirstMismatch(), message);
+		}
+	}
+
+	private static boolean iterableElementsEqual(Object expected, Object actual) {
+		if (expected instanceof Iterable && actual instanceof Iterable) {
+			Iterator<?> expectedElements = ((Iterable<?>) expected).iterator();
+			Iterator<?> actualElements = ((Iterable<?>) actual).iterator();
+			while (expectedElements.hasNext() && actualElements.hasNext()) {
+				if (!iterableElementsEqual(expectedElements.next(), actualElements.next())) {
+					return false;
+				}
+			}
+			return !expectedElements.hasNext() && !actualElements.hasNext();
+		}
+		return Objects.equals(expected, actual);
+	}
+
+	private static boolean checkNulls(Object expected, Object actual, String message) {
+		if (expected == actual) {
+			return false;
+		}
+		if (expected == null || actual == null) {
+			throw nullFailure("array", expected, actual, message);
+		}
+		return true;
+	}
+
+	private static AssertionFailedError nullFailure(String kind, Object expected, Object actual, String message) {
+		String description = (expected == null ? "expected " : "actual ") + kind + " was <null>";
+		return new AssertionFailedError(buildPrefix(message) + description, expected, actual);
+	}
+
+	private static int offset(int from, int mismatch) {
+		return mismatch < 0 ? -1 : from + mismatch;
+	}
+
+	/**
+	 * Compare two arrays of the supplied lengths.
+	 *
+	 * @param mismatcher returns the index of the first mismatch within the
+	 * common length at or after the supplied index, or {@code -1}
+	 */
+	private static void assertArrayEquals(int expectedLength, int actualLength, String message,
+			IntFunction<Object> expected, IntFunction<Object> actual, IntFunction<Integer> mismatcher) {
+		int commonLength = Math.min(expectedLength, actualLength);
+		List<Integer> mismatches = new ArrayList<>();
+		int mismatch = mismatcher.apply(0);
+		while (mismatch >= 0 && mismatches.size() <= MAX_MISMATCHES) {
+			mismatches.add(mismatch);
+			mismatch = mismatch + 1 < commonLength ? mismatcher.apply(mismatch + 1) : -1;
+		}
+		if (expectedLength != actualLength && mismatches.size() <= MAX_MISMATCHES) {
+			mismatches.add(commonLength);
+		}
+		if (mismatches.isEmpty()) {
+			return;
+		}
+
+		IntFunction<Object> expectedOrAbsent = i -> i < expectedLength ? expected.apply(i) : ABSENT;
+		IntFunction<Object> actualOrAbsent = i -> i < actualLength ? actual.apply(i) : ABSENT;
+		Diff diff = new Diff();
+		int first = mismatches.get(0);
+		diff.firstMismatch(first, expectedOrAbsent.apply(first), actualOrAbsent.apply(first));
+		int nextRow = 0;
+		for (int index : mismatches) {
+			if (diff.isFull()) {
+				diff.truncated = true;
+				break;
+			}
+			int from = Math.max(nextRow, index - CONTEXT_SIZE);
+			if (from > nextRow && nextRow > 0) {
+				diff.gap();
+			}
+			for (int i = from; i < index; i++) {
+				diff.row(row(" ", i, expectedOrAbsent.apply(i), actualOrAbsent.apply(i)));
+			}
+			diff.mismatch(index, expectedOrAbsent.apply(index), actualOrAbsent.apply(index));
+			nextRow = index + 1;
+			int to = Math.min(index + CONTEXT_SIZE, commonLength - 1);
+			for (int i = nextRow; i <= to && !mismatches.contains(i); i++) {
+				diff.row(row(" ", i, expectedOrAbsent.apply(i), actualOrAbsent.apply(i)));
+				nextRow = i + 1;
+			}
+		}
+		if (expectedLength != actualLength) {
+			throw diff.toFailure(
+				String.format("array lengths differ, expected: <%d> but was: <%d>", expectedLength, actualLength),
+				message);
+		}
+		throw diff.toFailure("array contents differ" + diff.describeFirstMismatch(), message);
+	}
+
+	private static String row(String marker, int index, Object expected, Object actual) {
+		return String.format("%s [%d] %s | %s", marker, index, abbreviate(expected), abbreviate(actual));
+	}
+
+	private static String abbreviate(Object value) {
+		String string = value instanceof Object[] ? Arrays.deepToString((Object[]) value) : String.valueOf(value);
+		return string.length() <= MAX_VALUE_LENGTH ? string : string.substring(0, MAX_VALUE_LENGTH - 3) + "...";
+	}
+
+	private static String buildPrefix(String message) {
+		return message != null && !message.trim().isEmpty() ? message + " ==> " : "";
+	}
+
+	/**
+	 * Bounded diff of the first mismatches and their context.
+	 */
+	private static class Diff {
+
+		private final StringBuilder rows = new StringBuilder();
+
+		private int mismatches;
+
+		private int firstIndex;
+
+		private Object firstExpected;
+
+		private Object firstActual;
+
+		private boolean truncated;
+
+		boolean isFull() {
+			return this.mismatches >= MAX_MISMATCHES;
+		}
+
+		void firstMismatch(int index, Object expected, Object actual) {
+			this.firstIndex = index;
+			this.firstExpected = expected;
+			this.firstActual = actual;
+		}
+
+		void mismatch(int index, Object expected, Object actual) {
+			row(BulkAssertions.row(">", index, expected, actual));
+			this.mismatches++;
+		}
+
+		void row(String row) {
+			this.rows.append(System.lineSeparator()).append(row);
+		}
+
+		void gap() {
+			row("  ...");
+		}
+
+		String describeFirstMismatch() {
+			return String.format(" at index [%d], expected: <%s> but was: <%s>", this.firstIndex,
+				abbreviate(this.firstExpected), abbreviate(this.firstActual));
+		}
+
+		AssertionFailedError toFailure(String description, String message) {
+			StringBuilder builder = new StringBuilder(buildPrefix(message)).append(description).append(this.rows);
+			if (this.truncated) {
+				builder.append(System.lineSeparator()).append(
+					String.format("  (only the first %d mismatches are shown)", MAX_MISMATCHES));
+			}
+			Object expected = this.firstExpected == ABSENT ? null : this.firstExpected;
+			Object actual = this.firstActual == ABSENT ? null : this.firstActual;
+			return new AssertionFailedError(builder.toString(), expected, actual);
+		}
+
+	}
+
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package example.assertions;
+
+import static example.assertions.BulkAssertions.assertArrayEquals;
+import static example.assertions.BulkAssertions.assertIterableEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.opentest4j.AssertionFailedError;
+
+/**
+ * Tests for {@link BulkAssertions}.
+ *
+ * @since 5.3
+ */
+class BulkAssertionsTests {
+
+	private static final String NL = System.lineSeparator();
+
+	@Test
+	void passesForEqualArrays() {
+		int[] array = IntStream.range(0, 1_000_000).toArray();
+
+		assertArrayEquals(array, array.clone());
+		assertArrayEquals(new double[] { Double.NaN, 0.5 }, new double[] { Double.NaN, 0.5 });
+		assertArrayEquals(new Object[] { new int[] { 1 }, "a" }, new Object[] { new int[] { 1 }, "a" });
+		assertArrayEquals((long[]) null, null);
+	}
+
+	@Test
+	void rendersWindowedDiffOfMismatches() {
+		int[] expected = IntStream.range(0, 20).toArray();
+		int[] actual = expected.clone();
+		actual[2] = -2;
+		actual[3] = -3;
+		actual[15] = -15;
+
+		AssertionFailedError error = assertThrows(AssertionFailedError.class,
+			() -> assertArrayEquals(expected, actual, "numbers"));
+
+		assertEquals(String.join(NL, //
+			"numbers ==> array contents differ at index [2], expected: <2> but was: <-2>", //
+			"  [0] 0 | 0", //
+			"  [1] 1 | 1", //
+			"> [2] 2 | -2", //
+			"> [3] 3 | -3", //
+			"  [4] 4 | 4", //
+			"  [5] 5 | 5", //
+			"  [6] 6 | 6", //
+			"  ...", //
+			"  [12] 12 | 12", //
+			"  [13] 13 | 13", //
+			"  [14] 14 | 14", //
+			"> [15] 15 | -15", //
+			"  [16] 16 | 16", //
+			"  [17] 17 | 17", //
+			"  [18] 18 | 18"), error.getMessage());
+		assertEquals(2, error.getExpected().getValue());
+		assertEquals(-2, error.getActual().getValue());
+	}
+
+	@Test
+	void reportsLengthMismatch() {
+		AssertionFailedError error = assertThrows(AssertionFailedError.class,
+			() -> assertArrayEquals(new byte[] { 1, 2, 3 }, new byte[] { 1, 2 }));
+
+		assertEquals(String.join(NL, //
+			"array lengths differ, expected: <3> but was: <2>", //
+			"  [0] 1 | 1", //
+			"  [1] 2 | 2", //
+			"> [2] 3 | <absent>"), error.getMessage());
+	}
+
+	@Test
+	void boundsMessageOfHugeMismatches() {
+		long[] expected = new long[10_000_000];
+		long[] actual = new long[10_000_000];
+		Arrays.fill(actual, 1);
+
+		AssertionFailedError error = assertThrows(AssertionFailedError.class,
+			() -> assertArrayEquals(expected, actual));
+
+		String[] lines = error.getMessage().split(NL);
+		assertEquals(BulkAssertions.MAX_MISMATCHES + 2, lines.length);
+		assertEquals("  (only the first 10 mismatches are shown)", lines[lines.length - 1]);
+	}
+
+	@Test
+	void abbreviatesLongValues() {
+		String longValue = Stream.generate(() -> "x").limit(1_000).collect(Collectors.joining());
+
+		AssertionFailedError error = assertThrows(AssertionFailedError.class,
+			() -> assertArrayEquals(new Object[] { longValue }, new Object[] { "y" }));
+
+		assertTrue(error.getMessage().length() < 3 * BulkAssertions.MAX_VALUE_LENGTH + 100);
+	}
+
+	@Test
+	void comparesIterablesInSinglePass() {
+		assertIterableEquals(List.of(1, 2, 3), List.of(1, 2, 3));
+
+		AssertionFailedError error = assertThrows(AssertionFailedError.class,
+			() -> assertIterableEquals(List.of(1, 2, 3, 4, 5, 6, 7, 8, 9), List.of(1, 2, 3, 4, 5, 6, 0, 8)));
+
+		assertEquals(String.join(NL, //
+			"iterable contents differ at index [6], expected: <7> but was: <0>", //
+			"  [3] 4 | 4", //
+			"  [4] 5 | 5", //
+			"  [5] 6 | 6", //
+			"> [6] 7 | 0", //
+			"  [7] 8 | 8", //
+			"> [8] 9 | <absent>"), error.getMessage());
+	}
+
+	@Test
+	void comparesNestedIterablesLikeBuiltInAssertion() {
+		assertIterableEquals(List.of(List.of(1)), List.of(new ArrayDeque<>(List.of(1))));
+
+		assertThrows(AssertionFailedError.class,
+			() -> assertIterableEquals(List.of(List.of(1, 2)), List.of(new ArrayDeque<>(List.of(1, 3)))));
+		assertThrows(AssertionFailedError.class,
+			() -> assertIterableEquals(List.of(List.of(1)), List.of(new ArrayDeque<>(List.of(1, 2)))));
+	}
+
+	@Test
+	void stopsIteratingAfterMaxMismatches() {
+		Iterable<Integer> infinite = () -> IntStream.iterate(0, i -> i + 1).iterator();
+		Iterable<Integer> negated = () -> IntStream.iterate(0, i -> i - 1).iterator();
+
+		AssertionFailedError error = assertThrows(AssertionFailedError.class,
+			() -> assertIterableEquals(infinite, negated));
+
+		assertTrue(error.getMessage().endsWith("(only the first 10 mismatches are shown)"));
+	}
+
+	@Test
+	void reportsNullArrays() {
+		AssertionFailedError error = assertThrows(AssertionFailedError.class,
+			() -> assertArrayEquals(new char[0], null));
+
+		assertEquals("actual array was <null>", error.getMessage());
+	}
+
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package example.assertions;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.function.Executable;
+import org.junit.platform.commons.JUnitException;
+import org.opentest4j.MultipleFailuresError;
+
+/**
+ * Variants of {@code Assertions.assertAll()} that execute the supplied
+ * executables concurrently.
+ *
+ * <p>The executables are run on the {@link ForkJoinPool} of the calling
+ * thread, e.g. that of Jupiter's parallel execution, or on the
+ * {@linkplain ForkJoinPool#commonPool() common pool} otherwise. As with
+ * {@code assertAll()}, every executable is run to completion and all
+ * failures are reported in a single {@link MultipleFailuresError}, in the
+ * order in which the executables were declared rather than the order in
+ * which they failed. An {@link OutOfMemoryError} aborts the invocation:
+ * executables that have not started yet are skipped, and the error is
+ * rethrown once the executables that are already running have finished.
+ *
+ * <p>The executables must be safe to run concurrently; executables that
+ * block for long should use {@link ForkJoinPool#managedBlock} so that the
+ * pool can compensate for the blocked worker.
+ *
+ * @since 5.3
+ */
+public final class ConcurrentAssertions {
+
+	private ConcurrentAssertions() {
+		/* no-op */
+	}
+
+	public static void assertAllConcurrently(Executable... executables) throws MultipleFailuresError {
+		assertAllConcurrently(null, executables);
+	}
+
+	public static void assertAllConcurrently(String heading, Executable... executables) throws MultipleFailuresError {
+		if (executables == null) {
+			throw new JUnitException("executables array must not be null");
+		}
+		assertAllConcurrently(heading, Arrays.asList(executables));
+	}
+
+	public static void assertAllConcurrently(Collection<Executable> executables) throws MultipleFailuresError {
+		assertAllConcurrently(null, executables);
+	}
+
+	public static void assertAllConcurrently(String heading, Collection<Executable> executables)
+			throws MultipleFailuresError {
+		if (executables == null) {
+			throw new JUnitException("executables collection must not be null");
+		}
+		assertAllConcurrently(heading, executables.stream());
+	}
+
+	public static void assertAllConcurrently(Stream<Executable> executables) throws MultipleFailuresError {
+		assertAllConcurrently(null, executables);
+	}
+
+	public static void assertAllConcurrently(String heading, Stream<Executable> executables)
+			throws MultipleFailuresError {
+		if (executables == null) {
+			throw new JUnitException("executables stream must not be null");
+		}
+		AtomicBoolean aborted = new AtomicBoolean();
+		List<ExecutableTask> tasks = executables //
+				.map(executable -> {
+					if (executable == null) {
+						throw new JUnitException("individual executables must not be null");
+					}
+					return new ExecutableTask(executable, aborted);
+				}) //
+				.collect(Collectors.toList());
+
+		ForkJoinPool pool = ForkJoinTask.inForkJoinPool() ? ForkJoinTask.getPool() : ForkJoinPool.commonPool();
+		pool.invoke(new RecursiveAction() {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected void compute() {
+				invokeAll(tasks);
+			}
+		});
+
+		List<Throwable> failures = new ArrayList<>();
+		for (ExecutableTask task : tasks) {
+			if (task.failure instanceof OutOfMemoryError) {
+				throw (OutOfMemoryError) task.failure;
+			}
+			if (task.failure != null) {
+				failures.add(task.failure);
+			}
+		}
+		if (!failures.isEmpty()) {
+			MultipleFailuresError multipleFailuresError = new MultipleFailuresError(heading, failures);
+			failures.forEach(multipleFailuresError::addSuppressed);
+			throw multipleFailuresError;
+		}
+	}
+
+	/**
+	 * Runs a single executable and records its failure instead of
+	 * propagating it, so that sibling tasks are not cancelled. After an
+	 * {@link OutOfMemoryError}, tasks that have not started yet do nothing.
+	 */
+	private static class ExecutableTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final transient Executable executable;
+
+		private final transient AtomicBoolean aborted;
+
+		private transient Throwable failure;
+
+		ExecutableTask(Executable executable, AtomicBoolean aborted) {
+			this.executable = executable;
+			this.aborted = aborted;
+		}
+
+		@Override
+		protected void compute() {
+			if (this.aborted.get()) {
+				return;
+			}
+			try {
+				this.executable.execute();
+			}
+			catch (Throwable t) {
+				this.failure = t;
+				if (t instanceof OutOfMemoryError) {
+					this.aborted.set(true);
+				}
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package example.assertions;
+
+import static example.assertions.ConcurrentAssertions.assertAllConcurrently;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.junit.platform.commons.JUnitException;
+import org.opentest4j.MultipleFailuresError;
+
+/**
+ * Tests for {@link ConcurrentAssertions}.
+ *
+ * @since 5.3
+ */
+class ConcurrentAssertionsTests {
+
+	@Test
+	void executesAllExecutables() {
+		AtomicInteger executions = new AtomicInteger();
+
+		assertAllConcurrently(IntStream.range(0, 100).mapToObj(i -> (Executable) executions::incrementAndGet));
+
+		assertEquals(100, executions.get());
+	}
+
+	@Test
+	void executesExecutablesConcurrently() throws Exception {
+		CyclicBarrier barrier = new CyclicBarrier(3);
+		Executable awaitOthers = () -> barrier.await(5, TimeUnit.SECONDS);
+		ForkJoinPool pool = new ForkJoinPool(3);
+		try {
+			pool.submit(() -> assertAllConcurrently(awaitOthers, awaitOthers, awaitOthers)).get();
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	void reportsFailuresInDeclarationOrder() {
+		CountDownLatch lastFailed = new CountDownLatch(1);
+
+		MultipleFailuresError error = assertThrows(MultipleFailuresError.class,
+			() -> assertAllConcurrently("heading", Stream.of( //
+				() -> {
+					lastFailed.await(100, TimeUnit.MILLISECONDS);
+					fail("first");
+				}, //
+				() -> assertEquals(1, 1), //
+				() -> {
+					lastFailed.countDown();
+					fail("last");
+				})));
+
+		List<String> messages = error.getFailures().stream().map(Throwable::getMessage).collect(Collectors.toList());
+		assertEquals(List.of("first", "last"), messages);
+		assertEquals(2, error.getSuppressed().length);
+		assertEquals("heading (2 failures)", error.getMessage().split("\\R")[0]);
+	}
+
+	@Test
+	void skipsPendingExecutablesAfterOutOfMemoryError() throws Exception {
+		AtomicInteger executions = new AtomicInteger();
+		Executable outOfMemory = () -> {
+			throw new OutOfMemoryError("simulated");
+		};
+		Executable count = executions::incrementAndGet;
+		ForkJoinPool pool = new ForkJoinPool(1);
+		try {
+			ExecutionException exception = assertThrows(ExecutionException.class,
+				() -> pool.submit(() -> assertAllConcurrently(outOfMemory, count, count, count)).get());
+
+			assertTrue(exception.getCause() instanceof OutOfMemoryError);
+			assertEquals(0, executions.get());
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	void rejectsNullExecutables() {
+		assertThrows(JUnitException.class, () -> assertAllConcurrently((Executable) null));
+		assertThrows(JUnitException.class, () -> assertAllConcurrently((Stream<Executable>) null));
+	}
+
+}
@@ -0,0 +1,219 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package example.assumptions;
+
+import java.util.Optional;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.extension.AfterAllCallback;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ExtensionContext.Namespace;
+import org.junit.jupiter.api.function.Executable;
+import org.opentest4j.TestAbortedException;
+
+/**
+ * Drop-in replacement for {@code Assumptions} whose
+ * {@link TestAbortedException}s can be created without a stack trace.
+ *
+ * <p>An aborted assumption is an expected outcome whose stack trace is
+ * hardly ever looked at, yet filling it in is the most expensive part of
+ * aborting a test. Setting the {@value #STACKLESS_PROPERTY_NAME}
+ * configuration parameter to {@code true} makes these assumptions throw
+ * exceptions whose stack trace is empty, which makes aborting thousands of
+ * environment-gated tests considerably cheaper. Real failures, such as
+ * those of assertions, are not affected and keep their stack traces, and
+ * stack traces of aborted tests are available on demand by simply running
+ * without the parameter.
+ *
+ * <p>The configuration parameter is picked up by {@link Configuration},
+ * which is registered via extension auto-detection; without it, the
+ * {@value #STACKLESS_PROPERTY_NAME} JVM system property is used instead.
+ *
+ * <p>Failure messages are the same as those of the built-in assumptions.
+ *
+ * @since 5.3
+ */
+public final class StacklessAssumptions {
+
+	public static final String STACKLESS_PROPERTY_NAME = "stackless-exceptions.enabled";
+
+	private static final ThreadLocal<Boolean> stackless = new ThreadLocal<>();
+
+	private StacklessAssumptions() {
+		/* no-op */
+	}
+
+	public static void assumeTrue(boolean assumption) throws TestAbortedException {
+		assumeTrue(assumption, "assumption is not true");
+	}
+
+	public static void assumeTrue(BooleanSupplier assumptionSupplier) throws TestAbortedException {
+		assumeTrue(assumptionSupplier.getAsBoolean(), "assumption is not true");
+	}
+
+	public static void assumeTrue(BooleanSupplier assumptionSupplier, String message) throws TestAbortedException {
+		assumeTrue(assumptionSupplier.getAsBoolean(), message);
+	}
+
+	public static void assumeTrue(boolean assumption, Supplier<String> messageSupplier) throws TestAbortedException {
+		if (!assumption) {
+			throw createException(messageSupplier.get(), isStackless());
+		}
+	}
+
+	public static void assumeTrue(boolean assumption, String message) throws TestAbortedException {
+		if (!assumption) {
+			throw createException(message, isStackless());
+		}
+	}
+
+	public static void assumeTrue(BooleanSupplier assumptionSupplier, Supplier<String> messageSupplier)
+			throws TestAbortedException {
+		assumeTrue(assumptionSupplier.getAsBoolean(), messageSupplier);
+	}
+
+	public static void assumeFalse(boolean assumption) throws TestAbortedException {
+		assumeFalse(assumption, "assumption is not false");
+	}
+
+	public static void assumeFalse(BooleanSupplier assumptionSupplier) throws TestAbortedException {
+		assumeFalse(assumptionSupplier.getAsBoolean(), "assumption is not false");
+	}
+
+	public static void assumeFalse(BooleanSupplier assumptionSupplier, String message) throws TestAbortedException {
+		assumeFalse(assumptionSupplier.getAsBoolean(), message);
+	}
+
+	public static void assumeFalse(boolean assumption, Supplier<String> messageSupplier) throws TestAbortedException {
+		if (assumption) {
+			throw createException(messageSupplier.get(), isStackless());
+		}
+	}
+
+	public static void assumeFalse(boolean assumption, String message) throws TestAbortedException {
+		if (assumption) {
+			throw createException(message, isStackless());
+		}
+	}
+
+	public static void assumeFalse(BooleanSupplier assumptionSupplier, Supplier<String> messageSupplier)
+			throws TestAbortedException {
+		assumeFalse(assumptionSupplier.getAsBoolean(), messageSupplier);
+	}
+
+	public static void assumingThat(BooleanSupplier assumptionSupplier, Executable executable) {
+		assumingThat(assumptionSupplier.getAsBoolean(), executable);
+	}
+
+	public static void assumingThat(boolean assumption, Executable executable) {
+		if (assumption) {
+			try {
+				executable.execute();
+			}
+			catch (Throwable t) {
+				throw StacklessAssumptions.<RuntimeException> sneakyThrow(t);
+			}
+		}
+	}
+
+	static boolean isStackless() {
+		Boolean configured = stackless.get();
+		return configured != null ? configured : Boolean.getBoolean(STACKLESS_PROPERTY_NAME);
+	}
+
+	static TestAbortedException createException(String message, boolean stackless) {
+		String fullMessage = message != null && !message.trim().isEmpty() ? "Assumption failed: " + message
+				: "Assumption failed";
+		return stackless ? new StacklessTestAbortedException(fullMessage) : new TestAbortedException(fullMessage);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T extends Throwable> T sneakyThrow(Throwable t) throws T {
+		throw (T) t;
+	}
+
+	/**
+	 * Extension that applies the {@value #STACKLESS_PROPERTY_NAME}
+	 * configuration parameter to the assumptions made on the thread that
+	 * executes a container or test, including its lifecycle methods.
+	 *
+	 * <p>The previous value of the thread is restored afterwards, so that it
+	 * does not leak into later tests executed by a pooled worker thread or
+	 * into an enclosing test run on the same thread.
+	 */
+	public static class Configuration
+			implements BeforeAllCallback, BeforeEachCallback, AfterEachCallback, AfterAllCallback {
+
+		private static final Namespace NAMESPACE = Namespace.create(Configuration.class);
+
+		@Override
+		public void beforeAll(ExtensionContext context) {
+			configure(context);
+		}
+
+		@Override
+		public void beforeEach(ExtensionContext context) {
+			configure(context);
+		}
+
+		@Override
+		public void afterEach(ExtensionContext context) {
+			restore(context);
+		}
+
+		@Override
+		public void afterAll(ExtensionContext context) {
+			restore(context);
+		}
+
+		private static void configure(ExtensionContext context) {
+			context.getStore(NAMESPACE).put(Configuration.class, Optional.ofNullable(stackless.get()));
+			stackless.set(context.getConfigurationParameter(STACKLESS_PROPERTY_NAME) //
+					.map(Boolean::parseBoolean) //
+					.orElse(Boolean.FALSE));
+		}
+
+		@SuppressWarnings("unchecked")
+		private static void restore(ExtensionContext context) {
+			Optional<Boolean> previous = context.getStore(NAMESPACE).remove(Configuration.class, Optional.class);
+			if (previous == null || !previous.isPresent()) {
+				stackless.remove();
+			}
+			else {
+				stackless.set(previous.get());
+			}
+		}
+
+	}
+
+	/**
+	 * {@link TestAbortedException} that does not fill in its stack trace.
+	 */
+	static class StacklessTestAbortedException extends TestAbortedException {
+
+		private static final long serialVersionUID = 1L;
+
+		StacklessTestAbortedException(String message) {
+			super(message);
+		}
+
+		@Override
+		public synchronized Throwable fillInStackTrace() {
+			return this;
+		}
+
+	}
+
+}
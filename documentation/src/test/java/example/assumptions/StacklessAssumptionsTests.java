@@ -0,0 +1,134 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package example.assumptions;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.function.Executable;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.launcher.LauncherDiscoveryRequest;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder;
+import org.junit.platform.launcher.core.LauncherFactory;
+import org.opentest4j.TestAbortedException;
+
+/**
+ * Tests for {@link StacklessAssumptions}.
+ *
+ * @since 5.3
+ */
+class StacklessAssumptionsTests {
+
+	@Test
+	void abortsWithSameMessagesAsBuiltInAssumptions() {
+		assertSameMessage(() -> StacklessAssumptions.assumeTrue(false), () -> Assumptions.assumeTrue(false));
+		assertSameMessage(() -> StacklessAssumptions.assumeFalse(true, "on CI"),
+			() -> Assumptions.assumeFalse(true, "on CI"));
+		assertSameMessage(() -> StacklessAssumptions.assumeTrue(false, () -> "not on CI"),
+			() -> Assumptions.assumeTrue(false, () -> "not on CI"));
+		assertSameMessage(() -> StacklessAssumptions.assumeFalse(true, " "),
+			() -> Assumptions.assumeFalse(true, " "));
+		assertSameMessage(() -> StacklessAssumptions.assumeTrue(() -> false),
+			() -> Assumptions.assumeTrue(() -> false));
+		assertSameMessage(() -> StacklessAssumptions.assumeFalse(() -> true, () -> "on CI"),
+			() -> Assumptions.assumeFalse(() -> true, () -> "on CI"));
+	}
+
+	@Test
+	void executesOnlyIfAssumptionHolds() {
+		StacklessAssumptions.assumingThat(false, () -> {
+			throw new AssertionError("must not be executed");
+		});
+
+		assertThrows(IOException.class, () -> StacklessAssumptions.assumingThat(() -> true, () -> {
+			throw new IOException();
+		}));
+	}
+
+	@Test
+	void readsConfigurationParameter() {
+		assertEquals(0, abortedException("true").getStackTrace().length);
+		assertTrue(abortedException("false").getStackTrace().length > 0);
+	}
+
+	@Test
+	void restoresPreviousConfigurationOfThread() {
+		boolean stackless = StacklessAssumptions.isStackless();
+
+		abortedException(String.valueOf(!stackless));
+
+		assertEquals(stackless, StacklessAssumptions.isStackless());
+	}
+
+	@Test
+	void passesWhenAssumptionHolds() {
+		StacklessAssumptions.assumeTrue(true);
+		StacklessAssumptions.assumeFalse(false, () -> {
+			throw new AssertionError("message must not be evaluated");
+		});
+	}
+
+	@Test
+	void createsExceptionsWithoutStackTraceIfEnabled() {
+		assertEquals(0, StacklessAssumptions.createException("message", true).getStackTrace().length);
+		assertTrue(StacklessAssumptions.createException("message", false).getStackTrace().length > 0);
+	}
+
+	private static void assertSameMessage(Executable actual, Executable expected) {
+		TestAbortedException expectedException = assertThrows(TestAbortedException.class, expected);
+		TestAbortedException actualException = assertThrows(TestAbortedException.class, actual);
+		assertEquals(expectedException.getMessage(), actualException.getMessage());
+	}
+
+	private static Throwable abortedException(String stackless) {
+		LauncherDiscoveryRequest request = LauncherDiscoveryRequestBuilder.request() //
+				.selectors(selectClass(AbortedTestCase.class)) //
+				.configurationParameter(StacklessAssumptions.STACKLESS_PROPERTY_NAME, stackless) //
+				.configurationParameter("junit.jupiter.execution.parallel.enabled", "false") //
+				.build();
+		List<Throwable> aborted = new CopyOnWriteArrayList<>();
+
+		LauncherFactory.create().execute(request, new TestExecutionListener() {
+
+			@Override
+			public void executionFinished(TestIdentifier identifier, TestExecutionResult result) {
+				if (result.getStatus() == TestExecutionResult.Status.ABORTED) {
+					result.getThrowable().ifPresent(aborted::add);
+				}
+			}
+		});
+
+		assertEquals(1, aborted.size());
+		return aborted.get(0);
+	}
+
+	@ExtendWith(StacklessAssumptions.Configuration.class)
+	static class AbortedTestCase {
+
+		@Test
+		void aborted() {
+			StacklessAssumptions.assumeTrue(false);
+		}
+
+	}
+
+}
@@ -0,0 +1,250 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package example.condition;
+
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+import javax.script.Bindings;
+import javax.script.Compilable;
+import javax.script.CompiledScript;
+import javax.script.ScriptContext;
+import javax.script.ScriptEngine;
+import javax.script.ScriptEngineManager;
+import javax.script.ScriptException;
+import javax.script.SimpleBindings;
+import javax.script.SimpleScriptContext;
+
+import org.junit.jupiter.api.condition.DisabledIf;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.junit.jupiter.api.extension.ConditionEvaluationResult;
+import org.junit.jupiter.api.extension.ExecutionCondition;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.JUnitException;
+import org.junit.platform.commons.support.AnnotationSupport;
+
+/**
+ * {@link ExecutionCondition} for {@link EnabledIf @EnabledIf} and
+ * {@link DisabledIf @DisabledIf} that compiles every script only once per
+ * thread.
+ *
+ * <p>Script engines are generally not thread-safe, and a
+ * {@link CompiledScript} always evaluates on the engine that compiled it.
+ * Every thread that evaluates script conditions therefore gets its own
+ * engine per engine name, together with that engine's compiled scripts and
+ * a single set of engine-scope {@link Bindings}. Each script is compiled
+ * once per thread and engine name, so repeated and parallel tests only pay
+ * for a {@link CompiledScript#eval(ScriptContext)} afterwards. Engines that
+ * are not {@link Compilable} evaluate the script source instead, but still
+ * reuse their engine and bindings.
+ *
+ * <p>Before each evaluation only the per-test bindings are set; afterwards
+ * they are removed again together with any globals the script defined,
+ * e.g. via {@code importPackage}, so nothing leaks into another condition.
+ * The engine-scope bindings are layered over a read-only global scope that
+ * is shared by all engines.
+ *
+ * <p>JavaScript conditions that only compare strings, test regular
+ * expressions or look up tags are compiled by {@link ConditionExpressions}
+ * instead, so that no script engine is loaded for them at all.
+ *
+ * <p>The bindings are the same as those of Jupiter's built-in script
+ * condition: {@code junitTags}, {@code junitDisplayName},
+ * {@code junitUniqueId}, {@code junitConfigurationParameter},
+ * {@code systemEnvironment} and {@code systemProperty}. Results are
+ * interpreted the same way as well: a {@link ConditionEvaluationResult} is
+ * used as is, and any other result is true if its string representation
+ * is {@code "true"}, ignoring case.
+ *
+ * <p>To use this condition instead of the built-in one, enable extension
+ * auto-detection and deactivate the built-in condition:
+ *
+ * <pre>
+ * junit.jupiter.extensions.autodetection.enabled=true
+ * junit.jupiter.conditions.deactivate=org.junit.jupiter.engine.extension.ScriptExecutionCondition
+ * </pre>
+ *
+ * @since 5.3
+ */
+public class CompiledScriptExecutionCondition implements ExecutionCondition {
+
+	private static final String DEFAULT_REASON = "Script `{source}` evaluated to: {result}";
+
+	private static final Set<String> JAVASCRIPT_ENGINE_NAMES = Set.of("nashorn", "javascript", "js", "ecmascript");
+
+	private final Function<String, ScriptEngine> engineFactory;
+
+	private final ThreadLocal<Map<String, EngineSlot>> engines = ThreadLocal.withInitial(HashMap::new);
+
+	private final Bindings globalBindings;
+
+	public CompiledScriptExecutionCondition() {
+		this(engineName -> new ScriptEngineManager().getEngineByName(engineName));
+	}
+
+	CompiledScriptExecutionCondition(Function<String, ScriptEngine> engineFactory) {
+		this.engineFactory = engineFactory;
+		Map<String, Object> globals = new HashMap<>();
+		globals.put("systemEnvironment", new Accessor(System::getenv));
+		globals.put("systemProperty", new Accessor(System::getProperty));
+		this.globalBindings = new SimpleBindings(Collections.unmodifiableMap(globals));
+	}
+
+	@Override
+	public ConditionEvaluationResult evaluateExecutionCondition(ExtensionContext context) {
+		Optional<EnabledIf> enabledIf = context.getElement() //
+				.flatMap(element -> AnnotationSupport.findAnnotation(element, EnabledIf.class));
+		if (enabledIf.isPresent()) {
+			EnabledIf annotation = enabledIf.get();
+			String source = String.join(System.lineSeparator(), annotation.value());
+			Object result = evaluate(annotation.engine(), source, context);
+			if (result instanceof ConditionEvaluationResult) {
+				return (ConditionEvaluationResult) result;
+			}
+			if (!isTrue(result)) {
+				return ConditionEvaluationResult.disabled(reason(annotation, annotation.reason(), source, result));
+			}
+		}
+		Optional<DisabledIf> disabledIf = context.getElement() //
+				.flatMap(element -> AnnotationSupport.findAnnotation(element, DisabledIf.class));
+		if (disabledIf.isPresent()) {
+			DisabledIf annotation = disabledIf.get();
+			String source = String.join(System.lineSeparator(), annotation.value());
+			Object result = evaluate(annotation.engine(), source, context);
+			if (result instanceof ConditionEvaluationResult) {
+				return (ConditionEvaluationResult) result;
+			}
+			if (isTrue(result)) {
+				return ConditionEvaluationResult.disabled(reason(annotation, annotation.reason(), source, result));
+			}
+		}
+		return ConditionEvaluationResult.enabled("No script condition disables this element");
+	}
+
+	private Object evaluate(String engineName, String source, ExtensionContext context) {
+		if (JAVASCRIPT_ENGINE_NAMES.contains(engineName.toLowerCase(Locale.ROOT))) {
+			Optional<ConditionExpressions.Expression> expression = ConditionExpressions.compile(source);
+			if (expression.isPresent()) {
+				return expression.get().evaluate(context);
+			}
+		}
+		EngineSlot slot = this.engines.get().computeIfAbsent(engineName,
+			key -> new EngineSlot(createEngine(key), this.globalBindings));
+		try {
+			return slot.evaluate(source, context);
+		}
+		catch (ScriptException e) {
+			throw new JUnitException("Failed to evaluate script `" + source + "` with engine " + engineName, e);
+		}
+	}
+
+	private ScriptEngine createEngine(String engineName) {
+		ScriptEngine engine = this.engineFactory.apply(engineName);
+		if (engine == null) {
+			throw new JUnitException("Script engine not found: " + engineName);
+		}
+		return engine;
+	}
+
+	private static boolean isTrue(Object result) {
+		return Boolean.parseBoolean(String.valueOf(result));
+	}
+
+	private static String reason(Annotation annotation, String template, String source, Object result) {
+		return (template.isEmpty() ? DEFAULT_REASON : template) //
+				.replace("{annotation}", annotation.toString()) //
+				.replace("{source}", source) //
+				.replace("{result}", String.valueOf(result));
+	}
+
+	/**
+	 * Script engine of a single thread together with its compiled scripts
+	 * and its reusable script context.
+	 */
+	private static class EngineSlot {
+
+		private final ScriptEngine engine;
+
+		private final Map<String, CompiledScript> compiledScripts = new HashMap<>();
+
+		private final Bindings bindings;
+
+		private final Set<String> initialKeys;
+
+		private final ScriptContext scriptContext = new SimpleScriptContext();
+
+		EngineSlot(ScriptEngine engine, Bindings globalBindings) {
+			this.engine = engine;
+			this.bindings = engine.createBindings();
+			this.initialKeys = new HashSet<>(this.bindings.keySet());
+			this.scriptContext.setBindings(this.bindings, ScriptContext.ENGINE_SCOPE);
+			this.scriptContext.setBindings(globalBindings, ScriptContext.GLOBAL_SCOPE);
+		}
+
+		Object evaluate(String source, ExtensionContext context) throws ScriptException {
+			this.bindings.put("junitTags", context.getTags());
+			this.bindings.put("junitDisplayName", context.getDisplayName());
+			this.bindings.put("junitUniqueId", context.getUniqueId());
+			this.bindings.put("junitConfigurationParameter",
+				new Accessor(key -> context.getConfigurationParameter(key).orElse(null)));
+			try {
+				if (!(this.engine instanceof Compilable)) {
+					return this.engine.eval(source, this.scriptContext);
+				}
+				CompiledScript script = this.compiledScripts.get(source);
+				if (script == null) {
+					script = ((Compilable) this.engine).compile(source);
+					this.compiledScripts.put(source, script);
+				}
+				return script.eval(this.scriptContext);
+			}
+			finally {
+				reset();
+			}
+		}
+
+		private void reset() {
+			for (String key : new ArrayList<>(this.bindings.keySet())) {
+				if (!this.initialKeys.contains(key)) {
+					this.bindings.remove(key);
+				}
+			}
+		}
+
+	}
+
+	/**
+	 * Read-only view of a string-valued map, exposed to scripts via its
+	 * {@link #get(String)} method.
+	 */
+	public static final class Accessor {
+
+		private final Function<String, String> lookup;
+
+		Accessor(Function<String, String> lookup) {
+			this.lookup = lookup;
+		}
+
+		public String get(String key) {
+			return this.lookup.apply(key);
+		}
+
+	}
+
+}
@@ -0,0 +1,376 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package example.condition;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+
+import java.io.Reader;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.script.AbstractScriptEngine;
+import javax.script.Bindings;
+import javax.script.Compilable;
+import javax.script.CompiledScript;
+import javax.script.ScriptContext;
+import javax.script.ScriptEngine;
+import javax.script.ScriptEngineFactory;
+import javax.script.ScriptException;
+import javax.script.SimpleBindings;
+
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledIf;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.junit.jupiter.api.extension.ConditionEvaluationResult;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.junit.platform.launcher.LauncherDiscoveryRequest;
+import org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder;
+import org.junit.platform.launcher.core.LauncherFactory;
+import org.junit.platform.launcher.listeners.SummaryGeneratingListener;
+import org.junit.platform.launcher.listeners.TestExecutionSummary;
+
+/**
+ * Tests for {@link CompiledScriptExecutionCondition}.
+ *
+ * @since 5.3
+ */
+@Execution(ExecutionMode.SAME_THREAD)
+class CompiledScriptExecutionConditionTests {
+
+	@Test
+	void evaluatesScriptConditions() {
+		TestExecutionSummary summary = execute(ScriptTestCase.class);
+
+		assertEquals(7, summary.getTestsSucceededCount());
+		assertEquals(2, summary.getTestsSkippedCount());
+		assertEquals(1, summary.getContainersSkippedCount());
+		assertEquals(0, summary.getTestsFailedCount());
+	}
+
+	@Test
+	void compilesEveryScriptOnlyOnce() {
+		FakeScriptEngine.reset();
+
+		execute(ScriptTestCase.class);
+
+		// "tag:fast", "tag:slow" and the system property script; "true" and
+		// "false" are compiled by the built-in expression language
+		assertEquals(3, FakeScriptEngine.compilations.get());
+		assertEquals(1, FakeScriptEngine.instances.get());
+		assertEquals(1, FakeScriptEngine.createdBindings.get());
+	}
+
+	@Test
+	void evaluatesCompiledScriptsOnlyOnTheThreadOfTheirEngine() {
+		FakeScriptEngine.reset();
+
+		TestExecutionSummary summary = execute(ConcurrentScriptTestCase.class);
+
+		assertEquals(20, summary.getTestsSucceededCount());
+		assertEquals(FakeScriptEngine.instances.get(), FakeScriptEngine.compilations.get());
+		assertEquals(FakeScriptEngine.instances.get(), FakeScriptEngine.createdBindings.get());
+		assertFalse(FakeScriptEngine.usedByForeignThread.get());
+	}
+
+	@Test
+	void doesNotLeakGlobalsBetweenEvaluations() {
+		TestExecutionSummary summary = execute(GlobalsTestCase.class);
+
+		assertEquals(3, summary.getTestsSucceededCount());
+		assertEquals(0, summary.getTestsSkippedCount());
+	}
+
+	@Test
+	void evaluatesBuiltInExpressionsWithoutScriptEngine() {
+		TestExecutionSummary summary = execute(ExpressionTestCase.class);
+
+		assertEquals(3, summary.getTestsSucceededCount());
+		assertEquals(3, summary.getTestsSkippedCount());
+		assertEquals(0, summary.getTestsFailedCount());
+	}
+
+	@Test
+	void interpretsResultsLikeBuiltInCondition() {
+		TestExecutionSummary summary = execute(ResultTestCase.class);
+
+		assertEquals(2, summary.getTestsSucceededCount());
+		assertEquals(2, summary.getTestsSkippedCount());
+		assertEquals(0, summary.getTestsFailedCount());
+	}
+
+	private static TestExecutionSummary execute(Class<?> testClass) {
+		LauncherDiscoveryRequest request = LauncherDiscoveryRequestBuilder.request() //
+				.selectors(selectClass(testClass)) //
+				.configurationParameter("junit.jupiter.conditions.deactivate",
+					"org.junit.jupiter.engine.extension.ScriptExecutionCondition") //
+				.build();
+		SummaryGeneratingListener listener = new SummaryGeneratingListener();
+		LauncherFactory.create().execute(request, listener);
+		return listener.getSummary();
+	}
+
+	@Execution(ExecutionMode.SAME_THREAD)
+	static class ScriptTestCase {
+
+		@RegisterExtension
+		static CompiledScriptExecutionCondition condition = new CompiledScriptExecutionCondition(
+			name -> new FakeScriptEngine());
+
+		@RepeatedTest(5)
+		@EnabledIf("true")
+		void enabled() {
+		}
+
+		@RepeatedTest(3)
+		@DisabledIf("true")
+		void disabled() {
+		}
+
+		@Test
+		@EnabledIf("false")
+		void notEnabled() {
+		}
+
+		@Test
+		@Tag("fast")
+		@EnabledIf("tag:fast")
+		void enabledByTag() {
+		}
+
+		@Test
+		@Tag("fast")
+		@DisabledIf("tag:slow")
+		void notDisabledByTag() {
+		}
+
+		@Test
+		@EnabledIf("property:java.specification.vendor=no such vendor")
+		void disabledBySystemProperty() {
+		}
+
+	}
+
+	@Execution(ExecutionMode.CONCURRENT)
+	static class ConcurrentScriptTestCase {
+
+		@RegisterExtension
+		static CompiledScriptExecutionCondition condition = new CompiledScriptExecutionCondition(
+			name -> new FakeScriptEngine());
+
+		@RepeatedTest(20)
+		@Tag("fast")
+		@EnabledIf("tag:fast")
+		void enabled() throws InterruptedException {
+			Thread.sleep(10);
+		}
+
+	}
+
+	@Execution(ExecutionMode.SAME_THREAD)
+	static class GlobalsTestCase {
+
+		@RegisterExtension
+		static CompiledScriptExecutionCondition condition = new CompiledScriptExecutionCondition(
+			name -> new FakeScriptEngine());
+
+		@RepeatedTest(3)
+		@EnabledIf("define:leaked")
+		@DisabledIf("defined:leaked")
+		void enabled() {
+		}
+
+	}
+
+	static class ExpressionTestCase {
+
+		@RegisterExtension
+		static CompiledScriptExecutionCondition condition = new CompiledScriptExecutionCondition(name -> {
+			throw new IllegalStateException("Script engine must not be loaded");
+		});
+
+		@Test
+		@EnabledIf("systemProperty.get('java.version') != null && !/^$/.test(systemProperty.get('java.version'))")
+		void enabledBySystemProperty() {
+		}
+
+		@Test
+		@DisabledIf("'CI' == systemEnvironment.get('NO_SUCH_VARIABLE_FOR_CONDITION_TESTS')")
+		void notDisabledByEnvironmentVariable() {
+		}
+
+		@Test
+		@Tag("slow")
+		@EnabledIf({ "junitTags.contains('fast')", "|| junitDisplayName.startsWith('enabled')" })
+		void enabledByDisplayName() {
+		}
+
+		@Test
+		@Tag("slow")
+		@DisabledIf("junitTags.contains('slow')")
+		void disabledByTag() {
+		}
+
+		@Test
+		@EnabledIf("junitConfigurationParameter.get('junit.jupiter.conditions.deactivate').endsWith('Nope')")
+		void disabledByConfigurationParameter() {
+		}
+
+		@Test
+		@EnabledIf(value = "/32/i.test(junitUniqueId)", engine = "JavaScript")
+		void disabledByRegex() {
+		}
+
+	}
+
+	static class ResultTestCase {
+
+		@RegisterExtension
+		static CompiledScriptExecutionCondition condition = new CompiledScriptExecutionCondition(
+			name -> new FakeScriptEngine());
+
+		@Test
+		@EnabledIf("TRUE")
+		void enabledByUpperCaseTrue() {
+		}
+
+		@Test
+		@EnabledIf("42")
+		void disabledByNumber() {
+		}
+
+		@Test
+		@DisabledIf("yes")
+		void notDisabledByOtherString() {
+		}
+
+		@Test
+		@EnabledIf("result:custom reason")
+		void disabledByConditionEvaluationResult() {
+		}
+
+	}
+
+	/**
+	 * Compilable script engine that understands {@code true}, {@code false},
+	 * {@code tag:<tag>}, {@code property:<key>=<value>},
+	 * {@code define:<name>} and {@code defined:<name>} for global variables,
+	 * and {@code result:<reason>} for a disabled
+	 * {@link ConditionEvaluationResult}. Like real engines, it must only be
+	 * used by the thread that created it.
+	 */
+	static class FakeScriptEngine extends AbstractScriptEngine implements Compilable {
+
+		static final AtomicInteger instances = new AtomicInteger();
+
+		static final AtomicInteger compilations = new AtomicInteger();
+
+		static final AtomicInteger createdBindings = new AtomicInteger();
+
+		static final AtomicBoolean usedByForeignThread = new AtomicBoolean();
+
+		private final Thread owner = Thread.currentThread();
+
+		FakeScriptEngine() {
+			instances.incrementAndGet();
+		}
+
+		static void reset() {
+			instances.set(0);
+			compilations.set(0);
+			createdBindings.set(0);
+			usedByForeignThread.set(false);
+		}
+
+		@Override
+		public CompiledScript compile(String script) {
+			checkThread();
+			compilations.incrementAndGet();
+			return new CompiledScript() {
+
+				@Override
+				public Object eval(ScriptContext context) {
+					checkThread();
+					return evaluate(script, context);
+				}
+
+				@Override
+				public ScriptEngine getEngine() {
+					return FakeScriptEngine.this;
+				}
+			};
+		}
+
+		@Override
+		public CompiledScript compile(Reader script) throws ScriptException {
+			throw new ScriptException("Not supported");
+		}
+
+		@Override
+		public Object eval(String script, ScriptContext context) {
+			checkThread();
+			return evaluate(script, context);
+		}
+
+		@Override
+		public Object eval(Reader reader, ScriptContext context) throws ScriptException {
+			throw new ScriptException("Not supported");
+		}
+
+		@Override
+		public Bindings createBindings() {
+			createdBindings.incrementAndGet();
+			return new SimpleBindings();
+		}
+
+		@Override
+		public ScriptEngineFactory getFactory() {
+			return null;
+		}
+
+		private void checkThread() {
+			if (Thread.currentThread() != this.owner) {
+				usedByForeignThread.set(true);
+			}
+		}
+
+		private static Object evaluate(String script, ScriptContext context) {
+			if (script.startsWith("tag:")) {
+				return ((Set<?>) context.getAttribute("junitTags")).contains(script.substring(4));
+			}
+			if (script.startsWith("property:")) {
+				String[] keyValue = script.substring(9).split("=", 2);
+				Object value = ((CompiledScriptExecutionCondition.Accessor) context.getAttribute(
+					"systemProperty")).get(keyValue[0]);
+				return keyValue[1].equals(value);
+			}
+			if (script.startsWith("define:")) {
+				context.setAttribute(script.substring(7), Boolean.TRUE, ScriptContext.ENGINE_SCOPE);
+				return true;
+			}
+			if (script.startsWith("defined:")) {
+				return context.getAttribute(script.substring(8)) != null;
+			}
+			if (script.startsWith("result:")) {
+				return ConditionEvaluationResult.disabled(script.substring(7));
+			}
+			return script;
+		}
+
+	}
+
+}
@@ -0,0 +1,378 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package example.condition;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiPredicate;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+/**
+ * Lightweight expression language for the script conditions that are used
+ * most often, compiled into lambdas without loading a script engine.
+ *
+ * <p>Supported are string literals in single or double quotes, {@code true},
+ * {@code false} and {@code null}, the operators {@code ==}, {@code ===},
+ * {@code !=}, {@code !==}, {@code !}, {@code &&} and {@code ||},
+ * parentheses, and the following bindings:
+ *
+ * <ul>
+ * <li>{@code systemProperty.get('key')}</li>
+ * <li>{@code systemEnvironment.get('key')}</li>
+ * <li>{@code junitConfigurationParameter.get('key')}</li>
+ * <li>{@code junitTags.contains('tag')}</li>
+ * <li>{@code junitDisplayName} and {@code junitUniqueId}</li>
+ * </ul>
+ *
+ * <p>Strings support {@code startsWith}, {@code endsWith}, {@code contains}
+ * (or {@code includes}), {@code equals} and {@code matches}, each with a
+ * single string literal argument, and regular expression literals support
+ * {@code test}, e.g. {@code /32/.test(systemProperty.get('os.arch'))}. All
+ * comparisons are strict: no type coercion takes place, and a string
+ * method invoked on {@code null} evaluates to {@code false}.
+ *
+ * <p>As in JavaScript, {@code null}, {@code false} and the empty string are
+ * falsy and every other value is truthy; {@code &&} and {@code ||} yield
+ * one of their operands rather than a boolean, so that e.g.
+ * {@code systemProperty.get('env') || 'dev'} works as a default. The only
+ * escape sequences supported in string literals are {@code \\},
+ * {@code \'} and {@code \"}; scripts using any other escape are left to
+ * the script engine.
+ *
+ * @since 5.3
+ */
+final class ConditionExpressions {
+
+	private static final Map<String, Optional<Expression>> cache = new ConcurrentHashMap<>();
+
+	private ConditionExpressions() {
+		/* no-op */
+	}
+
+	/**
+	 * Compile the supplied script source, or return an empty {@code Optional}
+	 * if it uses anything that is not supported by this language.
+	 */
+	static Optional<Expression> compile(String source) {
+		return cache.computeIfAbsent(source, ConditionExpressions::parse);
+	}
+
+	private static Optional<Expression> parse(String source) {
+		try {
+			Parser parser = new Parser(source);
+			Expression expression = parser.parseOr();
+			parser.accept(";");
+			parser.skipWhitespace();
+			return parser.isAtEnd() ? Optional.of(expression) : Optional.empty();
+		}
+		catch (UnsupportedSyntaxException e) {
+			return Optional.empty();
+		}
+	}
+
+	/**
+	 * Compiled expression.
+	 */
+	@FunctionalInterface
+	interface Expression {
+
+		Object evaluate(ExtensionContext context);
+
+	}
+
+	/**
+	 * Recursive-descent parser that builds the lambdas while parsing.
+	 */
+	private static class Parser {
+
+		private final String source;
+
+		private int position;
+
+		Parser(String source) {
+			this.source = source;
+		}
+
+		Expression parseOr() {
+			Expression left = parseAnd();
+			while (accept("||")) {
+				Expression l = left;
+				Expression r = parseAnd();
+				left = context -> {
+					Object value = l.evaluate(context);
+					return isTruthy(value) ? value : r.evaluate(context);
+				};
+			}
+			return left;
+		}
+
+		private Expression parseAnd() {
+			Expression left = parseEquality();
+			while (accept("&&")) {
+				Expression l = left;
+				Expression r = parseEquality();
+				left = context -> {
+					Object value = l.evaluate(context);
+					return isTruthy(value) ? r.evaluate(context) : value;
+				};
+			}
+			return left;
+		}
+
+		private Expression parseEquality() {
+			Expression left = parseUnary();
+			if (accept("===") || accept("==")) {
+				Expression right = parseUnary();
+				return context -> Objects.equals(left.evaluate(context), right.evaluate(context));
+			}
+			if (accept("!==") || accept("!=")) {
+				Expression right = parseUnary();
+				return context -> !Objects.equals(left.evaluate(context), right.evaluate(context));
+			}
+			return left;
+		}
+
+		private Expression parseUnary() {
+			if (!lookingAt("!=") && accept("!")) {
+				Expression operand = parseUnary();
+				return context -> !isTruthy(operand.evaluate(context));
+			}
+			return parsePostfix();
+		}
+
+		private Expression parsePostfix() {
+			if (lookingAt("/")) {
+				Pattern pattern = parseRegex();
+				expect(".test");
+				expect("(");
+				Expression argument = parseOr();
+				expect(")");
+				return context -> pattern.matcher(String.valueOf(argument.evaluate(context))).find();
+			}
+			Expression expression = parsePrimary();
+			while (accept(".")) {
+				String method = parseIdentifier();
+				expect("(");
+				String argument = parseString();
+				expect(")");
+				expression = stringMethod(expression, method, argument);
+			}
+			return expression;
+		}
+
+		private Expression parsePrimary() {
+			if (accept("(")) {
+				Expression expression = parseOr();
+				expect(")");
+				return expression;
+			}
+			skipWhitespace();
+			if (lookingAt("'") || lookingAt("\"")) {
+				String value = parseString();
+				return context -> value;
+			}
+			String identifier = parseIdentifier();
+			switch (identifier) {
+				case "true":
+					return context -> Boolean.TRUE;
+				case "false":
+					return context -> Boolean.FALSE;
+				case "null":
+					return context -> null;
+				case "junitDisplayName":
+					return ExtensionContext::getDisplayName;
+				case "junitUniqueId":
+					return ExtensionContext::getUniqueId;
+				case "junitTags":
+					expect(".contains");
+					expect("(");
+					String tag = parseString();
+					expect(")");
+					return context -> context.getTags().contains(tag);
+				case "systemProperty":
+					String property = parseGetArgument();
+					return context -> System.getProperty(property);
+				case "systemEnvironment":
+					String variable = parseGetArgument();
+					return context -> System.getenv(variable);
+				case "junitConfigurationParameter":
+					String key = parseGetArgument();
+					return context -> context.getConfigurationParameter(key).orElse(null);
+				default:
+					throw new UnsupportedSyntaxException();
+			}
+		}
+
+		private Expression stringMethod(Expression target, String method, String argument) {
+			BiPredicate<String, String> predicate;
+			switch (method) {
+				case "startsWith":
+					predicate = String::startsWith;
+					break;
+				case "endsWith":
+					predicate = String::endsWith;
+					break;
+				case "contains":
+				case "includes":
+					predicate = String::contains;
+					break;
+				case "equals":
+					predicate = String::equals;
+					break;
+				case "matches":
+					Pattern pattern = Pattern.compile(argument);
+					predicate = (value, regex) -> pattern.matcher(value).matches();
+					break;
+				default:
+					throw new UnsupportedSyntaxException();
+			}
+			return context -> {
+				Object value = target.evaluate(context);
+				if (value instanceof Collection) {
+					return ((Collection<?>) value).contains(argument);
+				}
+				return value != null && predicate.test(value.toString(), argument);
+			};
+		}
+
+		private String parseGetArgument() {
+			expect(".get");
+			expect("(");
+			String argument = parseString();
+			expect(")");
+			return argument;
+		}
+
+		private String parseIdentifier() {
+			skipWhitespace();
+			int start = this.position;
+			while (!isAtEnd() && Character.isJavaIdentifierPart(this.source.charAt(this.position))) {
+				this.position++;
+			}
+			if (start == this.position) {
+				throw new UnsupportedSyntaxException();
+			}
+			return this.source.substring(start, this.position);
+		}
+
+		private String parseString() {
+			skipWhitespace();
+			if (isAtEnd()) {
+				throw new UnsupportedSyntaxException();
+			}
+			char quote = this.source.charAt(this.position);
+			if (quote != '\'' && quote != '"') {
+				throw new UnsupportedSyntaxException();
+			}
+			StringBuilder value = new StringBuilder();
+			for (this.position++; !isAtEnd(); this.position++) {
+				char c = this.source.charAt(this.position);
+				if (c == quote) {
+					this.position++;
+					return value.toString();
+				}
+				if (c == '\\') {
+					if (++this.position == this.source.length()) {
+						break;
+					}
+					c = this.source.charAt(this.position);
+					if (c != '\\' && c != '\'' && c != '"') {
+						throw new UnsupportedSyntaxException();
+					}
+				}
+				value.append(c);
+			}
+			throw new UnsupportedSyntaxException();
+		}
+
+		private Pattern parseRegex() {
+			expect("/");
+			StringBuilder regex = new StringBuilder();
+			for (; !isAtEnd(); this.position++) {
+				char c = this.source.charAt(this.position);
+				if (c == '/') {
+					this.position++;
+					int flags = 0;
+					while (!isAtEnd() && this.source.charAt(this.position) == 'i') {
+						flags = Pattern.CASE_INSENSITIVE;
+						this.position++;
+					}
+					return Pattern.compile(regex.toString(), flags);
+				}
+				if (c == '\\' && this.position + 1 < this.source.length()) {
+					regex.append(c);
+					c = this.source.charAt(++this.position);
+				}
+				regex.append(c);
+			}
+			throw new UnsupportedSyntaxException();
+		}
+
+		private void expect(String token) {
+			if (!accept(token)) {
+				throw new UnsupportedSyntaxException();
+			}
+		}
+
+		boolean accept(String token) {
+			if (lookingAt(token)) {
+				this.position += token.length();
+				return true;
+			}
+			return false;
+		}
+
+		private boolean lookingAt(String token) {
+			skipWhitespace();
+			return this.source.startsWith(token, this.position);
+		}
+
+		void skipWhitespace() {
+			while (!isAtEnd() && Character.isWhitespace(this.source.charAt(this.position))) {
+				this.position++;
+			}
+		}
+
+		boolean isAtEnd() {
+			return this.position >= this.source.length();
+		}
+
+		private static boolean isTruthy(Object value) {
+			if (value instanceof Boolean) {
+				return (Boolean) value;
+			}
+			if (value instanceof String) {
+				return !((String) value).isEmpty();
+			}
+			return value != null;
+		}
+
+	}
+
+	/**
+	 * Signals that a script must be evaluated by a script engine instead.
+	 */
+	private static class UnsupportedSyntaxException extends RuntimeException {
+
+		private static final long serialVersionUID = 1L;
+
+		UnsupportedSyntaxException() {
+			super(null, null, false, false);
+		}
+
+	}
+
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package example.condition;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Tests for {@link ConditionExpressions}.
+ *
+ * @since 5.3
+ */
+class ConditionExpressionsTests {
+
+	@BeforeAll
+	static void setSystemProperties() {
+		System.setProperty("condition-expressions.set", "x");
+		System.setProperty("condition-expressions.empty", "");
+	}
+
+	@AfterAll
+	static void clearSystemProperties() {
+		System.clearProperty("condition-expressions.set");
+		System.clearProperty("condition-expressions.empty");
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "true", "!false", "'CI' == systemEnvironment.get('ENV')",
+			"/32/.test(systemProperty.get('os.arch'))", "(junitTags.contains('a') || true) && junitDisplayName !== ''",
+			"\"a\" === 'a';" })
+	void compilesSupportedExpressions(String source) {
+		assertTrue(ConditionExpressions.compile(source).isPresent());
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "", "42", "tag:fast", "systemProperty.get('a') + 'b' == 'ab'",
+			"systemProperty.get('os.name').toLowerCase().contains('linux')", "java.lang.Runtime.version()",
+			"'a' == 'a' 'b'", "'\\n' == ''", "'\\u0041' == 'A'" })
+	void rejectsUnsupportedExpressions(String source) {
+		assertFalse(ConditionExpressions.compile(source).isPresent());
+	}
+
+	@ParameterizedTest
+	@MethodSource("javaScriptSemantics")
+	void followsJavaScriptSemantics(String source, Object expected) {
+		Object result = ConditionExpressions.compile(source).orElseThrow(AssertionError::new).evaluate(null);
+
+		assertEquals(expected, result, source);
+	}
+
+	static Stream<Arguments> javaScriptSemantics() {
+		return Stream.of( //
+			arguments("!systemProperty.get('condition-expressions.set')", false), //
+			arguments("!systemProperty.get('condition-expressions.unset')", true), //
+			arguments("!systemProperty.get('condition-expressions.empty')", true), //
+			arguments("!!systemProperty.get('condition-expressions.set')", true), //
+			arguments("!systemProperty.get('condition-expressions.unset') === null", false), //
+			arguments("!systemProperty.get('condition-expressions.unset') === true", true), //
+			arguments("!(systemProperty.get('condition-expressions.unset') === null)", false), //
+			arguments("systemProperty.get('condition-expressions.set') && true", true), //
+			arguments("systemProperty.get('condition-expressions.unset') && true", null), //
+			arguments("'' && true", ""), //
+			arguments("systemProperty.get('condition-expressions.set') || 'dflt'", "x"), //
+			arguments("systemProperty.get('condition-expressions.unset') || 'dflt'", "dflt"), //
+			arguments("(systemProperty.get('condition-expressions.unset') || 'dflt') === 'dflt'", true), //
+			arguments("(systemProperty.get('condition-expressions.set') || 'dflt') === 'dflt'", false), //
+			arguments("(systemProperty.get('condition-expressions.empty') || 'dflt') === 'dflt'", true), //
+			arguments("/nu/.test(systemProperty.get('condition-expressions.unset'))", true), //
+			arguments("'a\\'b' === \"a'b\"", true) //
+		);
+	}
+
+}
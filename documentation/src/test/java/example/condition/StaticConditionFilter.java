@@ -0,0 +1,264 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package example.condition;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.condition.DisabledIfEnvironmentVariable;
+import org.junit.jupiter.api.condition.DisabledIfSystemProperty;
+import org.junit.jupiter.api.condition.DisabledOnJre;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.condition.EnabledOnJre;
+import org.junit.jupiter.api.condition.EnabledOnOs;
+import org.junit.jupiter.api.condition.JRE;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.junit.platform.commons.support.ReflectionSupport;
+import org.junit.platform.engine.FilterResult;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.TestSource;
+import org.junit.platform.engine.reporting.ReportEntry;
+import org.junit.platform.engine.support.descriptor.ClassSource;
+import org.junit.platform.engine.support.descriptor.MethodSource;
+import org.junit.platform.launcher.PostDiscoveryFilter;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+
+/**
+ * {@link PostDiscoveryFilter} that evaluates Jupiter conditions which only
+ * depend on static facts about the running JVM during discovery and prunes
+ * the tests they disable.
+ *
+ * <p>The following conditions are evaluated, on test methods as well as on
+ * their test classes and enclosing classes:
+ *
+ * <ul>
+ * <li>{@link EnabledOnOs @EnabledOnOs} and {@link DisabledOnOs @DisabledOnOs}</li>
+ * <li>{@link EnabledOnJre @EnabledOnJre} and {@link DisabledOnJre @DisabledOnJre}</li>
+ * <li>{@link EnabledIfEnvironmentVariable @EnabledIfEnvironmentVariable} and
+ * {@link DisabledIfEnvironmentVariable @DisabledIfEnvironmentVariable}</li>
+ * <li>{@link EnabledIfSystemProperty @EnabledIfSystemProperty} and
+ * {@link DisabledIfSystemProperty @DisabledIfSystemProperty}, using the
+ * system properties at discovery time</li>
+ * </ul>
+ *
+ * <p>Pruned tests are not instantiated; their classes are not instantiated
+ * either if all of their tests are pruned. All other conditions are still
+ * evaluated by the Jupiter engine during execution, so applying this filter
+ * never enables a test that would otherwise be disabled.
+ *
+ * <p>Since pruned tests are removed from the test plan, the engine does not
+ * report them. To keep them in reports and summaries, wrap the listeners
+ * via {@link #reportingPrunedTestsTo(TestExecutionListener...)}: the
+ * returned listener reports every pruned test as skipped, with the reason
+ * of the condition that disabled it, when the execution of the test plan
+ * starts. Without it, pruned tests do not show up in any report.
+ *
+ * <pre>
+ * StaticConditionFilter filter = new StaticConditionFilter();
+ * LauncherDiscoveryRequest request = LauncherDiscoveryRequestBuilder.request()
+ *         .selectors(selectPackage("com.example"))
+ *         .filters(filter)
+ *         .build();
+ * launcher.execute(request, filter.reportingPrunedTestsTo(summaryListener, xmlListener));
+ * </pre>
+ *
+ * @since 5.3
+ */
+public class StaticConditionFilter implements PostDiscoveryFilter {
+
+	private static final String JUPITER_ENGINE_ID = "junit-jupiter";
+
+	private final Map<String, PrunedTest> prunedTests = Collections.synchronizedMap(new LinkedHashMap<>());
+
+	@Override
+	public FilterResult apply(TestDescriptor descriptor) {
+		if (!descriptor.getUniqueId().getEngineId().filter(JUPITER_ENGINE_ID::equals).isPresent()) {
+			return FilterResult.included("Not a Jupiter test");
+		}
+		Optional<TestDescriptor> current = Optional.of(descriptor);
+		while (current.isPresent()) {
+			Optional<String> reason = current.get().getSource() //
+					.flatMap(StaticConditionFilter::toElement) //
+					.flatMap(StaticConditionFilter::evaluate);
+			if (reason.isPresent()) {
+				this.prunedTests.put(descriptor.getUniqueId().toString(), new PrunedTest(descriptor, reason.get()));
+				return FilterResult.excluded(reason.get());
+			}
+			current = current.get().getParent();
+		}
+		return FilterResult.included("No static condition disables this test");
+	}
+
+	/**
+	 * Create a listener that forwards all events to the supplied listeners
+	 * and additionally reports the tests pruned by this filter as skipped.
+	 */
+	public TestExecutionListener reportingPrunedTestsTo(TestExecutionListener... listeners) {
+		return new PrunedTestsReporter(Arrays.asList(listeners));
+	}
+
+	private static Optional<AnnotatedElement> toElement(TestSource source) {
+		if (source instanceof ClassSource) {
+			return Optional.of(((ClassSource) source).getJavaClass());
+		}
+		if (source instanceof MethodSource) {
+			MethodSource methodSource = (MethodSource) source;
+			return ReflectionSupport.loadClass(methodSource.getClassName()) //
+					.flatMap(testClass -> ReflectionSupport.findMethod(testClass, methodSource.getMethodName(),
+						methodSource.getMethodParameterTypes()));
+		}
+		return Optional.empty();
+	}
+
+	/**
+	 * Evaluate the static conditions of the supplied element, returning the
+	 * reason if one of them disables it.
+	 */
+	static Optional<String> evaluate(AnnotatedElement element) {
+		return first(Stream.of( //
+			find(element, EnabledOnOs.class) //
+					.filter(annotation -> Arrays.stream(annotation.value()).noneMatch(OS::isCurrentOs)) //
+					.map(annotation -> "Disabled on operating system: " + System.getProperty("os.name")), //
+			find(element, DisabledOnOs.class) //
+					.filter(annotation -> Arrays.stream(annotation.value()).anyMatch(OS::isCurrentOs)) //
+					.map(annotation -> "Disabled on operating system: " + System.getProperty("os.name")), //
+			find(element, EnabledOnJre.class) //
+					.filter(annotation -> Arrays.stream(annotation.value()).noneMatch(JRE::isCurrentVersion)) //
+					.map(annotation -> "Disabled on JRE version: " + System.getProperty("java.version")), //
+			find(element, DisabledOnJre.class) //
+					.filter(annotation -> Arrays.stream(annotation.value()).anyMatch(JRE::isCurrentVersion)) //
+					.map(annotation -> "Disabled on JRE version: " + System.getProperty("java.version")), //
+			find(element, EnabledIfEnvironmentVariable.class) //
+					.filter(annotation -> !matches(System::getenv, annotation.named(), annotation.matches())) //
+					.map(annotation -> "Environment variable [" + annotation.named() + "] does not match"), //
+			find(element, DisabledIfEnvironmentVariable.class) //
+					.filter(annotation -> matches(System::getenv, annotation.named(), annotation.matches())) //
+					.map(annotation -> "Environment variable [" + annotation.named() + "] matches"), //
+			find(element, EnabledIfSystemProperty.class) //
+					.filter(annotation -> !matches(System::getProperty, annotation.named(), annotation.matches())) //
+					.map(annotation -> "System property [" + annotation.named() + "] does not match"), //
+			find(element, DisabledIfSystemProperty.class) //
+					.filter(annotation -> matches(System::getProperty, annotation.named(), annotation.matches())) //
+					.map(annotation -> "System property [" + annotation.named() + "] matches")));
+	}
+
+	private static <A extends Annotation> Optional<A> find(AnnotatedElement element,
+			Class<A> annotationType) {
+		return AnnotationSupport.findAnnotation(element, annotationType);
+	}
+
+	private static boolean matches(Function<String, String> lookup, String name, String regex) {
+		String value = lookup.apply(name);
+		return value != null && value.matches(regex);
+	}
+
+	private static Optional<String> first(Stream<Optional<String>> reasons) {
+		return reasons.filter(Optional::isPresent).map(Optional::get).findFirst();
+	}
+
+	/**
+	 * A pruned test together with its ancestors at the time it was pruned,
+	 * from the root down to the test itself.
+	 */
+	private static class PrunedTest {
+
+		private final List<TestIdentifier> path = new ArrayList<>();
+
+		private final String reason;
+
+		PrunedTest(TestDescriptor descriptor, String reason) {
+			Optional<TestDescriptor> current = Optional.of(descriptor);
+			while (current.isPresent()) {
+				this.path.add(0, TestIdentifier.from(current.get()));
+				current = current.get().getParent();
+			}
+			this.reason = reason;
+		}
+
+	}
+
+	/**
+	 * Forwards all events and reports the pruned tests as skipped once the
+	 * execution of the test plan has started. The pruned tests and their
+	 * ancestors are added back to the test plan first, so that listeners
+	 * count them and can resolve the parents of the skipped tests.
+	 */
+	private class PrunedTestsReporter implements TestExecutionListener {
+
+		private final List<TestExecutionListener> listeners;
+
+		PrunedTestsReporter(List<TestExecutionListener> listeners) {
+			this.listeners = listeners;
+		}
+
+		@Override
+		public void testPlanExecutionStarted(TestPlan testPlan) {
+			List<PrunedTest> tests;
+			synchronized (prunedTests) {
+				tests = new ArrayList<>(prunedTests.values());
+				prunedTests.clear();
+			}
+			tests.forEach(test -> test.path.forEach(testPlan::add));
+			this.listeners.forEach(listener -> listener.testPlanExecutionStarted(testPlan));
+			for (PrunedTest test : tests) {
+				TestIdentifier testIdentifier = test.path.get(test.path.size() - 1);
+				this.listeners.forEach(listener -> listener.executionSkipped(testIdentifier, test.reason));
+			}
+		}
+
+		@Override
+		public void testPlanExecutionFinished(TestPlan testPlan) {
+			this.listeners.forEach(listener -> listener.testPlanExecutionFinished(testPlan));
+		}
+
+		@Override
+		public void dynamicTestRegistered(TestIdentifier testIdentifier) {
+			this.listeners.forEach(listener -> listener.dynamicTestRegistered(testIdentifier));
+		}
+
+		@Override
+		public void executionSkipped(TestIdentifier testIdentifier, String reason) {
+			this.listeners.forEach(listener -> listener.executionSkipped(testIdentifier, reason));
+		}
+
+		@Override
+		public void executionStarted(TestIdentifier testIdentifier) {
+			this.listeners.forEach(listener -> listener.executionStarted(testIdentifier));
+		}
+
+		@Override
+		public void executionFinished(TestIdentifier testIdentifier, TestExecutionResult testExecutionResult) {
+			this.listeners.forEach(listener -> listener.executionFinished(testIdentifier, testExecutionResult));
+		}
+
+		@Override
+		public void reportingEntryPublished(TestIdentifier testIdentifier, ReportEntry entry) {
+			this.listeners.forEach(listener -> listener.reportingEntryPublished(testIdentifier, entry));
+		}
+
+	}
+
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package example.condition;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledIfSystemProperty;
+import org.junit.jupiter.api.condition.DisabledOnJre;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.junit.jupiter.api.condition.EnabledOnJre;
+import org.junit.jupiter.api.condition.EnabledOnOs;
+import org.junit.jupiter.api.condition.JRE;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.platform.launcher.LauncherDiscoveryRequest;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+import org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder;
+import org.junit.platform.launcher.core.LauncherFactory;
+import org.junit.platform.launcher.listeners.SummaryGeneratingListener;
+import org.junit.platform.launcher.listeners.TestExecutionSummary;
+
+/**
+ * Tests for {@link StaticConditionFilter}.
+ *
+ * @since 5.3
+ */
+class StaticConditionFilterTests {
+
+	@Test
+	void prunesTestsDisabledByStaticConditions() {
+		LauncherDiscoveryRequest request = LauncherDiscoveryRequestBuilder.request() //
+				.selectors(selectClass(ConditionalTestCase.class)) //
+				.filters(new StaticConditionFilter()) //
+				.build();
+
+		TestPlan testPlan = LauncherFactory.create().discover(request);
+
+		Set<String> tests = testPlan.getRoots().stream() //
+				.flatMap(root -> testPlan.getDescendants(root).stream()) //
+				.filter(TestIdentifier::isTest) //
+				.map(TestIdentifier::getDisplayName) //
+				.collect(Collectors.toSet());
+		assertEquals(Set.of("unconditional()", "onAnyOs()", "notOnJava8()"), tests);
+		assertFalse(testPlan.getRoots().stream() //
+				.flatMap(root -> testPlan.getDescendants(root).stream()) //
+				.anyMatch(identifier -> identifier.getDisplayName().equals("DisabledNested")));
+	}
+
+	@Test
+	void reportsPrunedTestsAsSkipped() {
+		StaticConditionFilter filter = new StaticConditionFilter();
+		LauncherDiscoveryRequest request = LauncherDiscoveryRequestBuilder.request() //
+				.selectors(selectClass(ConditionalTestCase.class)) //
+				.filters(filter) //
+				.build();
+		SummaryGeneratingListener summaryListener = new SummaryGeneratingListener();
+		Map<String, String> skipReasons = new HashMap<>();
+		TestExecutionListener reasonListener = new TestExecutionListener() {
+
+			@Override
+			public void executionSkipped(TestIdentifier testIdentifier, String reason) {
+				skipReasons.put(testIdentifier.getDisplayName(), reason);
+			}
+		};
+
+		LauncherFactory.create().execute(request, filter.reportingPrunedTestsTo(summaryListener, reasonListener));
+
+		TestExecutionSummary summary = summaryListener.getSummary();
+		assertEquals(7, summary.getTestsFoundCount());
+		assertEquals(4, summary.getTestsSkippedCount());
+		assertEquals(3, summary.getTestsSucceededCount());
+		assertEquals("System property [java.version] matches", skipReasons.get("disabledBySystemProperty()"));
+		assertEquals("System property [java.version] matches", skipReasons.get("test()"));
+		assertEquals("Environment variable [STATIC_CONDITION_FILTER_TESTS_UNDEFINED] does not match",
+			skipReasons.get("enabledByMissingEnvironmentVariable()"));
+	}
+
+	@Test
+	void keepsTestsWithoutStaticConditions() throws Exception {
+		assertFalse(StaticConditionFilter.evaluate(
+			ConditionalTestCase.class.getDeclaredMethod("unconditional")).isPresent());
+	}
+
+	static class ConditionalTestCase {
+
+		@Test
+		void unconditional() {
+		}
+
+		@Test
+		@EnabledOnOs({ OS.LINUX, OS.MAC, OS.WINDOWS, OS.AIX, OS.SOLARIS, OS.OTHER })
+		void onAnyOs() {
+		}
+
+		@Test
+		@EnabledOnJre(JRE.JAVA_8)
+		@DisabledOnJre(JRE.JAVA_8)
+		void never() {
+		}
+
+		@Test
+		@DisabledOnJre(JRE.JAVA_8)
+		@DisabledIfSystemProperty(named = "java.version", matches = "1\\.8.*")
+		void notOnJava8() {
+		}
+
+		@Test
+		@DisabledIfSystemProperty(named = "java.version", matches = ".*")
+		void disabledBySystemProperty() {
+		}
+
+		@Test
+		@EnabledIfEnvironmentVariable(named = "STATIC_CONDITION_FILTER_TESTS_UNDEFINED", matches = ".*")
+		void enabledByMissingEnvironmentVariable() {
+		}
+
+		@Nested
+		@DisabledIfSystemProperty(named = "java.version", matches = ".*")
+		class DisabledNested {
+
+			@Test
+			void test() {
+			}
+
+		}
+
+	}
+
+}
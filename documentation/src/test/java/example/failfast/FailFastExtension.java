@@ -0,0 +1,186 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package example.failfast;
+
+import java.nio.channels.ClosedByInterruptException;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+import org.junit.jupiter.api.extension.AfterAllCallback;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ConditionEvaluationResult;
+import org.junit.jupiter.api.extension.ExecutionCondition;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ExtensionContext.Namespace;
+import org.junit.jupiter.api.extension.TestExecutionExceptionHandler;
+import org.junit.platform.commons.JUnitException;
+import org.opentest4j.TestAbortedException;
+
+/**
+ * Extension that stops a test run once a configurable number of failures
+ * have occurred.
+ *
+ * <p>The threshold is read from the {@value #THRESHOLD_PROPERTY_NAME}
+ * configuration parameter, which must be a positive integer; without it,
+ * this extension does nothing. Failures of tests, including those of
+ * their {@code @BeforeEach} and {@code @AfterEach} methods, and failures
+ * of test classes, e.g. of their {@code @BeforeAll} and {@code @AfterAll}
+ * methods, count towards the threshold. Once the threshold has been
+ * reached, no further tests or containers are started and they are
+ * reported as skipped instead. Tests that are still running on other
+ * threads are interrupted, and if they terminate due to that interruption
+ * they are reported as aborted.
+ *
+ * <p>To apply this extension to an entire test run, enable extension
+ * auto-detection, e.g. via the {@code ConsoleLauncher}:
+ *
+ * <pre>
+ * --config junit.jupiter.extensions.autodetection.enabled=true
+ * --config fail-fast.threshold=1
+ * </pre>
+ *
+ * @since 5.3
+ */
+public class FailFastExtension implements ExecutionCondition, BeforeTestExecutionCallback,
+		TestExecutionExceptionHandler, AfterTestExecutionCallback, AfterEachCallback, AfterAllCallback {
+
+	public static final String THRESHOLD_PROPERTY_NAME = "fail-fast.threshold";
+
+	private static final Namespace NAMESPACE = Namespace.create(FailFastExtension.class);
+
+	@Override
+	public ConditionEvaluationResult evaluateExecutionCondition(ExtensionContext context) {
+		return getState(context) //
+				.filter(State::isTriggered) //
+				.map(state -> ConditionEvaluationResult.disabled(
+					String.format("Fail-fast: %d failure(s) occurred", state.threshold))) //
+				.orElse(ConditionEvaluationResult.enabled("Fail-fast threshold not reached"));
+	}
+
+	@Override
+	public void beforeTestExecution(ExtensionContext context) {
+		getState(context).ifPresent(State::enter);
+	}
+
+	@Override
+	public void handleTestExecutionException(ExtensionContext context, Throwable throwable) throws Throwable {
+		Optional<State> state = getState(context);
+		if (state.isPresent() && state.get().isTriggered() && isCausedByInterruption(throwable)) {
+			TestAbortedException abortedException = new TestAbortedException(
+				"Fail-fast: interrupted after other tests failed");
+			abortedException.addSuppressed(throwable);
+			throw abortedException;
+		}
+		throw throwable;
+	}
+
+	@Override
+	public void afterTestExecution(ExtensionContext context) {
+		getState(context).ifPresent(State::exit);
+	}
+
+	@Override
+	public void afterEach(ExtensionContext context) {
+		recordFailure(context);
+	}
+
+	@Override
+	public void afterAll(ExtensionContext context) {
+		recordFailure(context);
+	}
+
+	private static void recordFailure(ExtensionContext context) {
+		getState(context).ifPresent(state -> {
+			boolean failed = context.getExecutionException() //
+					.filter(throwable -> !(throwable instanceof TestAbortedException)) //
+					.isPresent();
+			if (failed) {
+				state.recordFailure();
+			}
+		});
+	}
+
+	private static boolean isCausedByInterruption(Throwable throwable) {
+		for (Throwable current = throwable; current != null; current = current.getCause()) {
+			if (current instanceof InterruptedException || current instanceof ClosedByInterruptException) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static Optional<State> getState(ExtensionContext context) {
+		return context.getConfigurationParameter(THRESHOLD_PROPERTY_NAME) //
+				.map(FailFastExtension::parseThreshold) //
+				.map(threshold -> context.getRoot().getStore(NAMESPACE).getOrComputeIfAbsent(State.class,
+					key -> new State(threshold), State.class));
+	}
+
+	private static int parseThreshold(String value) {
+		int threshold;
+		try {
+			threshold = Integer.parseInt(value.trim());
+		}
+		catch (NumberFormatException e) {
+			throw new JUnitException(THRESHOLD_PROPERTY_NAME + " must be a positive integer: " + value, e);
+		}
+		if (threshold < 1) {
+			throw new JUnitException(THRESHOLD_PROPERTY_NAME + " must be a positive integer: " + value);
+		}
+		return threshold;
+	}
+
+	/**
+	 * Failure count and in-flight tests of the current test run.
+	 *
+	 * <p>Threads are only interrupted while they are executing a test: a
+	 * thread that leaves a test after the threshold has been reached gets
+	 * its interrupted status cleared under the same lock.
+	 */
+	private static class State {
+
+		private final int threshold;
+
+		private final Set<Thread> inFlight = new HashSet<>();
+
+		private int failures;
+
+		State(int threshold) {
+			this.threshold = threshold;
+		}
+
+		synchronized boolean isTriggered() {
+			return this.failures >= this.threshold;
+		}
+
+		synchronized void enter() {
+			this.inFlight.add(Thread.currentThread());
+		}
+
+		synchronized void exit() {
+			this.inFlight.remove(Thread.currentThread());
+			if (isTriggered()) {
+				Thread.interrupted();
+			}
+		}
+
+		synchronized void recordFailure() {
+			if (++this.failures == this.threshold) {
+				this.inFlight.forEach(Thread::interrupt);
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,225 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package example.failfast;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.junit.platform.launcher.LauncherDiscoveryRequest;
+import org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder;
+import org.junit.platform.launcher.core.LauncherFactory;
+import org.junit.platform.launcher.listeners.SummaryGeneratingListener;
+import org.junit.platform.launcher.listeners.TestExecutionSummary;
+
+/**
+ * Tests for {@link FailFastExtension}.
+ *
+ * @since 5.3
+ */
+class FailFastExtensionTests {
+
+	@Test
+	void skipsRemainingTestsOnceThresholdIsReached() {
+		TestExecutionSummary summary = execute(FailingTestCase.class, "2", false);
+
+		assertEquals(2, summary.getTestsFailedCount());
+		assertEquals(2, summary.getTestsSkippedCount());
+	}
+
+	@Test
+	void skipsRemainingContainersOnceThresholdIsReached() {
+		LauncherDiscoveryRequest request = LauncherDiscoveryRequestBuilder.request() //
+				.selectors(selectClass(FailingTestCase.class), selectClass(AnotherFailingTestCase.class)) //
+				.configurationParameter(FailFastExtension.THRESHOLD_PROPERTY_NAME, "1") //
+				.configurationParameter("junit.jupiter.extensions.autodetection.enabled", "true") //
+				.build();
+		SummaryGeneratingListener listener = new SummaryGeneratingListener();
+
+		LauncherFactory.create().execute(request, listener);
+
+		assertEquals(1, listener.getSummary().getTestsFailedCount());
+		assertEquals(1, listener.getSummary().getContainersSkippedCount());
+	}
+
+	@Test
+	void countsFailuresOfLifecycleMethods() {
+		TestExecutionSummary summary = execute(FailingBeforeEachTestCase.class, "2", false);
+
+		assertEquals(2, summary.getTestsFailedCount());
+		assertEquals(2, summary.getTestsSkippedCount());
+	}
+
+	@Test
+	void countsFailuresOfContainers() {
+		LauncherDiscoveryRequest request = LauncherDiscoveryRequestBuilder.request() //
+				.selectors(selectClass(FailingBeforeAllTestCase.class), selectClass(AnotherFailingTestCase.class)) //
+				.configurationParameter(FailFastExtension.THRESHOLD_PROPERTY_NAME, "1") //
+				.configurationParameter("junit.jupiter.extensions.autodetection.enabled", "true") //
+				.build();
+		SummaryGeneratingListener listener = new SummaryGeneratingListener();
+
+		LauncherFactory.create().execute(request, listener);
+
+		assertEquals(1, listener.getSummary().getContainersFailedCount());
+		assertEquals(1, listener.getSummary().getContainersSkippedCount());
+		assertEquals(0, listener.getSummary().getTestsStartedCount());
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "0", "-1", "one" })
+	void rejectsInvalidThreshold(String threshold) {
+		TestExecutionSummary summary = execute(FailingTestCase.class, threshold, false);
+
+		assertEquals(1, summary.getTotalFailureCount());
+		String message = summary.getFailures().get(0).getException().getMessage();
+		assertTrue(message.contains(FailFastExtension.THRESHOLD_PROPERTY_NAME + " must be a positive integer"),
+			message);
+	}
+
+	@Test
+	void doesNothingWithoutThreshold() {
+		TestExecutionSummary summary = execute(FailingTestCase.class, null, true);
+
+		assertEquals(4, summary.getTestsFailedCount());
+	}
+
+	@Test
+	void abortsInFlightTestsOnceThresholdIsReached() {
+		TestExecutionSummary summary = execute(ConcurrentTestCase.class, "1", true);
+
+		assertEquals(1, summary.getTestsFailedCount());
+		assertEquals(1, summary.getTestsAbortedCount());
+	}
+
+	private static TestExecutionSummary execute(Class<?> testClass, String threshold, boolean autodetection) {
+		LauncherDiscoveryRequestBuilder builder = LauncherDiscoveryRequestBuilder.request() //
+				.selectors(selectClass(testClass)) //
+				.configurationParameter("junit.jupiter.extensions.autodetection.enabled",
+					String.valueOf(autodetection));
+		if (threshold != null) {
+			builder.configurationParameter(FailFastExtension.THRESHOLD_PROPERTY_NAME, threshold);
+		}
+		SummaryGeneratingListener listener = new SummaryGeneratingListener();
+		LauncherFactory.create().execute(builder.build(), listener);
+		return listener.getSummary();
+	}
+
+	@ExtendWith(FailFastExtension.class)
+	@Execution(ExecutionMode.SAME_THREAD)
+	static class FailingTestCase {
+
+		@Test
+		void first() {
+			fail("first");
+		}
+
+		@Test
+		void second() {
+			fail("second");
+		}
+
+		@Test
+		void third() {
+			fail("third");
+		}
+
+		@Test
+		void fourth() {
+			fail("fourth");
+		}
+
+	}
+
+	@ExtendWith(FailFastExtension.class)
+	@Execution(ExecutionMode.SAME_THREAD)
+	static class FailingBeforeEachTestCase {
+
+		@BeforeEach
+		void setUp() {
+			fail("broken fixture");
+		}
+
+		@Test
+		void first() {
+		}
+
+		@Test
+		void second() {
+		}
+
+		@Test
+		void third() {
+		}
+
+		@Test
+		void fourth() {
+		}
+
+	}
+
+	@Execution(ExecutionMode.SAME_THREAD)
+	static class FailingBeforeAllTestCase {
+
+		@BeforeAll
+		static void setUp() {
+			fail("broken fixture");
+		}
+
+		@Test
+		void test() {
+		}
+
+	}
+
+	@Execution(ExecutionMode.SAME_THREAD)
+	static class AnotherFailingTestCase {
+
+		@Test
+		void test() {
+			fail("should not be executed");
+		}
+
+	}
+
+	@ExtendWith(FailFastExtension.class)
+	@Execution(ExecutionMode.CONCURRENT)
+	static class ConcurrentTestCase {
+
+		private static final CountDownLatch slowTestStarted = new CountDownLatch(1);
+
+		@Test
+		void slowTest() throws Exception {
+			slowTestStarted.countDown();
+			Thread.sleep(10_000);
+		}
+
+		@Test
+		void failingTest() throws Exception {
+			slowTestStarted.await(5, TimeUnit.SECONDS);
+			fail("failing");
+		}
+
+	}
+
+}
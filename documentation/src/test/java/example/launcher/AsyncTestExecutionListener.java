@@ -0,0 +1,195 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package example.launcher;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.reporting.ReportEntry;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+
+/**
+ * {@link TestExecutionListener} that hands every event over to a bounded,
+ * lock-free ring buffer which is drained by a dedicated thread that invokes
+ * the delegate listeners.
+ *
+ * <p>Worker threads that report events therefore never execute listener
+ * code; they only block if the ring buffer is full. Since there is a single
+ * consumer, the delegates observe the events of each test in exactly the
+ * order in which they were reported.
+ *
+ * <p>{@link #testPlanExecutionFinished(TestPlan)} waits until all pending
+ * events have been dispatched, so reports written by the delegates are
+ * complete once the launcher returns.
+ *
+ * @since 5.3
+ */
+public class AsyncTestExecutionListener implements TestExecutionListener {
+
+	private static final Logger logger = Logger.getLogger(AsyncTestExecutionListener.class.getName());
+
+	private static final Consumer<TestExecutionListener> END_OF_EVENTS = listener -> {
+	};
+
+	private final List<TestExecutionListener> listeners;
+
+	private final RingBuffer ringBuffer;
+
+	private volatile Thread dispatcher;
+
+	/**
+	 * Create a listener that dispatches to the supplied listeners using a
+	 * ring buffer with at least the supplied capacity.
+	 */
+	public AsyncTestExecutionListener(int capacity, TestExecutionListener... listeners) {
+		this.listeners = Arrays.asList(listeners);
+		this.ringBuffer = new RingBuffer(capacity);
+	}
+
+	@Override
+	public void testPlanExecutionStarted(TestPlan testPlan) {
+		Thread thread = new Thread(this::dispatchEvents, "junit-listener-dispatcher");
+		thread.setDaemon(true);
+		this.dispatcher = thread;
+		thread.start();
+		publish(listener -> listener.testPlanExecutionStarted(testPlan));
+	}
+
+	@Override
+	public void testPlanExecutionFinished(TestPlan testPlan) {
+		publish(listener -> listener.testPlanExecutionFinished(testPlan));
+		publish(END_OF_EVENTS);
+		try {
+			this.dispatcher.join();
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	@Override
+	public void dynamicTestRegistered(TestIdentifier testIdentifier) {
+		publish(listener -> listener.dynamicTestRegistered(testIdentifier));
+	}
+
+	@Override
+	public void executionSkipped(TestIdentifier testIdentifier, String reason) {
+		publish(listener -> listener.executionSkipped(testIdentifier, reason));
+	}
+
+	@Override
+	public void executionStarted(TestIdentifier testIdentifier) {
+		publish(listener -> listener.executionStarted(testIdentifier));
+	}
+
+	@Override
+	public void executionFinished(TestIdentifier testIdentifier, TestExecutionResult testExecutionResult) {
+		publish(listener -> listener.executionFinished(testIdentifier, testExecutionResult));
+	}
+
+	@Override
+	public void reportingEntryPublished(TestIdentifier testIdentifier, ReportEntry entry) {
+		publish(listener -> listener.reportingEntryPublished(testIdentifier, entry));
+	}
+
+	private void publish(Consumer<TestExecutionListener> event) {
+		this.ringBuffer.put(event);
+		LockSupport.unpark(this.dispatcher);
+	}
+
+	private void dispatchEvents() {
+		while (true) {
+			Consumer<TestExecutionListener> event = this.ringBuffer.poll();
+			if (event == null) {
+				LockSupport.park(this);
+				continue;
+			}
+			if (event == END_OF_EVENTS) {
+				return;
+			}
+			for (TestExecutionListener listener : this.listeners) {
+				try {
+					event.accept(listener);
+				}
+				catch (Throwable throwable) {
+					logger.log(Level.WARNING, throwable,
+						() -> String.format("TestExecutionListener [%s] threw exception", listener.getClass().getName()));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Bounded multi-producer, single-consumer ring buffer.
+	 *
+	 * <p>Producers claim a sequence number via an atomic increment, store the
+	 * event in the corresponding slot and then publish the slot by writing
+	 * its sequence number. The consumer only reads slots whose sequence
+	 * number matches the next expected one.
+	 */
+	private static class RingBuffer {
+
+		private final int mask;
+
+		private final AtomicReferenceArray<Consumer<TestExecutionListener>> slots;
+
+		private final AtomicLongArray published;
+
+		private final AtomicLong claimed = new AtomicLong();
+
+		private volatile long consumed;
+
+		RingBuffer(int capacity) {
+			int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+			this.mask = size - 1;
+			this.slots = new AtomicReferenceArray<>(size);
+			this.published = new AtomicLongArray(size);
+			for (int i = 0; i < size; i++) {
+				this.published.set(i, -1);
+			}
+		}
+
+		void put(Consumer<TestExecutionListener> event) {
+			long sequence = this.claimed.getAndIncrement();
+			while (sequence - this.consumed > this.mask) {
+				// buffer is full: wait for the consumer to catch up
+				LockSupport.parkNanos(1_000);
+			}
+			int index = (int) sequence & this.mask;
+			this.slots.lazySet(index, event);
+			this.published.set(index, sequence);
+		}
+
+		Consumer<TestExecutionListener> poll() {
+			long sequence = this.consumed;
+			int index = (int) sequence & this.mask;
+			if (this.published.get(index) != sequence) {
+				return null;
+			}
+			Consumer<TestExecutionListener> event = this.slots.get(index);
+			this.slots.lazySet(index, null);
+			this.consumed = sequence + 1;
+			return event;
+		}
+
+	}
+
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package example.launcher;
+
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.UniqueId;
+import org.junit.platform.engine.support.descriptor.EngineDescriptor;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+
+/**
+ * Tests for {@link AsyncTestExecutionListener}.
+ *
+ * @since 5.3
+ */
+class AsyncTestExecutionListenerTests {
+
+	private final EngineDescriptor engineDescriptor = new EngineDescriptor(UniqueId.forEngine("engine"), "engine");
+
+	private final TestPlan testPlan = TestPlan.from(singletonList(engineDescriptor));
+
+	private final TestIdentifier testIdentifier = TestIdentifier.from(engineDescriptor);
+
+	@Test
+	void reportingEventsDoesNotWaitForSlowListeners() throws Exception {
+		CountDownLatch latch = new CountDownLatch(1);
+		RecordingListener recordingListener = new RecordingListener(latch);
+		AsyncTestExecutionListener listener = new AsyncTestExecutionListener(4, recordingListener);
+
+		listener.testPlanExecutionStarted(testPlan);
+		assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+			listener.executionStarted(testIdentifier);
+			listener.executionFinished(testIdentifier, TestExecutionResult.successful());
+		});
+		latch.countDown();
+		listener.testPlanExecutionFinished(testPlan);
+
+		assertEquals(List.of("planStarted", "started", "finished", "planFinished"), recordingListener.events);
+	}
+
+	@Test
+	void preservesOrderWhenRingBufferWrapsAround() {
+		RecordingListener recordingListener = new RecordingListener(new CountDownLatch(0));
+		AsyncTestExecutionListener listener = new AsyncTestExecutionListener(2, recordingListener);
+
+		listener.testPlanExecutionStarted(testPlan);
+		IntStream.range(0, 100).forEach(i -> listener.executionSkipped(testIdentifier, String.valueOf(i)));
+		listener.testPlanExecutionFinished(testPlan);
+
+		List<String> expected = new ArrayList<>();
+		expected.add("planStarted");
+		IntStream.range(0, 100).forEach(i -> expected.add("skipped " + i));
+		expected.add("planFinished");
+		assertEquals(expected, recordingListener.events);
+	}
+
+	@Test
+	void doesNotLoseOrReorderEventsOfConcurrentProducers() throws Exception {
+		int producers = 4;
+		int eventsPerProducer = 10_000;
+		RecordingListener recordingListener = new RecordingListener(new CountDownLatch(0));
+		AsyncTestExecutionListener listener = new AsyncTestExecutionListener(8, recordingListener);
+		CyclicBarrier start = new CyclicBarrier(producers);
+		ExecutorService executor = Executors.newFixedThreadPool(producers);
+
+		listener.testPlanExecutionStarted(testPlan);
+		try {
+			List<Future<?>> futures = IntStream.range(0, producers) //
+					.mapToObj(producer -> executor.submit(() -> {
+						start.await(5, TimeUnit.SECONDS);
+						for (int i = 0; i < eventsPerProducer; i++) {
+							listener.executionSkipped(testIdentifier, producer + ":" + i);
+						}
+						return null;
+					})) //
+					.collect(toList());
+			assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+				for (Future<?> future : futures) {
+					future.get();
+				}
+			});
+		}
+		finally {
+			executor.shutdown();
+		}
+		listener.testPlanExecutionFinished(testPlan);
+
+		List<String> events = recordingListener.events;
+		assertEquals(producers * eventsPerProducer + 2, events.size());
+		int[] nextEvent = new int[producers];
+		for (String event : events.subList(1, events.size() - 1)) {
+			String[] parts = event.substring("skipped ".length()).split(":");
+			int producer = Integer.parseInt(parts[0]);
+			assertEquals(nextEvent[producer]++, Integer.parseInt(parts[1]), () -> "event of producer " + producer);
+		}
+		for (int producer = 0; producer < producers; producer++) {
+			assertEquals(eventsPerProducer, nextEvent[producer]);
+		}
+	}
+
+	static class RecordingListener implements TestExecutionListener {
+
+		final List<String> events = new ArrayList<>();
+
+		private final CountDownLatch latch;
+
+		RecordingListener(CountDownLatch latch) {
+			this.latch = latch;
+		}
+
+		@Override
+		public void testPlanExecutionStarted(TestPlan testPlan) {
+			await();
+			events.add("planStarted");
+		}
+
+		@Override
+		public void testPlanExecutionFinished(TestPlan testPlan) {
+			events.add("planFinished");
+		}
+
+		@Override
+		public void executionSkipped(TestIdentifier testIdentifier, String reason) {
+			events.add("skipped " + reason);
+		}
+
+		@Override
+		public void executionStarted(TestIdentifier testIdentifier) {
+			events.add("started");
+		}
+
+		@Override
+		public void executionFinished(TestIdentifier testIdentifier, TestExecutionResult testExecutionResult) {
+			events.add("finished");
+		}
+
+		private void await() {
+			try {
+				latch.await();
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+
+	}
+
+}
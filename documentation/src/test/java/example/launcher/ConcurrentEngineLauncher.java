@@ -0,0 +1,276 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package example.launcher;
+
+import static java.util.stream.Collectors.toList;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.StreamSupport;
+
+import org.junit.platform.engine.ConfigurationParameters;
+import org.junit.platform.engine.EngineExecutionListener;
+import org.junit.platform.engine.ExecutionRequest;
+import org.junit.platform.engine.Filter;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.TestEngine;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.UniqueId;
+import org.junit.platform.engine.reporting.ReportEntry;
+import org.junit.platform.launcher.Launcher;
+import org.junit.platform.launcher.LauncherDiscoveryRequest;
+import org.junit.platform.launcher.PostDiscoveryFilter;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+
+/**
+ * {@link Launcher} that discovers and executes each {@link TestEngine} on its
+ * own thread.
+ *
+ * <p>The default launcher visits all engines one after another, so a test
+ * run that combines e.g. JUnit Jupiter and JUnit Vintage takes the sum of
+ * both engines' wall times. This launcher is an opt-in alternative: the
+ * {@code discover} phase of every engine runs concurrently, and independent
+ * engines are then executed concurrently as well.
+ *
+ * <p>All {@link TestExecutionListener} callbacks are serialized, so existing
+ * listeners do not have to be thread-safe.
+ *
+ * @since 5.3
+ */
+public class ConcurrentEngineLauncher implements Launcher {
+
+	private static final Logger logger = Logger.getLogger(ConcurrentEngineLauncher.class.getName());
+
+	/**
+	 * Create a launcher for all engines registered via
+	 * {@link ServiceLoader}.
+	 */
+	public static ConcurrentEngineLauncher create() {
+		Iterable<TestEngine> engines = ServiceLoader.load(TestEngine.class);
+		return new ConcurrentEngineLauncher(StreamSupport.stream(engines.spliterator(), false).collect(toList()));
+	}
+
+	/**
+	 * Create a launcher for the supplied engines.
+	 */
+	public static ConcurrentEngineLauncher create(TestEngine... engines) {
+		return new ConcurrentEngineLauncher(Arrays.asList(engines));
+	}
+
+	private final List<TestEngine> engines;
+
+	private final List<TestExecutionListener> listeners = new ArrayList<>();
+
+	private ConcurrentEngineLauncher(Collection<TestEngine> engines) {
+		this.engines = new ArrayList<>(engines);
+	}
+
+	@Override
+	public void registerTestExecutionListeners(TestExecutionListener... listeners) {
+		this.listeners.addAll(Arrays.asList(listeners));
+	}
+
+	@Override
+	public TestPlan discover(LauncherDiscoveryRequest discoveryRequest) {
+		return TestPlan.from(discoverRoots(discoveryRequest).values());
+	}
+
+	@Override
+	public void execute(LauncherDiscoveryRequest discoveryRequest, TestExecutionListener... listeners) {
+		Map<TestEngine, TestDescriptor> roots = discoverRoots(discoveryRequest);
+		TestPlan testPlan = TestPlan.from(roots.values());
+
+		List<TestExecutionListener> allListeners = new ArrayList<>(this.listeners);
+		allListeners.addAll(Arrays.asList(listeners));
+		SerializingListener listener = new SerializingListener(testPlan, allListeners);
+		ConfigurationParameters configurationParameters = discoveryRequest.getConfigurationParameters();
+
+		listener.testPlanExecutionStarted();
+		runConcurrently(roots.keySet(), "execute", engine -> {
+			engine.execute(new ExecutionRequest(roots.get(engine), listener, configurationParameters));
+			return null;
+		});
+		listener.testPlanExecutionFinished();
+	}
+
+	private Map<TestEngine, TestDescriptor> discoverRoots(LauncherDiscoveryRequest discoveryRequest) {
+		Filter<TestEngine> engineFilter = Filter.composeFilters(discoveryRequest.getEngineFilters());
+		List<TestEngine> includedEngines = this.engines.stream() //
+				.filter(engineFilter.toPredicate()) //
+				.collect(toList());
+
+		Map<TestEngine, TestDescriptor> roots = runConcurrently(includedEngines, "discover",
+			engine -> engine.discover(discoveryRequest, UniqueId.forEngine(engine.getId())));
+		roots.values().forEach(root -> applyPostDiscoveryFilters(root, discoveryRequest.getPostDiscoveryFilters()));
+		return roots;
+	}
+
+	private void applyPostDiscoveryFilters(TestDescriptor root, List<PostDiscoveryFilter> postDiscoveryFilters) {
+		Filter<TestDescriptor> filter = Filter.composeFilters(postDiscoveryFilters);
+		root.accept(descriptor -> {
+			if (!descriptor.isRoot() && descriptor.getChildren().isEmpty()
+					&& filter.apply(descriptor).excluded()) {
+				descriptor.removeFromHierarchy();
+			}
+		});
+		root.prune();
+	}
+
+	/**
+	 * Run the supplied task for every engine on a dedicated thread and wait
+	 * for all of them to finish.
+	 *
+	 * <p>Engines whose task fails are logged and left out of the result, just
+	 * like the default launcher does.
+	 */
+	private Map<TestEngine, TestDescriptor> runConcurrently(Collection<TestEngine> engines, String phase,
+			EngineTask task) {
+
+		Map<TestEngine, CompletableFuture<TestDescriptor>> futures = new LinkedHashMap<>();
+		ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, engines.size()), runnable -> {
+			Thread thread = new Thread(runnable, "junit-concurrent-engine-" + phase);
+			thread.setDaemon(true);
+			return thread;
+		});
+		try {
+			engines.forEach(engine -> futures.put(engine, CompletableFuture.supplyAsync(() -> {
+				try {
+					return task.run(engine);
+				}
+				catch (Throwable throwable) {
+					logger.log(Level.WARNING, throwable,
+						() -> String.format("TestEngine with ID '%s' failed to %s tests", engine.getId(), phase));
+					return null;
+				}
+			}, executor)));
+
+			Map<TestEngine, TestDescriptor> results = new LinkedHashMap<>();
+			futures.forEach((engine, future) -> {
+				TestDescriptor result = future.join();
+				if (result != null) {
+					results.put(engine, result);
+				}
+			});
+			return results;
+		}
+		finally {
+			executor.shutdown();
+			awaitTermination(executor);
+		}
+	}
+
+	private static void awaitTermination(ExecutorService executor) {
+		try {
+			executor.awaitTermination(1, TimeUnit.MINUTES);
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	@FunctionalInterface
+	private interface EngineTask {
+
+		TestDescriptor run(TestEngine engine) throws Throwable;
+
+	}
+
+	/**
+	 * Adapts {@link EngineExecutionListener} events from all engines to the
+	 * registered {@link TestExecutionListener TestExecutionListeners} while
+	 * holding a single lock, so listeners never observe concurrent callbacks.
+	 */
+	private static class SerializingListener implements EngineExecutionListener {
+
+		private final Object lock = new Object();
+
+		private final TestPlan testPlan;
+
+		private final List<TestExecutionListener> listeners;
+
+		SerializingListener(TestPlan testPlan, List<TestExecutionListener> listeners) {
+			this.testPlan = testPlan;
+			this.listeners = listeners;
+		}
+
+		void testPlanExecutionStarted() {
+			synchronized (this.lock) {
+				this.listeners.forEach(listener -> listener.testPlanExecutionStarted(this.testPlan));
+			}
+		}
+
+		void testPlanExecutionFinished() {
+			synchronized (this.lock) {
+				this.listeners.forEach(listener -> listener.testPlanExecutionFinished(this.testPlan));
+			}
+		}
+
+		@Override
+		public void dynamicTestRegistered(TestDescriptor testDescriptor) {
+			synchronized (this.lock) {
+				TestIdentifier testIdentifier = TestIdentifier.from(testDescriptor);
+				this.testPlan.add(testIdentifier);
+				this.listeners.forEach(listener -> listener.dynamicTestRegistered(testIdentifier));
+			}
+		}
+
+		@Override
+		public void executionSkipped(TestDescriptor testDescriptor, String reason) {
+			synchronized (this.lock) {
+				TestIdentifier testIdentifier = getTestIdentifier(testDescriptor);
+				this.listeners.forEach(listener -> listener.executionSkipped(testIdentifier, reason));
+			}
+		}
+
+		@Override
+		public void executionStarted(TestDescriptor testDescriptor) {
+			synchronized (this.lock) {
+				TestIdentifier testIdentifier = getTestIdentifier(testDescriptor);
+				this.listeners.forEach(listener -> listener.executionStarted(testIdentifier));
+			}
+		}
+
+		@Override
+		public void executionFinished(TestDescriptor testDescriptor, TestExecutionResult testExecutionResult) {
+			synchronized (this.lock) {
+				TestIdentifier testIdentifier = getTestIdentifier(testDescriptor);
+				this.listeners.forEach(listener -> listener.executionFinished(testIdentifier, testExecutionResult));
+			}
+		}
+
+		@Override
+		public void reportingEntryPublished(TestDescriptor testDescriptor, ReportEntry entry) {
+			synchronized (this.lock) {
+				TestIdentifier testIdentifier = getTestIdentifier(testDescriptor);
+				this.listeners.forEach(listener -> listener.reportingEntryPublished(testIdentifier, entry));
+			}
+		}
+
+		private TestIdentifier getTestIdentifier(TestDescriptor testDescriptor) {
+			return this.testPlan.getTestIdentifier(testDescriptor.getUniqueId().toString());
+		}
+
+	}
+
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package example.launcher;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+import static org.junit.platform.launcher.EngineFilter.includeEngines;
+
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.platform.engine.EngineDiscoveryRequest;
+import org.junit.platform.engine.ExecutionRequest;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.TestEngine;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.UniqueId;
+import org.junit.platform.engine.support.descriptor.EngineDescriptor;
+import org.junit.platform.launcher.LauncherDiscoveryRequest;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+import org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder;
+import org.junit.platform.launcher.listeners.SummaryGeneratingListener;
+import org.junit.platform.launcher.listeners.TestExecutionSummary;
+
+/**
+ * Tests for {@link ConcurrentEngineLauncher}.
+ *
+ * @since 5.3
+ */
+class ConcurrentEngineLauncherTests {
+
+	private final LauncherDiscoveryRequest request = LauncherDiscoveryRequestBuilder.request()
+			.selectors(selectClass("example.FirstJUnit5Tests"), selectClass("example.JUnit4Tests"))
+			.filters(includeEngines("junit-jupiter", "junit-vintage"))
+			.build();
+
+	@Test
+	void discoversAllIncludedEngines() {
+		TestPlan testPlan = ConcurrentEngineLauncher.create().discover(request);
+
+		assertEquals(2, testPlan.getRoots().size());
+		assertEquals(2, testPlan.countTestIdentifiers(TestIdentifier::isTest));
+	}
+
+	@Test
+	void executesAllIncludedEnginesWithSerializedListenerCallbacks() {
+		SummaryGeneratingListener summaryListener = new SummaryGeneratingListener();
+		ConcurrencyDetectingListener concurrencyListener = new ConcurrencyDetectingListener();
+
+		ConcurrentEngineLauncher.create().execute(request, summaryListener, concurrencyListener);
+
+		TestExecutionSummary summary = summaryListener.getSummary();
+		assertEquals(2, summary.getTestsSucceededCount());
+		assertEquals(0, summary.getTotalFailureCount());
+		assertFalse(concurrencyListener.overlapDetected.get());
+	}
+
+	@Test
+	void discoversAndExecutesEnginesConcurrently() {
+		CyclicBarrier discoveryBarrier = new CyclicBarrier(2);
+		CyclicBarrier executionBarrier = new CyclicBarrier(2);
+		BarrierEngine first = new BarrierEngine("first", discoveryBarrier, executionBarrier);
+		BarrierEngine second = new BarrierEngine("second", discoveryBarrier, executionBarrier);
+		LauncherDiscoveryRequest request = LauncherDiscoveryRequestBuilder.request().build();
+		SummaryGeneratingListener summaryListener = new SummaryGeneratingListener();
+		ConcurrencyDetectingListener concurrencyListener = new ConcurrencyDetectingListener();
+
+		ConcurrentEngineLauncher.create(first, second).execute(request, summaryListener, concurrencyListener);
+
+		TestExecutionSummary summary = summaryListener.getSummary();
+		assertEquals(2, summary.getContainersSucceededCount());
+		assertEquals(0, summary.getTotalFailureCount());
+		assertTrue(first.passedExecutionBarrier && second.passedExecutionBarrier);
+		assertFalse(concurrencyListener.overlapDetected.get());
+	}
+
+	/**
+	 * Engine that can only complete discovery and execution while the other
+	 * engine sharing its barriers is in the same phase; otherwise the
+	 * barrier times out and the launcher leaves the engine out.
+	 */
+	static class BarrierEngine implements TestEngine {
+
+		private final String id;
+
+		private final CyclicBarrier discoveryBarrier;
+
+		private final CyclicBarrier executionBarrier;
+
+		volatile boolean passedExecutionBarrier;
+
+		BarrierEngine(String id, CyclicBarrier discoveryBarrier, CyclicBarrier executionBarrier) {
+			this.id = id;
+			this.discoveryBarrier = discoveryBarrier;
+			this.executionBarrier = executionBarrier;
+		}
+
+		@Override
+		public String getId() {
+			return this.id;
+		}
+
+		@Override
+		public TestDescriptor discover(EngineDiscoveryRequest discoveryRequest, UniqueId uniqueId) {
+			await(this.discoveryBarrier);
+			return new EngineDescriptor(uniqueId, this.id);
+		}
+
+		@Override
+		public void execute(ExecutionRequest request) {
+			TestDescriptor root = request.getRootTestDescriptor();
+			request.getEngineExecutionListener().executionStarted(root);
+			await(this.executionBarrier);
+			this.passedExecutionBarrier = true;
+			request.getEngineExecutionListener().executionFinished(root, TestExecutionResult.successful());
+		}
+
+		private static void await(CyclicBarrier barrier) {
+			try {
+				barrier.await(10, TimeUnit.SECONDS);
+			}
+			catch (Exception e) {
+				throw new IllegalStateException("Engines did not run concurrently", e);
+			}
+		}
+
+	}
+
+	static class ConcurrencyDetectingListener implements TestExecutionListener {
+
+		final AtomicInteger activeCallbacks = new AtomicInteger();
+
+		final AtomicBoolean overlapDetected = new AtomicBoolean();
+
+		@Override
+		public void executionStarted(TestIdentifier testIdentifier) {
+			enterAndLeave();
+		}
+
+		@Override
+		public void executionFinished(TestIdentifier testIdentifier, TestExecutionResult testExecutionResult) {
+			enterAndLeave();
+		}
+
+		private void enterAndLeave() {
+			if (activeCallbacks.incrementAndGet() > 1) {
+				overlapDetected.set(true);
+			}
+			Thread.yield();
+			activeCallbacks.decrementAndGet();
+		}
+
+	}
+
+}
@@ -0,0 +1,264 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package example.launcher;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.Map;
+
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.TestSource;
+import org.junit.platform.engine.reporting.ReportEntry;
+import org.junit.platform.engine.support.descriptor.ClassSource;
+import org.junit.platform.engine.support.descriptor.MethodSource;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+
+/**
+ * {@link TestExecutionListener} that appends every execution event as a
+ * single line of JSON to an event log file.
+ *
+ * <p>In contrast to reports that are built per test class, this listener
+ * keeps no state about tests that have already been reported: records are
+ * encoded into a fixed-size buffer that is written to a {@link FileChannel}
+ * whenever it is full. Memory consumption is therefore independent of the
+ * number of executed tests.
+ *
+ * <p>Use {@link EventLogXmlConverter} to turn an event log into XML reports
+ * in the legacy format.
+ *
+ * @since 5.3
+ */
+public class EventLogListener implements TestExecutionListener {
+
+	private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+	private final Path eventLogFile;
+
+	private final ByteBuffer buffer;
+
+	private FileChannel channel;
+
+	public EventLogListener(Path eventLogFile) {
+		this(eventLogFile, DEFAULT_BUFFER_SIZE);
+	}
+
+	public EventLogListener(Path eventLogFile, int bufferSize) {
+		this.eventLogFile = eventLogFile;
+		this.buffer = ByteBuffer.allocateDirect(bufferSize);
+	}
+
+	@Override
+	public synchronized void testPlanExecutionStarted(TestPlan testPlan) {
+		try {
+			this.channel = FileChannel.open(this.eventLogFile, CREATE, TRUNCATE_EXISTING, WRITE);
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException("Failed to open event log " + this.eventLogFile, e);
+		}
+		append(record("planStarted"));
+		testPlan.getRoots().forEach(root -> writeRegistrations(testPlan, root));
+	}
+
+	@Override
+	public synchronized void testPlanExecutionFinished(TestPlan testPlan) {
+		append(record("planFinished"));
+		try {
+			flush();
+			this.channel.close();
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException("Failed to close event log " + this.eventLogFile, e);
+		}
+	}
+
+	@Override
+	public synchronized void dynamicTestRegistered(TestIdentifier testIdentifier) {
+		append(registration("dynamicTestRegistered", testIdentifier));
+	}
+
+	@Override
+	public synchronized void executionSkipped(TestIdentifier testIdentifier, String reason) {
+		append(record("skipped", testIdentifier).field("reason", reason));
+	}
+
+	@Override
+	public synchronized void executionStarted(TestIdentifier testIdentifier) {
+		append(record("started", testIdentifier));
+	}
+
+	@Override
+	public synchronized void executionFinished(TestIdentifier testIdentifier, TestExecutionResult result) {
+		Record record = record("finished", testIdentifier).field("status", result.getStatus().name());
+		result.getThrowable().ifPresent(throwable -> record //
+				.field("throwableClass", throwable.getClass().getName()) //
+				.field("throwableMessage", throwable.getMessage()) //
+				.field("stackTrace", readStackTrace(throwable)));
+		append(record);
+	}
+
+	@Override
+	public synchronized void reportingEntryPublished(TestIdentifier testIdentifier, ReportEntry entry) {
+		Record record = record("reportingEntry", testIdentifier);
+		for (Map.Entry<String, String> keyValuePair : entry.getKeyValuePairs().entrySet()) {
+			record.field("entry." + keyValuePair.getKey(), keyValuePair.getValue());
+		}
+		append(record);
+	}
+
+	private void writeRegistrations(TestPlan testPlan, TestIdentifier testIdentifier) {
+		append(registration("registered", testIdentifier));
+		testPlan.getChildren(testIdentifier).forEach(child -> writeRegistrations(testPlan, child));
+	}
+
+	private Record registration(String event, TestIdentifier testIdentifier) {
+		Record record = record(event, testIdentifier) //
+				.field("parentId", testIdentifier.getParentId().orElse(null)) //
+				.field("displayName", testIdentifier.getDisplayName()) //
+				.field("legacyReportingName", testIdentifier.getLegacyReportingName()) //
+				.field("type", testIdentifier.getType().name());
+		testIdentifier.getSource().ifPresent(source -> record.field("className", getClassName(source)));
+		return record;
+	}
+
+	private static String getClassName(TestSource source) {
+		if (source instanceof MethodSource) {
+			return ((MethodSource) source).getClassName();
+		}
+		if (source instanceof ClassSource) {
+			return ((ClassSource) source).getClassName();
+		}
+		return null;
+	}
+
+	private static String readStackTrace(Throwable throwable) {
+		StringWriter stringWriter = new StringWriter();
+		throwable.printStackTrace(new PrintWriter(stringWriter));
+		return stringWriter.toString();
+	}
+
+	private static Record record(String event) {
+		return new Record(event);
+	}
+
+	private static Record record(String event, TestIdentifier testIdentifier) {
+		return new Record(event).field("id", testIdentifier.getUniqueId());
+	}
+
+	private void append(Record record) {
+		byte[] bytes = record.toJson().getBytes(UTF_8);
+		try {
+			if (bytes.length > this.buffer.remaining()) {
+				flush();
+			}
+			if (bytes.length > this.buffer.capacity()) {
+				writeFully(ByteBuffer.wrap(bytes));
+			}
+			else {
+				this.buffer.put(bytes);
+			}
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException("Failed to write to event log " + this.eventLogFile, e);
+		}
+	}
+
+	private void flush() throws IOException {
+		this.buffer.flip();
+		writeFully(this.buffer);
+		this.buffer.clear();
+	}
+
+	private void writeFully(ByteBuffer source) throws IOException {
+		while (source.hasRemaining()) {
+			this.channel.write(source);
+		}
+	}
+
+	/**
+	 * A single event log record that is encoded as one line of JSON.
+	 */
+	private static class Record {
+
+		private final StringBuilder json = new StringBuilder(128);
+
+		Record(String event) {
+			this.json.append('{');
+			appendField("event", event);
+			appendField("timestamp", String.valueOf(System.currentTimeMillis()));
+		}
+
+		Record field(String name, String value) {
+			if (value != null) {
+				appendField(name, value);
+			}
+			return this;
+		}
+
+		String toJson() {
+			return this.json.append("}\n").toString();
+		}
+
+		private void appendField(String name, String value) {
+			if (this.json.length() > 1) {
+				this.json.append(',');
+			}
+			appendString(name);
+			this.json.append(':');
+			appendString(value);
+		}
+
+		private void appendString(String value) {
+			this.json.append('"');
+			for (int i = 0; i < value.length(); i++) {
+				char c = value.charAt(i);
+				switch (c) {
+					case '"':
+						this.json.append("\\\"");
+						break;
+					case '\\':
+						this.json.append("\\\\");
+						break;
+					case '\n':
+						this.json.append("\\n");
+						break;
+					case '\r':
+						this.json.append("\\r");
+						break;
+					case '\t':
+						this.json.append("\\t");
+						break;
+					default:
+						if (c < 0x20) {
+							this.json.append(String.format("\\u%04x", (int) c));
+						}
+						else {
+							this.json.append(c);
+						}
+				}
+			}
+			this.json.append('"');
+		}
+
+	}
+
+}
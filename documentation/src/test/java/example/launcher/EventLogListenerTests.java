@@ -0,0 +1,174 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package example.launcher;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.launcher.LauncherDiscoveryRequest;
+import org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder;
+import org.junit.platform.launcher.core.LauncherFactory;
+
+/**
+ * Tests for {@link EventLogListener} and {@link EventLogXmlConverter}.
+ *
+ * @since 5.3
+ */
+class EventLogListenerTests {
+
+	private final Path tempDir = createTempDirectory();
+
+	@AfterEach
+	void deleteTempDir() throws IOException {
+		try (Stream<Path> paths = Files.walk(tempDir)) {
+			for (Path path : paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+				Files.delete(path);
+			}
+		}
+	}
+
+	@Test
+	void writesOneRecordPerEventAcrossMultipleFlushes() throws Exception {
+		Path eventLog = execute(SampleTestCase.class, 256);
+
+		List<String> lines = Files.readAllLines(eventLog, UTF_8);
+		assertEquals("planStarted", EventLogXmlConverter.parseRecord(lines.get(0)).get("event"));
+		assertEquals("planFinished", EventLogXmlConverter.parseRecord(lines.get(lines.size() - 1)).get("event"));
+		assertEquals(1, lines.stream().map(EventLogXmlConverter::parseRecord) //
+				.filter(record -> "FAILED".equals(record.get("status"))) //
+				.filter(record -> record.get("stackTrace").contains("\n")) //
+				.count());
+	}
+
+	@Test
+	void convertsEventLogToLegacyXmlReport() throws Exception {
+		Path eventLog = execute(SampleTestCase.class, 64 * 1024);
+		Path reportsDir = tempDir.resolve("reports");
+
+		new EventLogXmlConverter().convert(eventLog, reportsDir);
+
+		Path report = reportsDir.resolve("TEST-" + SampleTestCase.class.getName() + ".xml");
+		String xml = new String(Files.readAllBytes(report), UTF_8);
+		assertTrue(xml.contains("tests=\"3\" skipped=\"1\" failures=\"1\" errors=\"0\""), xml);
+		assertTrue(xml.contains("<testcase name=\"succeedingTest()\""), xml);
+		assertTrue(xml.contains("<skipped message=\"for demonstration purposes\">"), xml);
+	}
+
+	@Test
+	void reportsFailureOfContainerForTestsThatWereNotExecuted() throws Exception {
+		Path eventLog = execute(FailingBeforeAllTestCase.class, 64 * 1024);
+		Path reportsDir = tempDir.resolve("reports");
+
+		new EventLogXmlConverter().convert(eventLog, reportsDir);
+
+		Path report = reportsDir.resolve("TEST-" + FailingBeforeAllTestCase.class.getName() + ".xml");
+		String xml = new String(Files.readAllBytes(report), UTF_8);
+		assertTrue(xml.contains("tests=\"2\" skipped=\"0\" failures=\"2\" errors=\"0\""), xml);
+		assertEquals(2, xml.split("<failure message=\"setup failed\" type=\"org.opentest4j.AssertionFailedError\">",
+			-1).length - 1, xml);
+	}
+
+	@Test
+	void reportsUnfinishedTestsOfTruncatedEventLogAsErrors() throws Exception {
+		Path eventLog = execute(SampleTestCase.class, 64 * 1024);
+		List<String> lines = Files.readAllLines(eventLog, UTF_8);
+		int crash = IntStream.range(0, lines.size()) //
+				.filter(i -> {
+					Map<String, String> record = EventLogXmlConverter.parseRecord(lines.get(i));
+					return "started".equals(record.get("event")) && record.get("id").contains("succeedingTest");
+				}) //
+				.findFirst() //
+				.getAsInt();
+		Files.write(eventLog, lines.subList(0, crash + 1), UTF_8);
+		Path reportsDir = tempDir.resolve("reports");
+
+		new EventLogXmlConverter().convert(eventLog, reportsDir);
+
+		Path report = reportsDir.resolve("TEST-" + SampleTestCase.class.getName() + ".xml");
+		String xml = new String(Files.readAllBytes(report), UTF_8);
+		assertTrue(Pattern.compile("name=\"succeedingTest\\(\\)\".*<error message=\"Test did not finish\"").matcher(
+			xml).find(), xml);
+		assertFalse(Pattern.compile("<testcase [^>]*>(</testcase>|$)", Pattern.MULTILINE).matcher(xml).find(), xml);
+	}
+
+	private Path execute(Class<?> testClass, int bufferSize) {
+		Path eventLog = tempDir.resolve("events.jsonl");
+		LauncherDiscoveryRequest request = LauncherDiscoveryRequestBuilder.request() //
+				.selectors(selectClass(testClass)) //
+				.build();
+		LauncherFactory.create().execute(request, new EventLogListener(eventLog, bufferSize));
+		return eventLog;
+	}
+
+	private static Path createTempDirectory() {
+		try {
+			return Files.createTempDirectory("event-log");
+		}
+		catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	static class SampleTestCase {
+
+		@Test
+		void succeedingTest() {
+		}
+
+		@Test
+		void failingTest() {
+			fail("expected failure");
+		}
+
+		@Test
+		@Disabled("for demonstration purposes")
+		void skippedTest() {
+		}
+
+	}
+
+	static class FailingBeforeAllTestCase {
+
+		@BeforeAll
+		static void setUp() {
+			fail("setup failed");
+		}
+
+		@Test
+		void firstTest() {
+		}
+
+		@Test
+		void secondTest() {
+		}
+
+	}
+
+}
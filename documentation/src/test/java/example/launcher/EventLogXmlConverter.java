@@ -0,0 +1,351 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package example.launcher;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+/**
+ * Offline converter that turns an event log written by
+ * {@link EventLogListener} into one XML report per test class in the legacy
+ * format that is also used by the {@code ConsoleLauncher}.
+ *
+ * <p>As in the reports of Ant and Surefire, a test that was not executed
+ * because its container failed, e.g. in a {@code @BeforeAll} method, is
+ * reported with the failure of that container. A test that has not
+ * finished, e.g. because the test run crashed, is reported as an error.
+ *
+ * <p>Usage: {@code EventLogXmlConverter <event log file> <reports dir>}
+ *
+ * @since 5.3
+ */
+public class EventLogXmlConverter {
+
+	public static void main(String... args) throws Exception {
+		if (args.length != 2) {
+			System.err.println("Usage: EventLogXmlConverter <event log file> <reports dir>");
+			System.exit(1);
+		}
+		new EventLogXmlConverter().convert(Paths.get(args[0]), Paths.get(args[1]));
+	}
+
+	private final Map<String, Node> nodes = new HashMap<>();
+
+	/**
+	 * Convert the supplied event log and write the XML reports to the
+	 * supplied directory.
+	 */
+	public void convert(Path eventLogFile, Path reportsDir) throws IOException, XMLStreamException {
+		try (BufferedReader reader = Files.newBufferedReader(eventLogFile, UTF_8)) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				if (!line.isEmpty()) {
+					apply(parseRecord(line));
+				}
+			}
+		}
+		Files.createDirectories(reportsDir);
+		for (Map.Entry<String, List<Node>> entry : groupTestsByClassName().entrySet()) {
+			Path reportFile = reportsDir.resolve("TEST-" + entry.getKey() + ".xml");
+			try (Writer writer = Files.newBufferedWriter(reportFile, UTF_8)) {
+				writeTestSuite(entry.getKey(), entry.getValue(), writer);
+			}
+		}
+	}
+
+	private void apply(Map<String, String> record) {
+		String event = record.get("event");
+		String id = record.get("id");
+		switch (event) {
+			case "registered":
+			case "dynamicTestRegistered":
+				this.nodes.put(id, new Node(record, this.nodes.size()));
+				break;
+			case "skipped":
+				this.nodes.get(id).skippedReason = record.get("reason");
+				break;
+			case "started":
+				this.nodes.get(id).start(record);
+				break;
+			case "finished":
+				this.nodes.get(id).finish(record);
+				break;
+			default:
+				// plan and reporting entry events are not part of the legacy report
+		}
+	}
+
+	private Map<String, List<Node>> groupTestsByClassName() {
+		Map<String, List<Node>> testsByClassName = new LinkedHashMap<>();
+		this.nodes.values().stream() //
+				.filter(node -> node.type.contains("TEST")) //
+				.sorted((a, b) -> Long.compare(a.order, b.order)) //
+				.forEach(node -> {
+					String className = findInHierarchy(node, n -> n.className);
+					if (className != null) {
+						testsByClassName.computeIfAbsent(className, key -> new ArrayList<>()).add(node);
+					}
+				});
+		return testsByClassName;
+	}
+
+	private void writeTestSuite(String className, List<Node> tests, Writer out) throws XMLStreamException {
+		long skipped = tests.stream().filter(test -> "skipped".equals(getOutcome(test))).count();
+		long failures = tests.stream().filter(test -> "failure".equals(getOutcome(test))).count();
+		long errors = tests.stream().filter(test -> "error".equals(getOutcome(test))).count();
+		long time = tests.stream().mapToLong(Node::getDuration).sum();
+
+		XMLStreamWriter xml = XMLOutputFactory.newFactory().createXMLStreamWriter(out);
+		xml.writeStartDocument("UTF-8", "1.0");
+		xml.writeCharacters("\n");
+		xml.writeStartElement("testsuite");
+		xml.writeAttribute("name", className);
+		xml.writeAttribute("tests", String.valueOf(tests.size()));
+		xml.writeAttribute("skipped", String.valueOf(skipped));
+		xml.writeAttribute("failures", String.valueOf(failures));
+		xml.writeAttribute("errors", String.valueOf(errors));
+		xml.writeAttribute("time", formatSeconds(time));
+		xml.writeCharacters("\n");
+		for (Node test : tests) {
+			writeTestCase(className, test, xml);
+		}
+		xml.writeEndElement();
+		xml.writeCharacters("\n");
+		xml.writeEndDocument();
+		xml.close();
+	}
+
+	private void writeTestCase(String className, Node test, XMLStreamWriter xml) throws XMLStreamException {
+		xml.writeStartElement("testcase");
+		xml.writeAttribute("name", test.legacyReportingName);
+		xml.writeAttribute("classname", className);
+		xml.writeAttribute("time", formatSeconds(test.getDuration()));
+		String outcome = getOutcome(test);
+		if (outcome != null) {
+			xml.writeStartElement(outcome);
+			Node result = findResult(test);
+			String message;
+			if ("skipped".equals(outcome)) {
+				message = findInHierarchy(test, n -> n.skippedReason);
+			}
+			else if (result != null) {
+				message = result.throwableMessage;
+			}
+			else {
+				message = test.started ? "Test did not finish" : "Test was not executed";
+			}
+			if (message != null) {
+				xml.writeAttribute("message", message);
+			}
+			if (result != null && result.throwableClass != null && !"skipped".equals(outcome)) {
+				xml.writeAttribute("type", result.throwableClass);
+			}
+			if (result != null && result.stackTrace != null) {
+				xml.writeCData(result.stackTrace);
+			}
+			xml.writeEndElement();
+		}
+		xml.writeEndElement();
+		xml.writeCharacters("\n");
+	}
+
+	private String getOutcome(Node test) {
+		if (test.status == null && findInHierarchy(test, n -> n.skippedReason) != null) {
+			return "skipped";
+		}
+		Node result = findResult(test);
+		if (result == null) {
+			return "error";
+		}
+		switch (result.status) {
+			case "ABORTED":
+				return "skipped";
+			case "FAILED":
+				return result.throwableClass != null && isAssertionError(result.throwableClass) ? "failure" : "error";
+			default:
+				return null;
+		}
+	}
+
+	/**
+	 * Find the node whose result applies to the supplied test: the test
+	 * itself if it has finished, or else its closest ancestor that failed or
+	 * was aborted, which prevented the test from being executed.
+	 */
+	private Node findResult(Node test) {
+		if (test.status != null) {
+			return test;
+		}
+		return findInHierarchy(this.nodes.get(test.parentId),
+			n -> "FAILED".equals(n.status) || "ABORTED".equals(n.status) ? n : null);
+	}
+
+	private static boolean isAssertionError(String className) {
+		try {
+			return AssertionError.class.isAssignableFrom(Class.forName(className));
+		}
+		catch (ClassNotFoundException | LinkageError e) {
+			return className.endsWith("AssertionFailedError") || className.endsWith("AssertionError");
+		}
+	}
+
+	private <T> T findInHierarchy(Node node, Function<Node, T> property) {
+		for (Node current = node; current != null; current = this.nodes.get(current.parentId)) {
+			T value = property.apply(current);
+			if (value != null) {
+				return value;
+			}
+		}
+		return null;
+	}
+
+	private static String formatSeconds(long millis) {
+		return String.format("%d.%03d", millis / 1000, millis % 1000);
+	}
+
+	/**
+	 * Parse a single record written by {@link EventLogListener}: a flat JSON
+	 * object whose values are all strings.
+	 */
+	static Map<String, String> parseRecord(String json) {
+		Map<String, String> record = new HashMap<>();
+		int[] position = { json.indexOf('{') + 1 };
+		while (true) {
+			skipToNextToken(json, position);
+			if (json.charAt(position[0]) == '}') {
+				return record;
+			}
+			String name = parseString(json, position);
+			skipToNextToken(json, position);
+			position[0]++; // ':'
+			skipToNextToken(json, position);
+			record.put(name, parseString(json, position));
+			skipToNextToken(json, position);
+			if (json.charAt(position[0]) == ',') {
+				position[0]++;
+			}
+		}
+	}
+
+	private static void skipToNextToken(String json, int[] position) {
+		while (Character.isWhitespace(json.charAt(position[0]))) {
+			position[0]++;
+		}
+	}
+
+	private static String parseString(String json, int[] position) {
+		StringBuilder value = new StringBuilder();
+		int i = position[0] + 1; // opening quote
+		while (true) {
+			char c = json.charAt(i++);
+			if (c == '"') {
+				break;
+			}
+			if (c == '\\') {
+				char escaped = json.charAt(i++);
+				switch (escaped) {
+					case 'n':
+						value.append('\n');
+						break;
+					case 'r':
+						value.append('\r');
+						break;
+					case 't':
+						value.append('\t');
+						break;
+					case 'u':
+						value.append((char) Integer.parseInt(json.substring(i, i + 4), 16));
+						i += 4;
+						break;
+					default:
+						value.append(escaped);
+				}
+			}
+			else {
+				value.append(c);
+			}
+		}
+		position[0] = i;
+		return value.toString();
+	}
+
+	private static class Node {
+
+		final long order;
+
+		final String parentId;
+
+		final String legacyReportingName;
+
+		final String type;
+
+		final String className;
+
+		String skippedReason;
+
+		boolean started;
+
+		long startTime;
+
+		long endTime;
+
+		String status;
+
+		String throwableClass;
+
+		String throwableMessage;
+
+		String stackTrace;
+
+		Node(Map<String, String> record, long order) {
+			this.order = order;
+			this.parentId = record.get("parentId");
+			this.legacyReportingName = record.get("legacyReportingName");
+			this.type = record.get("type");
+			this.className = record.get("className");
+		}
+
+		void start(Map<String, String> record) {
+			this.started = true;
+			this.startTime = Long.parseLong(record.get("timestamp"));
+		}
+
+		void finish(Map<String, String> record) {
+			this.endTime = Long.parseLong(record.get("timestamp"));
+			this.status = record.get("status");
+			this.throwableClass = record.get("throwableClass");
+			this.throwableMessage = record.get("throwableMessage");
+			this.stackTrace = record.get("stackTrace");
+		}
+
+		long getDuration() {
+			return this.status == null ? 0 : this.endTime - this.startTime;
+		}
+
+	}
+
+}
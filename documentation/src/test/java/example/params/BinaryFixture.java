@@ -0,0 +1,233 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package example.params;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import org.junit.platform.commons.JUnitException;
+
+/**
+ * Read-only view of a typed, columnar binary fixture file.
+ *
+ * <p>The file starts with a header that lists the type and the offset of
+ * each column, followed by the columns themselves. Fixed-width columns
+ * store one value per row, so the value of any row is read directly at
+ * {@code offset + row * width}. {@code STRING} columns store a start and a
+ * length per row followed by the UTF-8 bytes of all values; a length of
+ * {@code -1} denotes {@code null}.
+ *
+ * <pre>
+ * int    magic ("JFX1")
+ * long   row count
+ * int    column count
+ * (byte type, long offset, long blob offset) per column
+ * column data...
+ * </pre>
+ *
+ * <p>The header is validated when a fixture is opened, so a truncated,
+ * corrupt or foreign file is rejected with a descriptive error. The
+ * {@code 1} in the magic number is the format version.
+ *
+ * <p>The whole file is memory-mapped, so a single fixture file must not
+ * exceed 2 GB; larger fixtures should be split into several files.
+ *
+ * @since 5.3
+ * @see CsvToBinaryFixtureConverter
+ */
+class BinaryFixture {
+
+	static final int MAGIC = 0x4A46_5831;
+
+	static final int HEADER_SIZE = 16;
+
+	static final int COLUMN_HEADER_SIZE = 17;
+
+	/**
+	 * Supported column types.
+	 */
+	enum ColumnType {
+
+		STRING(8), INT(4), LONG(8), DOUBLE(8), BOOLEAN(1), LOCAL_DATE(8);
+
+		final int width;
+
+		ColumnType(int width) {
+			this.width = width;
+		}
+
+	}
+
+	static BinaryFixture open(Path file) {
+		try (FileChannel channel = FileChannel.open(file)) {
+			if (channel.size() > Integer.MAX_VALUE) {
+				throw new JUnitException("Binary fixture " + file + " is larger than 2 GB");
+			}
+			return new BinaryFixture(file, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException("Failed to open binary fixture " + file, e);
+		}
+	}
+
+	private final ByteBuffer buffer;
+
+	private final long rowCount;
+
+	private final ColumnType[] types;
+
+	private final int[] offsets;
+
+	private final int[] blobOffsets;
+
+	private BinaryFixture(Path file, ByteBuffer buffer) {
+		this.buffer = buffer;
+		int size = buffer.limit();
+		if (size < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+			throw new JUnitException(file + " is not a binary fixture file");
+		}
+		this.rowCount = buffer.getLong(4);
+		int columnCount = buffer.getInt(12);
+		if (this.rowCount < 0 || columnCount < 0 || columnCount > (size - HEADER_SIZE) / COLUMN_HEADER_SIZE) {
+			throw corrupt(file, String.format("invalid row count %d or column count %d", this.rowCount, columnCount));
+		}
+		ColumnType[] columnTypes = ColumnType.values();
+		this.types = new ColumnType[columnCount];
+		this.offsets = new int[columnCount];
+		this.blobOffsets = new int[columnCount];
+		for (int column = 0; column < columnCount; column++) {
+			int position = HEADER_SIZE + column * COLUMN_HEADER_SIZE;
+			int type = buffer.get(position);
+			if (type < 0 || type >= columnTypes.length) {
+				throw corrupt(file, "unknown type " + type + " of column " + column);
+			}
+			this.types[column] = columnTypes[type];
+			long offset = buffer.getLong(position + 1);
+			long blobOffset = buffer.getLong(position + 9);
+			if (offset < 0 || offset > size || this.rowCount > (size - offset) / this.types[column].width
+					|| blobOffset < 0 || blobOffset > size) {
+				throw corrupt(file, "data of column " + column + " exceeds the file");
+			}
+			this.offsets[column] = (int) offset;
+			this.blobOffsets[column] = (int) blobOffset;
+		}
+	}
+
+	private static JUnitException corrupt(Path file, String detail) {
+		return new JUnitException("Binary fixture " + file + " is corrupt: " + detail);
+	}
+
+	long getRowCount() {
+		return this.rowCount;
+	}
+
+	int getColumnCount() {
+		return this.types.length;
+	}
+
+	ColumnType getColumnType(int column) {
+		return this.types[column];
+	}
+
+	int getInt(long row, int column) {
+		return this.buffer.getInt(position(row, column, ColumnType.INT));
+	}
+
+	long getLong(long row, int column) {
+		return this.buffer.getLong(position(row, column, ColumnType.LONG));
+	}
+
+	double getDouble(long row, int column) {
+		return this.buffer.getDouble(position(row, column, ColumnType.DOUBLE));
+	}
+
+	boolean getBoolean(long row, int column) {
+		return this.buffer.get(position(row, column, ColumnType.BOOLEAN)) != 0;
+	}
+
+	LocalDate getLocalDate(long row, int column) {
+		return LocalDate.ofEpochDay(this.buffer.getLong(position(row, column, ColumnType.LOCAL_DATE)));
+	}
+
+	String getString(long row, int column) {
+		int position = position(row, column, ColumnType.STRING);
+		int length = this.buffer.getInt(position + 4);
+		if (length < 0) {
+			return null;
+		}
+		ByteBuffer value = this.buffer.duplicate();
+		value.position(this.blobOffsets[column] + this.buffer.getInt(position));
+		value.limit(value.position() + length);
+		return UTF_8.decode(value).toString();
+	}
+
+	/**
+	 * Get the typed value of the supplied cell.
+	 */
+	Object get(long row, int column) {
+		switch (this.types[column]) {
+			case INT:
+				return getInt(row, column);
+			case LONG:
+				return getLong(row, column);
+			case DOUBLE:
+				return getDouble(row, column);
+			case BOOLEAN:
+				return getBoolean(row, column);
+			case LOCAL_DATE:
+				return getLocalDate(row, column);
+			default:
+				return getString(row, column);
+		}
+	}
+
+	/**
+	 * Get all typed values of the supplied row.
+	 */
+	Object[] getRow(long row) {
+		Object[] values = new Object[this.types.length];
+		for (int column = 0; column < values.length; column++) {
+			values[column] = get(row, column);
+		}
+		return values;
+	}
+
+	/**
+	 * Stream the rows in the supplied range; each row is only read when the
+	 * stream requests it.
+	 *
+	 * @param fromRow the first row to read, inclusive
+	 * @param toRow the last row to read, exclusive
+	 */
+	Stream<Object[]> rows(long fromRow, long toRow) {
+		return LongStream.range(Math.max(0, fromRow), Math.min(toRow, this.rowCount)).mapToObj(this::getRow);
+	}
+
+	private int position(long row, int column, ColumnType expectedType) {
+		if (this.types[column] != expectedType) {
+			throw new JUnitException(
+				String.format("Column %d is of type %s, not %s", column, this.types[column], expectedType));
+		}
+		if (row < 0 || row >= this.rowCount) {
+			throw new IndexOutOfBoundsException("Row " + row + " of " + this.rowCount);
+		}
+		return (int) (this.offsets[column] + row * expectedType.width);
+	}
+
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package example.params;
+
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.ArgumentsProvider;
+import org.junit.jupiter.params.support.AnnotationConsumer;
+
+/**
+ * {@link ArgumentsProvider} for {@link BinaryFixtureSource @BinaryFixtureSource}.
+ *
+ * @since 5.3
+ */
+class BinaryFixtureArgumentsProvider implements ArgumentsProvider, AnnotationConsumer<BinaryFixtureSource> {
+
+	static final String SHARD_COUNT_PROPERTY_NAME = "binary-fixture.shard.count";
+
+	static final String SHARD_INDEX_PROPERTY_NAME = "binary-fixture.shard.index";
+
+	private BinaryFixtureSource annotation;
+
+	@Override
+	public void accept(BinaryFixtureSource annotation) {
+		this.annotation = annotation;
+	}
+
+	@Override
+	public Stream<? extends Arguments> provideArguments(ExtensionContext context) {
+		Shard shard = Shard.fromConfiguration(context, SHARD_COUNT_PROPERTY_NAME, SHARD_INDEX_PROPERTY_NAME);
+
+		Stream<Arguments> arguments = FixtureFiles.resolve(context, this.annotation.files(),
+			this.annotation.resources()).stream() //
+				.map(BinaryFixture::open) //
+				.flatMap(fixture -> {
+					long from = Math.min(this.annotation.fromRow(), fixture.getRowCount());
+					long rows = Math.max(0, Math.min(this.annotation.toRow(), fixture.getRowCount()) - from);
+					return fixture.rows(from + shard.from(rows), from + shard.to(rows));
+				}) //
+				.map(Arguments::of);
+		return Sampling.apply(context, arguments);
+	}
+
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package example.params;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.junit.jupiter.params.provider.ArgumentsSource;
+
+/**
+ * Provides the rows of typed, columnar binary fixture files as arguments.
+ *
+ * <p>Unlike CSV sources, values are stored as {@code int}, {@code long},
+ * {@code double}, {@code boolean}, {@link java.time.LocalDate} or
+ * {@code String} and are read without any parsing. Fixture files are
+ * created from CSV files via {@link CsvToBinaryFixtureConverter}.
+ *
+ * <p>Since every row can be accessed by its index, {@link #fromRow} and
+ * {@link #toRow} select a range of rows without reading the preceding ones,
+ * and the {@value BinaryFixtureArgumentsProvider#SHARD_COUNT_PROPERTY_NAME}
+ * and {@value BinaryFixtureArgumentsProvider#SHARD_INDEX_PROPERTY_NAME}
+ * configuration parameters split that range across several test runs.
+ *
+ * @since 5.3
+ * @see BinaryFixtureArgumentsProvider
+ */
+@Target({ ElementType.ANNOTATION_TYPE, ElementType.METHOD })
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@ArgumentsSource(BinaryFixtureArgumentsProvider.class)
+public @interface BinaryFixtureSource {
+
+	/**
+	 * The fixture files to use, relative to the current working directory.
+	 */
+	String[] files() default {};
+
+	/**
+	 * The fixture classpath resources to use; they must not be packaged in
+	 * a JAR.
+	 */
+	String[] resources() default {};
+
+	/**
+	 * The index of the first row of each file to use, inclusive.
+	 */
+	long fromRow() default 0;
+
+	/**
+	 * The index of the last row of each file to use, exclusive.
+	 */
+	long toRow() default Long.MAX_VALUE;
+
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package example.params;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.toList;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import example.params.BinaryFixture.ColumnType;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.platform.commons.JUnitException;
+
+/**
+ * Tests for {@link BinaryFixtureSource}, {@link BinaryFixture} and
+ * {@link CsvToBinaryFixtureConverter}.
+ *
+ * @since 5.3
+ */
+class BinaryFixtureSourceTests {
+
+	private Path directory;
+
+	@BeforeEach
+	void createDirectory() throws IOException {
+		this.directory = Files.createTempDirectory("fixtures");
+	}
+
+	@AfterEach
+	void deleteDirectory() throws IOException {
+		try (Stream<Path> files = Files.list(this.directory)) {
+			for (Path file : files.collect(toList())) {
+				Files.delete(file);
+			}
+		}
+		Files.delete(this.directory);
+	}
+
+	@ParameterizedTest
+	@BinaryFixtureSource(resources = "/two-column.fixture")
+	void testWithBinaryFixtureSource(String country, int reference) {
+		assertNotNull(country);
+		assertEquals(reference == 3, country.equals("United States of America"));
+	}
+
+	@Test
+	void resourceIsUpToDate() throws Exception {
+		Path fixture = this.directory.resolve("two-column.fixture");
+
+		new CsvToBinaryFixtureConverter().convert(resource("/two-column.csv"), fixture, 1, ColumnType.STRING,
+			ColumnType.INT);
+
+		assertArrayEquals(Files.readAllBytes(fixture), Files.readAllBytes(resource("/two-column.fixture")));
+	}
+
+	@Test
+	void readsTypedColumnsByIndex() throws IOException {
+		Path csv = this.directory.resolve("people.csv");
+		Files.write(csv, String.join("\n", //
+			"name, born, id, score, active", //
+			"Jane, 1990-05-20, 10000000000, 0.5, true", //
+			", 1990-10-22, -1, 1.5, false", //
+			"'Zoë', 2000-01-01, 42, -3, true").getBytes(UTF_8));
+		Path fixtureFile = this.directory.resolve("people.fixture");
+
+		new CsvToBinaryFixtureConverter().convert(csv, fixtureFile, 1, ColumnType.STRING, ColumnType.LOCAL_DATE,
+			ColumnType.LONG, ColumnType.DOUBLE, ColumnType.BOOLEAN);
+		BinaryFixture fixture = BinaryFixture.open(fixtureFile);
+
+		assertEquals(3, fixture.getRowCount());
+		assertEquals(5, fixture.getColumnCount());
+		assertEquals("'Zoë'", fixture.getString(2, 0));
+		assertNull(fixture.getString(1, 0));
+		assertEquals(LocalDate.of(1990, 10, 22), fixture.getLocalDate(1, 1));
+		assertEquals(10_000_000_000L, fixture.getLong(0, 2));
+		assertEquals(-3.0, fixture.getDouble(2, 3));
+		assertEquals(false, fixture.getBoolean(1, 4));
+		assertArrayEquals(new Object[] { "Jane", LocalDate.of(1990, 5, 20), 10_000_000_000L, 0.5, true },
+			fixture.getRow(0));
+		assertThrows(JUnitException.class, () -> fixture.getInt(0, 2));
+	}
+
+	@Test
+	void streamsRangeOfRows() throws IOException {
+		Path csv = this.directory.resolve("numbers.csv");
+		Files.write(csv, "1\n2\n3\n4\n5\n".getBytes(UTF_8));
+		Path fixtureFile = this.directory.resolve("numbers.fixture");
+
+		new CsvToBinaryFixtureConverter().convert(csv, fixtureFile, 0, ColumnType.INT);
+		List<Object> values = BinaryFixture.open(fixtureFile).rows(1, 4).map(row -> row[0]).collect(toList());
+
+		assertEquals(List.of(2, 3, 4), values);
+	}
+
+	@Test
+	void rejectsUnknownColumnType() throws Exception {
+		Path fixtureFile = copyOfResource("/two-column.fixture");
+		byte[] bytes = Files.readAllBytes(fixtureFile);
+		bytes[BinaryFixture.HEADER_SIZE + BinaryFixture.COLUMN_HEADER_SIZE] = 42;
+		Files.write(fixtureFile, bytes);
+
+		JUnitException exception = assertThrows(JUnitException.class, () -> BinaryFixture.open(fixtureFile));
+
+		assertEquals("Binary fixture " + fixtureFile + " is corrupt: unknown type 42 of column 1",
+			exception.getMessage());
+	}
+
+	@Test
+	void rejectsTruncatedFile() throws Exception {
+		Path fixtureFile = copyOfResource("/two-column.fixture");
+		byte[] bytes = Files.readAllBytes(fixtureFile);
+		Files.write(fixtureFile, Arrays.copyOf(bytes, bytes.length / 2));
+
+		JUnitException exception = assertThrows(JUnitException.class, () -> BinaryFixture.open(fixtureFile));
+
+		assertEquals("Binary fixture " + fixtureFile + " is corrupt: data of column 0 exceeds the file",
+			exception.getMessage());
+	}
+
+	@Test
+	void rejectsFileWithoutHeader() throws IOException {
+		Path fixtureFile = this.directory.resolve("empty.fixture");
+		Files.write(fixtureFile, new byte[] { 'J', 'F' });
+
+		JUnitException exception = assertThrows(JUnitException.class, () -> BinaryFixture.open(fixtureFile));
+
+		assertEquals(fixtureFile + " is not a binary fixture file", exception.getMessage());
+	}
+
+	@Test
+	void rejectsValuesThatAreNotBooleans() throws IOException {
+		Path csv = this.directory.resolve("flags.csv");
+		Files.write(csv, "true\nFALSE\nyes\n".getBytes(UTF_8));
+		Path fixtureFile = this.directory.resolve("flags.fixture");
+
+		JUnitException exception = assertThrows(JUnitException.class,
+			() -> new CsvToBinaryFixtureConverter().convert(csv, fixtureFile, 0, ColumnType.BOOLEAN));
+
+		assertEquals("Not a boolean: yes", exception.getMessage());
+	}
+
+	private Path copyOfResource(String name) throws Exception {
+		Path copy = this.directory.resolve(name.substring(1));
+		Files.copy(resource(name), copy);
+		return copy;
+	}
+
+	private static Path resource(String name) throws URISyntaxException {
+		return Paths.get(BinaryFixtureSourceTests.class.getResource(name).toURI());
+	}
+
+}
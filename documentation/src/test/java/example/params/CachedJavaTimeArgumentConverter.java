@@ -0,0 +1,47 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package example.params;
+
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.params.converter.ArgumentConversionException;
+import org.junit.jupiter.params.converter.ArgumentConverter;
+import org.junit.jupiter.params.support.AnnotationConsumer;
+
+/**
+ * {@link ArgumentConverter} for
+ * {@link CachedJavaTimeConversionPattern @CachedJavaTimeConversionPattern}.
+ *
+ * @since 5.3
+ */
+class CachedJavaTimeArgumentConverter
+		implements ArgumentConverter, AnnotationConsumer<CachedJavaTimeConversionPattern> {
+
+	private String pattern;
+
+	@Override
+	public void accept(CachedJavaTimeConversionPattern annotation) {
+		this.pattern = annotation.value();
+	}
+
+	@Override
+	public Object convert(Object source, ParameterContext context) throws ArgumentConversionException {
+		if (source == null) {
+			return null;
+		}
+		if (!(source instanceof String)) {
+			throw new ArgumentConversionException(source + " is not a string");
+		}
+		Class<?> targetType = context.getParameter().getType();
+		return CachingArgumentConverter.convert(ConversionPlans.javaTimePlan(this.pattern, targetType), source,
+			targetType);
+	}
+
+}
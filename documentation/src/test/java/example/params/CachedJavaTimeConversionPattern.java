@@ -0,0 +1,41 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package example.params;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.junit.jupiter.params.converter.ConvertWith;
+
+/**
+ * Variant of {@code @JavaTimeConversionPattern} that compiles each pattern
+ * into a {@link java.time.format.DateTimeFormatter} only once instead of
+ * once per converted value.
+ *
+ * @since 5.3
+ */
+@Target({ ElementType.ANNOTATION_TYPE, ElementType.PARAMETER })
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@ConvertWith(CachedJavaTimeArgumentConverter.class)
+public @interface CachedJavaTimeConversionPattern {
+
+	/**
+	 * The date/time pattern to use.
+	 *
+	 * @see java.time.format.DateTimeFormatter#ofPattern(String)
+	 */
+	String value();
+
+}
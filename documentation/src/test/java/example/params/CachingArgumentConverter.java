@@ -0,0 +1,49 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package example.params;
+
+import org.junit.jupiter.params.converter.ArgumentConversionException;
+import org.junit.jupiter.params.converter.SimpleArgumentConverter;
+
+/**
+ * Explicit {@link org.junit.jupiter.params.converter.ArgumentConverter}
+ * that converts arguments via a cached factory method or constructor of
+ * the target type, e.g. {@code Book.fromTitle(String)}.
+ *
+ * <p>Usage: {@code @ConvertWith(CachingArgumentConverter.class) Book book}
+ *
+ * @since 5.3
+ * @see ConversionPlans#factoryPlan(Class, Class)
+ */
+public class CachingArgumentConverter extends SimpleArgumentConverter {
+
+	@Override
+	protected Object convert(Object source, Class<?> targetType) {
+		if (source == null) {
+			return null;
+		}
+		return convert(ConversionPlans.factoryPlan(source.getClass(), targetType), source, targetType);
+	}
+
+	static Object convert(ConversionPlans.Plan plan, Object source, Class<?> targetType) {
+		try {
+			return plan.convert(source);
+		}
+		catch (ArgumentConversionException e) {
+			throw e;
+		}
+		catch (Throwable t) {
+			throw new ArgumentConversionException(
+				String.format("Failed to convert [%s] to %s", source, targetType.getName()), t);
+		}
+	}
+
+}
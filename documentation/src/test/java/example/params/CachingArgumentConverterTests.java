@@ -0,0 +1,94 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package example.params;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.converter.ArgumentConversionException;
+import org.junit.jupiter.params.converter.ConvertWith;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Tests for {@link CachingArgumentConverter} and
+ * {@link CachedJavaTimeConversionPattern}.
+ *
+ * @since 5.3
+ */
+class CachingArgumentConverterTests {
+
+	@ParameterizedTest
+	@ValueSource(strings = "42 Cats")
+	void convertsViaFactoryMethod(@ConvertWith(CachingArgumentConverter.class) Book book) {
+		assertEquals("42 Cats", book.title);
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "01.01.2017", "31.12.2017" })
+	void convertsViaCachedPattern(@CachedJavaTimeConversionPattern("dd.MM.yyyy") LocalDate argument) {
+		assertEquals(2017, argument.getYear());
+	}
+
+	@Test
+	void resolvesEachPlanOnce() {
+		ConversionPlans.Plan plan = ConversionPlans.factoryPlan(String.class, Book.class);
+
+		assertSame(plan, ConversionPlans.factoryPlan(String.class, Book.class));
+		assertSame(ConversionPlans.javaTimePlan("yyyy-MM", YearMonth.class),
+			ConversionPlans.javaTimePlan("yyyy-MM", YearMonth.class));
+	}
+
+	@Test
+	void convertsViaConstructorIfThereIsNoFactoryMethod() throws Throwable {
+		Object author = ConversionPlans.factoryPlan(String.class, Author.class).convert("Melville");
+
+		assertEquals("Melville", ((Author) author).name);
+	}
+
+	@Test
+	void reportsMissingFactory() {
+		ConversionPlans.Plan plan = ConversionPlans.factoryPlan(Integer.class, Book.class);
+
+		assertThrows(ArgumentConversionException.class,
+			() -> CachingArgumentConverter.convert(plan, 42, Book.class));
+	}
+
+	static class Book {
+
+		final String title;
+
+		private Book(String title) {
+			this.title = title;
+		}
+
+		static Book fromTitle(String title) {
+			return new Book(title);
+		}
+
+	}
+
+	static class Author {
+
+		final String name;
+
+		Author(String name) {
+			this.name = name;
+		}
+
+	}
+
+}
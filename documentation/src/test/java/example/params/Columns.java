@@ -0,0 +1,48 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package example.params;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares which columns {@link CompiledAggregator} binds to the
+ * constructor parameters of the annotated parameter's type.
+ *
+ * <p>The {@code n}-th column index is bound to the {@code n}-th constructor
+ * parameter; columns may be omitted, reordered or bound more than once.
+ * Without this annotation, all columns are bound in order.
+ *
+ * <pre>
+ * &#64;ParameterizedTest
+ * &#64;CsvSource({ "1990-05-20, F, Doe, Jane" })
+ * void test(&#64;AggregateWith(CompiledAggregator.class) &#64;Columns({ 3, 2, 1, 0 }) Person person) {
+ * }
+ * </pre>
+ *
+ * @since 5.3
+ * @see CompiledAggregator
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Columns {
+
+	/**
+	 * The zero-based indexes of the bound columns, in the order of the
+	 * constructor parameters.
+	 */
+	int[] value();
+
+}
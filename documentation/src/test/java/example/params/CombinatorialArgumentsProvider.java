@@ -0,0 +1,79 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package example.params;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import example.params.CombinatorialSource.Dimension;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.ArgumentsProvider;
+import org.junit.jupiter.params.support.AnnotationConsumer;
+import org.junit.platform.commons.JUnitException;
+
+/**
+ * {@link ArgumentsProvider} for {@link CombinatorialSource @CombinatorialSource}.
+ *
+ * <p>Dropping rows of a covering array breaks its coverage guarantee, so the
+ * global sampling configuration parameters are ignored; only an explicit
+ * {@link Sampled @Sampled} on the test method samples the rows.
+ *
+ * @since 5.3
+ */
+class CombinatorialArgumentsProvider implements ArgumentsProvider, AnnotationConsumer<CombinatorialSource> {
+
+	private Object[][] dimensions;
+
+	private int strength;
+
+	@Override
+	public void accept(CombinatorialSource annotation) {
+		this.dimensions = Arrays.stream(annotation.value()) //
+				.map(CombinatorialArgumentsProvider::values) //
+				.toArray(Object[][]::new);
+		this.strength = annotation.strength();
+	}
+
+	@Override
+	public Stream<? extends Arguments> provideArguments(ExtensionContext context) {
+		int[] sizes = Arrays.stream(this.dimensions).mapToInt(values -> values.length).toArray();
+		Stream<Arguments> arguments = Arrays.stream(CoveringArrays.generate(sizes, this.strength)) //
+				.map(row -> IntStream.range(0, row.length) //
+						.mapToObj(dimension -> this.dimensions[dimension][row[dimension]]) //
+						.toArray()) //
+				.map(Arguments::of);
+		return Sampling.applyIfAnnotated(context, arguments);
+	}
+
+	private static Object[] values(Dimension dimension) {
+		boolean hasStrings = dimension.value().length > 0;
+		boolean hasInts = dimension.ints().length > 0;
+		boolean hasEnum = dimension.enumType() != Dimension.NoEnum.class;
+		if ((hasStrings ? 1 : 0) + (hasInts ? 1 : 0) + (hasEnum ? 1 : 0) != 1) {
+			throw new JUnitException("Exactly one attribute of @Dimension must be set: " + dimension);
+		}
+		if (hasStrings) {
+			return dimension.value();
+		}
+		if (hasInts) {
+			return Arrays.stream(dimension.ints()).boxed().toArray();
+		}
+		Object[] constants = dimension.enumType().getEnumConstants();
+		if (constants.length == 0) {
+			throw new JUnitException(dimension.enumType().getName() + " does not declare any constants");
+		}
+		return constants;
+	}
+
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package example.params;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.junit.jupiter.params.provider.ArgumentsSource;
+
+/**
+ * Provides combinations of the values of several dimensions that cover
+ * every interaction of {@link #strength} dimensions at least once.
+ *
+ * <p>With the default strength of {@code 2}, every pair of values of any
+ * two dimensions occurs in some invocation, which usually requires only a
+ * small fraction of the invocations of the full cross product:
+ *
+ * <pre>
+ * &#64;ParameterizedTest
+ * &#64;CombinatorialSource({
+ *     &#64;Dimension(enumType = TimeUnit.class),
+ *     &#64;Dimension({ "en", "de", "ja" }),
+ *     &#64;Dimension(ints = { 0, 1, 2 })
+ * })
+ * void test(TimeUnit unit, Locale locale, int mode) {
+ * }
+ * </pre>
+ *
+ * <p>Global sampling via the {@value Sampling#FRACTION_PROPERTY_NAME}
+ * configuration parameter does not apply, since dropping invocations would
+ * leave some interactions uncovered. A test method that is explicitly
+ * annotated with {@link Sampled @Sampled} is sampled nonetheless.
+ *
+ * @since 5.3
+ * @see CoveringArrays
+ */
+@Target({ ElementType.ANNOTATION_TYPE, ElementType.METHOD })
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@ArgumentsSource(CombinatorialArgumentsProvider.class)
+public @interface CombinatorialSource {
+
+	/**
+	 * The dimensions, one per method parameter.
+	 */
+	Dimension[] value();
+
+	/**
+	 * The number of dimensions whose interactions are covered.
+	 */
+	int strength() default 2;
+
+	/**
+	 * The values of a single dimension; exactly one of the attributes must be
+	 * set.
+	 */
+	@Target({})
+	@Retention(RetentionPolicy.RUNTIME)
+	@interface Dimension {
+
+		/**
+		 * {@code String} values, subject to implicit argument conversion.
+		 */
+		String[] value() default {};
+
+		/**
+		 * {@code int} values.
+		 */
+		int[] ints() default {};
+
+		/**
+		 * An enum type whose constants are the values.
+		 */
+		Class<? extends Enum<?>> enumType() default NoEnum.class;
+
+		/**
+		 * Default value of {@link #enumType()}.
+		 */
+		enum NoEnum {
+		}
+
+	}
+
+}
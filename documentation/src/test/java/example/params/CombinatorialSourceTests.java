@@ -0,0 +1,164 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package example.params;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import example.params.CombinatorialSource.Dimension;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder;
+import org.junit.platform.launcher.core.LauncherFactory;
+import org.junit.platform.launcher.listeners.SummaryGeneratingListener;
+
+/**
+ * Tests for {@link CombinatorialSource} and {@link CoveringArrays}.
+ *
+ * @since 5.3
+ */
+class CombinatorialSourceTests {
+
+	@ParameterizedTest
+	@CombinatorialSource({ //
+			@Dimension(enumType = TimeUnit.class), //
+			@Dimension({ "en", "de", "ja" }), //
+			@Dimension(ints = { 0, 1, 2 }) //
+	})
+	void testWithCombinatorialSource(TimeUnit unit, Locale locale, int mode) {
+		assertNotNull(unit);
+		assertNotNull(locale.getLanguage());
+		assertTrue(mode >= 0 && mode <= 2);
+	}
+
+	@Test
+	void coversAllPairsWithFarFewerInvocationsThanCrossProduct() {
+		SummaryGeneratingListener listener = new SummaryGeneratingListener();
+
+		LauncherFactory.create().execute(LauncherDiscoveryRequestBuilder.request() //
+				.selectors(selectClass(PairwiseTestCase.class)) //
+				.build(), listener);
+
+		// 7 units * 3 locales * 3 modes * 2 booleans = 126
+		long invocations = listener.getSummary().getTestsSucceededCount();
+		assertTrue(invocations >= 21 && invocations <= 30, () -> "invocations: " + invocations);
+	}
+
+	@Test
+	void ignoresGlobalSamplingConfiguration() {
+		SummaryGeneratingListener unsampled = new SummaryGeneratingListener();
+		SummaryGeneratingListener sampled = new SummaryGeneratingListener();
+
+		LauncherFactory.create().execute(LauncherDiscoveryRequestBuilder.request() //
+				.selectors(selectClass(PairwiseTestCase.class)) //
+				.build(), unsampled);
+		LauncherFactory.create().execute(LauncherDiscoveryRequestBuilder.request() //
+				.selectors(selectClass(PairwiseTestCase.class)) //
+				.configurationParameter(Sampling.FRACTION_PROPERTY_NAME, "0.1") //
+				.build(), sampled);
+
+		assertEquals(unsampled.getSummary().getTestsSucceededCount(), sampled.getSummary().getTestsSucceededCount());
+	}
+
+	@Test
+	void honorsExplicitSampledAnnotation() {
+		SummaryGeneratingListener listener = new SummaryGeneratingListener();
+
+		LauncherFactory.create().execute(LauncherDiscoveryRequestBuilder.request() //
+				.selectors(selectClass(SampledPairwiseTestCase.class)) //
+				.build(), listener);
+
+		assertEquals(5, listener.getSummary().getTestsSucceededCount());
+	}
+
+	@ParameterizedTest
+	@CsvSource({ "'3, 3, 3, 3', 2, 12", "'2, 2, 2, 2, 2, 2, 2, 2, 2, 2', 2, 12", "'4, 3, 2, 5, 3', 3, 90",
+			"'3, 2', 3, 6", "'5', 1, 5" })
+	void generatesCoveringArrays(String dimensions, int strength, int maxRows) {
+		int[] sizes = Arrays.stream(dimensions.split(",")).map(String::trim).mapToInt(Integer::parseInt).toArray();
+
+		int[][] rows = CoveringArrays.generate(sizes, strength);
+
+		assertTrue(rows.length <= maxRows, () -> "rows: " + rows.length);
+		assertCovers(rows, sizes, Math.min(strength, sizes.length));
+	}
+
+	private static void assertCovers(int[][] rows, int[] sizes, int strength) {
+		forEachCombination(sizes.length, strength, new int[strength], 0, 0, combination -> {
+			Set<List<Integer>> covered = new HashSet<>();
+			for (int[] row : rows) {
+				Integer[] tuple = new Integer[strength];
+				for (int j = 0; j < strength; j++) {
+					tuple[j] = row[combination[j]];
+				}
+				covered.add(List.of(tuple));
+			}
+			int expected = 1;
+			for (int dimension : combination) {
+				expected *= sizes[dimension];
+			}
+			assertEquals(expected, covered.size(), () -> "combination: " + Arrays.toString(combination));
+		});
+	}
+
+	private static void forEachCombination(int n, int k, int[] combination, int position, int start,
+			Consumer<int[]> action) {
+
+		if (position == k) {
+			action.accept(combination.clone());
+			return;
+		}
+		for (int i = start; i < n; i++) {
+			combination[position] = i;
+			forEachCombination(n, k, combination, position + 1, i + 1, action);
+		}
+	}
+
+	static class PairwiseTestCase {
+
+		@ParameterizedTest
+		@CombinatorialSource({ //
+				@Dimension(enumType = TimeUnit.class), //
+				@Dimension({ "en", "de", "ja" }), //
+				@Dimension(ints = { 0, 1, 2 }), //
+				@Dimension({ "true", "false" }) //
+		})
+		void test(TimeUnit unit, Locale locale, int mode, boolean flag) {
+		}
+
+	}
+
+	static class SampledPairwiseTestCase {
+
+		@ParameterizedTest
+		@CombinatorialSource({ //
+				@Dimension(enumType = TimeUnit.class), //
+				@Dimension({ "en", "de", "ja" }) //
+		})
+		@Sampled(fraction = 1, maxInvocations = 5)
+		void test(TimeUnit unit, Locale locale) {
+		}
+
+	}
+
+}
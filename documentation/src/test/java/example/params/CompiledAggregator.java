@@ -0,0 +1,224 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package example.params;
+
+import static java.lang.invoke.MethodType.methodType;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.params.aggregator.ArgumentsAccessor;
+import org.junit.jupiter.params.aggregator.ArgumentsAggregationException;
+import org.junit.jupiter.params.aggregator.ArgumentsAggregator;
+import org.junit.platform.commons.support.AnnotationSupport;
+
+/**
+ * {@link ArgumentsAggregator} that binds the columns of a row to the
+ * non-private constructor of the parameter's type that declares one
+ * parameter per bound column.
+ *
+ * <p>By default, all columns are bound in order; a {@link Columns @Columns}
+ * annotation on the aggregated parameter declares which columns to bind
+ * instead.
+ *
+ * <p>The binding is compiled into a single {@link MethodHandle} that reads
+ * each column straight from the {@link ArgumentsAccessor} the first time a
+ * row is aggregated, and cached by the aggregator, of which Jupiter creates
+ * one per parameter; later rows only invoke it. Columns bound to primitive
+ * constructor parameters are parsed via {@link PrimitiveArguments} without
+ * boxing, all other columns are converted via
+ * {@link ConversionPlans#factoryPlan(Class, Class)}, and each column
+ * remembers the plan for the type of its last value.
+ *
+ * <pre>
+ * &#64;ParameterizedTest
+ * &#64;CsvSource({ "Jane, Doe, F, 1990-05-20", "John, Doe, M, 1990-10-22" })
+ * void test(&#64;AggregateWith(CompiledAggregator.class) Person person) {
+ * }
+ * </pre>
+ *
+ * @since 5.3
+ */
+public class CompiledAggregator implements ArgumentsAggregator {
+
+	private static final Map<Class<?>, MethodHandle> PRIMITIVE_CONVERTERS = new HashMap<>();
+
+	private static final MethodHandle ACCESSOR_GET;
+
+	private static final MethodHandle COLUMN_CONVERTER;
+
+	static {
+		try {
+			MethodHandles.Lookup lookup = MethodHandles.lookup();
+			for (Class<?> type : Arrays.asList(int.class, long.class, double.class, float.class, short.class,
+				byte.class, boolean.class, char.class)) {
+				String name = "to" + Character.toUpperCase(type.getName().charAt(0)) + type.getName().substring(1);
+				PRIMITIVE_CONVERTERS.put(type,
+					lookup.findStatic(PrimitiveArguments.class, name, methodType(type, Object.class)));
+			}
+			ACCESSOR_GET = lookup.findVirtual(ArgumentsAccessor.class, "get", methodType(Object.class, int.class));
+			COLUMN_CONVERTER = lookup.findVirtual(ColumnConverter.class, "convert",
+				methodType(Object.class, Object.class));
+		}
+		catch (ReflectiveOperationException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	private volatile Binding binding;
+
+	@Override
+	public Object aggregateArguments(ArgumentsAccessor arguments, ParameterContext context) {
+		Binding binding = this.binding;
+		if (binding == null || !binding.appliesTo(context.getParameter(), arguments.size())) {
+			binding = compile(context.getParameter(), arguments.size());
+			this.binding = binding;
+		}
+		try {
+			return (Object) binding.handle.invokeExact(arguments);
+		}
+		catch (ArgumentsAggregationException e) {
+			throw e;
+		}
+		catch (Throwable t) {
+			throw new ArgumentsAggregationException(String.format("Failed to aggregate %s into %s",
+				arguments.toList(), context.getParameter().getType().getName()), t);
+		}
+	}
+
+	/**
+	 * Compile the binding of the columns of the supplied parameter into a
+	 * handle of type {@code (ArgumentsAccessor)Object}.
+	 */
+	private static Binding compile(Parameter parameter, int columnCount) {
+		Class<?> targetType = parameter.getType();
+		int[] columns = AnnotationSupport.findAnnotation(parameter, Columns.class) //
+				.map(Columns::value) //
+				.orElseGet(() -> IntStream.range(0, columnCount).toArray());
+		for (int column : columns) {
+			if (column < 0 || column >= columnCount) {
+				throw new ArgumentsAggregationException(
+					String.format("Column index %d is out of range for %d columns", column, columnCount));
+			}
+		}
+		List<Constructor<?>> constructors = Stream.of(targetType.getDeclaredConstructors()) //
+				.filter(constructor -> !Modifier.isPrivate(constructor.getModifiers())) //
+				.filter(constructor -> constructor.getParameterCount() == columns.length) //
+				.collect(Collectors.toList());
+		if (constructors.size() != 1) {
+			throw new ArgumentsAggregationException(String.format(
+				"%s must declare exactly one non-private constructor with %d parameters", targetType.getName(),
+				columns.length));
+		}
+		try {
+			MethodHandles.Lookup lookup = ConversionPlans.lookupFor(targetType);
+			MethodHandle constructor = lookup.unreflectConstructor(constructors.get(0));
+			MethodHandle[] getters = new MethodHandle[columns.length];
+			for (int i = 0; i < getters.length; i++) {
+				MethodHandle get = MethodHandles.insertArguments(ACCESSOR_GET, 1, columns[i]);
+				getters[i] = MethodHandles.filterReturnValue(get, converter(constructor.type().parameterType(i)));
+			}
+			MethodHandle handle = MethodHandles.filterArguments(constructor, 0, getters);
+			handle = MethodHandles.permuteArguments(handle, methodType(targetType, ArgumentsAccessor.class),
+				new int[columns.length]);
+			return new Binding(parameter, columnCount,
+				handle.asType(methodType(Object.class, ArgumentsAccessor.class)));
+		}
+		catch (IllegalAccessException e) {
+			throw new ArgumentsAggregationException("Failed to access constructor of " + targetType.getName(), e);
+		}
+	}
+
+	private static MethodHandle converter(Class<?> parameterType) {
+		if (parameterType.isPrimitive()) {
+			return PRIMITIVE_CONVERTERS.get(parameterType);
+		}
+		return COLUMN_CONVERTER.bindTo(new ColumnConverter(parameterType)) //
+				.asType(methodType(parameterType, Object.class));
+	}
+
+	/**
+	 * Compiled binding together with what it was compiled for.
+	 */
+	private static class Binding {
+
+		private final Parameter parameter;
+
+		private final int columnCount;
+
+		private final MethodHandle handle;
+
+		Binding(Parameter parameter, int columnCount, MethodHandle handle) {
+			this.parameter = parameter;
+			this.columnCount = columnCount;
+			this.handle = handle;
+		}
+
+		boolean appliesTo(Parameter parameter, int columnCount) {
+			return this.parameter.equals(parameter) && this.columnCount == columnCount;
+		}
+
+	}
+
+	/**
+	 * Converts the values of a single column, caching the plan for the type
+	 * of the last converted value.
+	 */
+	private static class ColumnConverter {
+
+		private final Class<?> targetType;
+
+		private volatile CachedPlan cachedPlan;
+
+		ColumnConverter(Class<?> targetType) {
+			this.targetType = targetType;
+		}
+
+		Object convert(Object value) throws Throwable {
+			if (value == null || this.targetType.isInstance(value)) {
+				return value;
+			}
+			CachedPlan cachedPlan = this.cachedPlan;
+			if (cachedPlan == null || cachedPlan.sourceType != value.getClass()) {
+				cachedPlan = new CachedPlan(value.getClass(),
+					ConversionPlans.factoryPlan(value.getClass(), this.targetType));
+				this.cachedPlan = cachedPlan;
+			}
+			return cachedPlan.plan.convert(value);
+		}
+
+	}
+
+	private static class CachedPlan {
+
+		private final Class<?> sourceType;
+
+		private final ConversionPlans.Plan plan;
+
+		CachedPlan(Class<?> sourceType, ConversionPlans.Plan plan) {
+			this.sourceType = sourceType;
+			this.plan = plan;
+		}
+
+	}
+
+}
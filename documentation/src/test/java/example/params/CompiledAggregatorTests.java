@@ -0,0 +1,115 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package example.params;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import example.Person;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.aggregator.AggregateWith;
+import org.junit.jupiter.params.aggregator.ArgumentAccessException;
+import org.junit.jupiter.params.aggregator.ArgumentsAccessor;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Tests for {@link CompiledAggregator} and {@link PrimitiveArguments}.
+ *
+ * @since 5.3
+ */
+class CompiledAggregatorTests {
+
+	@ParameterizedTest
+	@CsvSource({ "Jane, Doe, F, 1990-05-20", "John, Doe, M, 1990-10-22" })
+	void aggregatesViaCompiledBinding(@AggregateWith(CompiledAggregator.class) Person person) {
+		assertEquals("Doe", person.getLastName());
+		assertEquals(1990, person.getDateOfBirth().getYear());
+		assertEquals(person.getFirstName().equals("Jane") ? "F" : "M", String.valueOf(person.getGender()));
+	}
+
+	@ParameterizedTest
+	@CsvSource({ "1990-05-20, ignored, F, Doe, Jane", "1990-10-22, ignored, M, Doe, John" })
+	void aggregatesDeclaredColumns(
+			@AggregateWith(CompiledAggregator.class) @Columns({ 4, 3, 2, 0 }) Person person) {
+		assertEquals("Doe", person.getLastName());
+		assertEquals(1990, person.getDateOfBirth().getYear());
+		assertEquals(person.getFirstName().equals("Jane") ? "F" : "M", String.valueOf(person.getGender()));
+	}
+
+	@ParameterizedTest
+	@CsvSource({ "1, 10000000000, 0.5, true", "2, 20000000000, 1.5, false" })
+	void aggregatesPrimitiveColumns(@AggregateWith(CompiledAggregator.class) Measurement measurement) {
+		assertEquals(measurement.id * 10_000_000_000L, measurement.timestamp);
+		assertEquals(measurement.id - 0.5, measurement.value);
+		assertEquals(measurement.id == 1, measurement.valid);
+	}
+
+	@ParameterizedTest
+	@CsvSource({ "1, 10000000000, 0.5", "2, 20000000000, 1.5" })
+	void readsPrimitiveArguments(ArgumentsAccessor arguments) {
+		int id = PrimitiveArguments.getInt(arguments, 0);
+
+		assertEquals(id * 10_000_000_000L, PrimitiveArguments.getLong(arguments, 1));
+		assertEquals(id - 0.5, PrimitiveArguments.getDouble(arguments, 2));
+	}
+
+	@ParameterizedTest
+	@ValueSource(ints = 42)
+	void readsNumberArguments(ArgumentsAccessor arguments) {
+		assertEquals(42, PrimitiveArguments.getInt(arguments, 0));
+		assertEquals(42L, PrimitiveArguments.getLong(arguments, 0));
+		assertEquals(42.0, PrimitiveArguments.getDouble(arguments, 0));
+	}
+
+	@ParameterizedTest
+	@ValueSource(longs = 10_000_000_000L)
+	void rejectsLossyConversion(ArgumentsAccessor arguments) {
+		ArgumentAccessException exception = assertThrows(ArgumentAccessException.class,
+			() -> PrimitiveArguments.getInt(arguments, 0));
+
+		assertTrue(exception.getMessage().contains("10000000000"));
+	}
+
+	@ParameterizedTest
+	@ValueSource(longs = 9_007_199_254_740_993L)
+	void rejectsLongAsDouble(ArgumentsAccessor arguments) {
+		assertThrows(ArgumentAccessException.class, () -> PrimitiveArguments.getDouble(arguments, 0));
+	}
+
+	@ParameterizedTest
+	@ValueSource(ints = 16_777_217)
+	void rejectsIntAsFloat(ArgumentsAccessor arguments) {
+		assertThrows(IllegalArgumentException.class, () -> PrimitiveArguments.toFloat(arguments.get(0)));
+	}
+
+	static class Measurement {
+
+		final int id;
+
+		final long timestamp;
+
+		final double value;
+
+		final boolean valid;
+
+		Measurement(int id, long timestamp, double value, boolean valid) {
+			this.id = id;
+			this.timestamp = timestamp;
+			this.value = value;
+			this.valid = valid;
+		}
+
+	}
+
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package example.params;
+
+import java.io.BufferedReader;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.ArgumentsProvider;
+import org.junit.jupiter.params.support.AnnotationConsumer;
+import org.junit.platform.commons.JUnitException;
+
+/**
+ * {@link ArgumentsProvider} for {@link CompressedCsvFileSource @CompressedCsvFileSource}.
+ *
+ * @since 5.3
+ */
+class CompressedCsvFileArgumentsProvider
+		implements ArgumentsProvider, AnnotationConsumer<CompressedCsvFileSource> {
+
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	private CompressedCsvFileSource annotation;
+
+	private Charset charset;
+
+	private CsvLineTokenizer tokenizer;
+
+	@Override
+	public void accept(CompressedCsvFileSource annotation) {
+		this.annotation = annotation;
+		this.charset = Charset.forName(annotation.encoding());
+		this.tokenizer = new CsvLineTokenizer(annotation.delimiter());
+	}
+
+	@Override
+	public Stream<? extends Arguments> provideArguments(ExtensionContext context) {
+		Stream<Arguments> arguments = Stream.of(this.annotation.resources()) //
+				.flatMap(resource -> rows(context.getRequiredTestClass(), resource)) //
+				.map(this.tokenizer::tokenize) //
+				.filter(Objects::nonNull) //
+				.map(Arguments::of);
+		return Sampling.apply(context, arguments);
+	}
+
+	private Stream<String> rows(Class<?> testClass, String resource) {
+		InputStream in = testClass.getResourceAsStream(resource);
+		if (in == null) {
+			throw new JUnitException("Classpath resource [" + resource + "] does not exist");
+		}
+		try {
+			if (resource.endsWith(".zip")) {
+				ZipInputStream zip = new ZipInputStream(in);
+				return StreamSupport.stream(new EntrySpliterator(zip), false).flatMap(
+					entry -> lines(new NonClosingInputStream(zip))).onClose(() -> close(zip));
+			}
+			InputStream content = resource.endsWith(".gz") ? new GZIPInputStream(in, BUFFER_SIZE) : in;
+			return lines(content).onClose(() -> close(content));
+		}
+		catch (IOException e) {
+			close(in);
+			throw new UncheckedIOException("Failed to read classpath resource [" + resource + "]", e);
+		}
+	}
+
+	private Stream<String> lines(InputStream in) {
+		BufferedReader reader = new BufferedReader(new InputStreamReader(in, this.charset), BUFFER_SIZE);
+		return reader.lines().skip(this.annotation.numLinesToSkip());
+	}
+
+	private static void close(InputStream in) {
+		try {
+			in.close();
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Advances a {@link ZipInputStream} to each of its file entries in turn.
+	 */
+	private static class EntrySpliterator extends Spliterators.AbstractSpliterator<ZipEntry> {
+
+		private final ZipInputStream zip;
+
+		EntrySpliterator(ZipInputStream zip) {
+			super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+			this.zip = zip;
+		}
+
+		@Override
+		public boolean tryAdvance(Consumer<? super ZipEntry> action) {
+			try {
+				for (ZipEntry entry = this.zip.getNextEntry(); entry != null; entry = this.zip.getNextEntry()) {
+					if (!entry.isDirectory()) {
+						action.accept(entry);
+						return true;
+					}
+				}
+				return false;
+			}
+			catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+
+	}
+
+	/**
+	 * Keeps the reader of a single ZIP entry from closing the whole archive.
+	 */
+	private static class NonClosingInputStream extends FilterInputStream {
+
+		NonClosingInputStream(InputStream in) {
+			super(in);
+		}
+
+		@Override
+		public void close() {
+			/* no-op */
+		}
+
+	}
+
+}
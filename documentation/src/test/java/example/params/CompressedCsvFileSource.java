@@ -0,0 +1,61 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package example.params;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.junit.jupiter.params.provider.ArgumentsSource;
+
+/**
+ * Variant of {@code @CsvFileSource} that transparently decompresses
+ * {@code .gz} and {@code .zip} resources.
+ *
+ * <p>Resources are decompressed incrementally while their rows are
+ * consumed, so neither the compressed nor the decompressed content is ever
+ * held in memory as a whole. Every entry of a ZIP archive is read as a
+ * separate CSV file. Resources with any other extension are read
+ * uncompressed.
+ *
+ * @since 5.3
+ * @see CompressedCsvFileArgumentsProvider
+ */
+@Target({ ElementType.ANNOTATION_TYPE, ElementType.METHOD })
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@ArgumentsSource(CompressedCsvFileArgumentsProvider.class)
+public @interface CompressedCsvFileSource {
+
+	/**
+	 * The CSV classpath resources to use as the sources of arguments.
+	 */
+	String[] resources();
+
+	/**
+	 * The encoding to use when reading the CSV files.
+	 */
+	String encoding() default "UTF-8";
+
+	/**
+	 * The column delimiter to use when reading the CSV files.
+	 */
+	char delimiter() default ',';
+
+	/**
+	 * The number of lines to skip at the beginning of each file or ZIP
+	 * entry.
+	 */
+	int numLinesToSkip() default 0;
+
+}
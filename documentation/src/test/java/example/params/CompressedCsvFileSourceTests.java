@@ -0,0 +1,55 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package example.params;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvParsingException;
+
+/**
+ * Tests for {@link CompressedCsvFileSource} and {@link CsvLineTokenizer}.
+ *
+ * @since 5.3
+ */
+class CompressedCsvFileSourceTests {
+
+	@ParameterizedTest
+	@CompressedCsvFileSource(resources = "/two-column.csv.gz", numLinesToSkip = 1)
+	void testWithGzipResource(String country, int reference) {
+		assertNotNull(country);
+		assertEquals(reference == 3, country.equals("United States of America"));
+	}
+
+	@ParameterizedTest
+	@CompressedCsvFileSource(resources = "/two-column.zip", numLinesToSkip = 1)
+	void testWithZipResource(String country, int reference) {
+		assertNotNull(country);
+		assertEquals(reference == 3, country.equals("United States of America"));
+	}
+
+	@Test
+	void tokenizesLikeMappedCsvFile() {
+		CsvLineTokenizer tokenizer = new CsvLineTokenizer(',');
+
+		assertArrayEquals(new String[] { "a", "'x'", "b, \"c\"", null },
+			tokenizer.tokenize("  a , 'x' ,\"b, \"\"c\"\"\" ,"));
+		assertArrayEquals(new String[] { "", "d" }, tokenizer.tokenize("\"\",d"));
+		assertNull(tokenizer.tokenize("   "));
+		assertThrows(CsvParsingException.class, () -> tokenizer.tokenize("a,\"b"));
+	}
+
+}
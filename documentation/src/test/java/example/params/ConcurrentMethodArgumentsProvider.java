@@ -0,0 +1,181 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package example.params;
+
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.junit.jupiter.api.extension.ConditionEvaluationResult;
+import org.junit.jupiter.api.extension.ExecutionCondition;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ExtensionContext.Namespace;
+import org.junit.jupiter.api.extension.ExtensionContext.Store.CloseableResource;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.ArgumentsProvider;
+import org.junit.jupiter.params.support.AnnotationConsumer;
+import org.junit.platform.commons.JUnitException;
+
+/**
+ * {@link ArgumentsProvider} for {@link ConcurrentMethodSource @ConcurrentMethodSource}.
+ *
+ * <p>Each pulled set of arguments takes a permit from a semaphore that is
+ * stored in the test method's {@link ExtensionContext}; the permit is
+ * returned by {@link PermitReleasingCondition} once the corresponding
+ * invocation's context is closed. Since the stream is pulled by a worker
+ * of the Jupiter engine's {@link ForkJoinPool}, waiting for a permit is
+ * done via {@link ForkJoinPool#managedBlock} so the pool can compensate
+ * for the blocked worker.
+ *
+ * <p>Jupiter stops evaluating conditions at the first disabled result, so
+ * {@link PermitReleasingCondition} has to be evaluated before any condition
+ * that may disable an invocation. It is therefore registered for automatic
+ * extension detection, which makes it the first condition after Jupiter's
+ * built-in ones once {@code junit.jupiter.extensions.autodetection.enabled}
+ * is {@code true}. Without automatic detection it is registered on the test
+ * method only, so a permit is lost whenever a condition registered on the
+ * test class disables an invocation. As a safety net, waiting for a permit
+ * gives up after the number of seconds configured via the
+ * {@value #PERMIT_TIMEOUT_PROPERTY_NAME} configuration parameter, which
+ * defaults to {@value #DEFAULT_PERMIT_TIMEOUT_SECONDS}, and fails the
+ * parameterized test instead of hanging the test run.
+ *
+ * @since 5.3
+ */
+class ConcurrentMethodArgumentsProvider implements ArgumentsProvider, AnnotationConsumer<ConcurrentMethodSource> {
+
+	static final String PERMIT_TIMEOUT_PROPERTY_NAME = "concurrent-method-source.permit-timeout";
+
+	static final long DEFAULT_PERMIT_TIMEOUT_SECONDS = 300;
+
+	private static final Namespace NAMESPACE = Namespace.create(ConcurrentMethodArgumentsProvider.class);
+
+	private String methodName;
+
+	private int maxInFlight;
+
+	@Override
+	public void accept(ConcurrentMethodSource annotation) {
+		if (annotation.maxInFlight() < 1) {
+			throw new JUnitException("maxInFlight must be positive: " + annotation.maxInFlight());
+		}
+		this.methodName = annotation.value();
+		this.maxInFlight = annotation.maxInFlight();
+	}
+
+	@Override
+	public Stream<? extends Arguments> provideArguments(ExtensionContext context) {
+		Semaphore permits = context.getStore(NAMESPACE).getOrComputeIfAbsent(Semaphore.class,
+			key -> new Semaphore(this.maxInFlight), Semaphore.class);
+		long timeoutSeconds = context.getConfigurationParameter(PERMIT_TIMEOUT_PROPERTY_NAME) //
+				.map(Long::parseLong) //
+				.orElse(DEFAULT_PERMIT_TIMEOUT_SECONDS);
+		if (timeoutSeconds < 1) {
+			throw new JUnitException(PERMIT_TIMEOUT_PROPERTY_NAME + " must be positive: " + timeoutSeconds);
+		}
+		Iterator<?> source = Sampling.apply(context, FactoryMethods.invoke(context, this.methodName));
+		return StreamSupport.stream(new BoundedSpliterator(source, permits, timeoutSeconds), false) //
+				.map(FactoryMethods::toArguments);
+	}
+
+	/**
+	 * Takes a permit before pulling each element from the source, and gives
+	 * it back once the source is exhausted.
+	 */
+	private static class BoundedSpliterator extends Spliterators.AbstractSpliterator<Object> {
+
+		private final Iterator<?> source;
+
+		private final Semaphore permits;
+
+		private final long timeoutSeconds;
+
+		BoundedSpliterator(Iterator<?> source, Semaphore permits, long timeoutSeconds) {
+			super(Long.MAX_VALUE, Spliterator.ORDERED);
+			this.source = source;
+			this.permits = permits;
+			this.timeoutSeconds = timeoutSeconds;
+		}
+
+		@Override
+		public boolean tryAdvance(Consumer<? super Object> action) {
+			acquire(this.permits, this.timeoutSeconds);
+			if (!this.source.hasNext()) {
+				this.permits.release();
+				return false;
+			}
+			action.accept(this.source.next());
+			return true;
+		}
+
+		private static void acquire(Semaphore permits, long timeoutSeconds) {
+			try {
+				ForkJoinPool.managedBlock(new ForkJoinPool.ManagedBlocker() {
+
+					private boolean acquired;
+
+					@Override
+					public boolean block() throws InterruptedException {
+						if (!this.acquired) {
+							if (!permits.tryAcquire(timeoutSeconds, TimeUnit.SECONDS)) {
+								throw new JUnitException(String.format(
+									"No invocation finished within %d seconds; permits are lost if a condition "
+											+ "disables an invocation before %s is evaluated, which automatic "
+											+ "extension detection prevents",
+									timeoutSeconds, PermitReleasingCondition.class.getName()));
+							}
+							this.acquired = true;
+						}
+						return true;
+					}
+
+					@Override
+					public boolean isReleasable() {
+						return this.acquired || (this.acquired = permits.tryAcquire());
+					}
+				});
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new JUnitException("Interrupted while waiting for an invocation to finish", e);
+			}
+		}
+
+	}
+
+	/**
+	 * Returns the permit taken for an invocation when that invocation's
+	 * {@link ExtensionContext} is closed, regardless of its outcome.
+	 *
+	 * <p>This condition never disables anything and does nothing for tests
+	 * that do not use {@code @ConcurrentMethodSource}. It is registered for
+	 * automatic extension detection so that it precedes user conditions.
+	 */
+	public static class PermitReleasingCondition implements ExecutionCondition {
+
+		@Override
+		public ConditionEvaluationResult evaluateExecutionCondition(ExtensionContext context) {
+			context.getParent() //
+					.map(parent -> parent.getStore(NAMESPACE).get(Semaphore.class, Semaphore.class)) //
+					.ifPresent(permits -> context.getStore(NAMESPACE).put(CloseableResource.class,
+						(CloseableResource) permits::release));
+			return ConditionEvaluationResult.enabled("@ConcurrentMethodSource invocation");
+		}
+
+	}
+
+}
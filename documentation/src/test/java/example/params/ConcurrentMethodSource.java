@@ -0,0 +1,70 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package example.params;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.junit.jupiter.params.provider.ArgumentsSource;
+
+/**
+ * Variant of {@code @MethodSource} whose invocations are executed
+ * concurrently, with at most {@link #maxInFlight} of them pending at any
+ * time.
+ *
+ * <p>The factory method's {@code Stream}, {@code Iterable} or
+ * {@code Iterator} is consumed lazily: the next arguments are only pulled
+ * once an earlier invocation has finished, so even a factory method that
+ * produces millions of arguments never has more than {@code maxInFlight}
+ * of them in memory at once.
+ *
+ * <p>Concurrent execution requires
+ * {@code junit.jupiter.execution.parallel.enabled=true}; otherwise the
+ * invocations are executed sequentially and {@code maxInFlight} merely
+ * bounds how far the factory method is read ahead.
+ *
+ * <p>If other conditions may disable individual invocations, e.g. a
+ * fail-fast extension, enable
+ * {@code junit.jupiter.extensions.autodetection.enabled} so that the
+ * permits of disabled invocations are returned; see
+ * {@link ConcurrentMethodArgumentsProvider} for details.
+ *
+ * @since 5.3
+ * @see ConcurrentMethodArgumentsProvider
+ */
+@Target({ ElementType.ANNOTATION_TYPE, ElementType.METHOD })
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@ArgumentsSource(ConcurrentMethodArgumentsProvider.class)
+@ExtendWith(ConcurrentMethodArgumentsProvider.PermitReleasingCondition.class)
+@Execution(ExecutionMode.CONCURRENT)
+public @interface ConcurrentMethodSource {
+
+	/**
+	 * The name of the factory method, either declared in the test class or
+	 * given as its fully qualified name, e.g.
+	 * {@code com.example.Factory#arguments}.
+	 */
+	String value();
+
+	/**
+	 * The maximum number of invocations whose arguments have been pulled
+	 * but which have not finished yet.
+	 */
+	int maxInFlight() default 16;
+
+}
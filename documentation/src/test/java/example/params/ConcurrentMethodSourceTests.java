@@ -0,0 +1,192 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package example.params;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+
+import java.time.Duration;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ConditionEvaluationResult;
+import org.junit.jupiter.api.extension.ExecutionCondition;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.platform.launcher.LauncherDiscoveryRequest;
+import org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder;
+import org.junit.platform.launcher.core.LauncherFactory;
+import org.junit.platform.launcher.listeners.SummaryGeneratingListener;
+import org.junit.platform.launcher.listeners.TestExecutionSummary;
+
+/**
+ * Tests for {@link ConcurrentMethodSource}.
+ *
+ * @since 5.3
+ */
+class ConcurrentMethodSourceTests {
+
+	@Test
+	void executesInvocationsConcurrentlyWithBoundedPrefetch() {
+		LauncherDiscoveryRequest request = LauncherDiscoveryRequestBuilder.request() //
+				.selectors(selectClass(ConcurrentTestCase.class)) //
+				.configurationParameter("junit.jupiter.execution.parallel.enabled", "true") //
+				.build();
+		SummaryGeneratingListener listener = new SummaryGeneratingListener();
+
+		LauncherFactory.create().execute(request, listener);
+
+		TestExecutionSummary summary = listener.getSummary();
+		assertEquals(0, summary.getTestsFailedCount());
+		assertEquals(100, summary.getTestsSucceededCount());
+		assertTrue(ConcurrentTestCase.maxPending.get() <= 2, () -> "max pending: " + ConcurrentTestCase.maxPending);
+	}
+
+	@Test
+	void failsInsteadOfHangingWhenPermitsAreLost() {
+		LauncherDiscoveryRequest request = LauncherDiscoveryRequestBuilder.request() //
+				.selectors(selectClass(DisabledInvocationsTestCase.class)) //
+				.configurationParameter(ConcurrentMethodArgumentsProvider.PERMIT_TIMEOUT_PROPERTY_NAME, "1") //
+				.build();
+		SummaryGeneratingListener listener = new SummaryGeneratingListener();
+
+		assertTimeoutPreemptively(Duration.ofSeconds(10), () -> LauncherFactory.create().execute(request, listener));
+
+		TestExecutionSummary summary = listener.getSummary();
+		assertEquals(2, summary.getTestsSkippedCount());
+		assertEquals(1, summary.getContainersFailedCount());
+		Throwable exception = summary.getFailures().get(0).getException();
+		assertTrue(exception.getMessage().startsWith("No invocation finished within 1 seconds"),
+			exception::getMessage);
+	}
+
+	@Test
+	void releasesPermitsOfInvocationsDisabledByOtherConditions() {
+		LauncherDiscoveryRequest request = LauncherDiscoveryRequestBuilder.request() //
+				.selectors(selectClass(PartiallyDisabledInvocationsTestCase.class)) //
+				.configurationParameter("junit.jupiter.extensions.autodetection.enabled", "true") //
+				.configurationParameter(ConcurrentMethodArgumentsProvider.PERMIT_TIMEOUT_PROPERTY_NAME, "3") //
+				.build();
+		SummaryGeneratingListener listener = new SummaryGeneratingListener();
+
+		assertTimeoutPreemptively(Duration.ofSeconds(3), () -> LauncherFactory.create().execute(request, listener));
+
+		TestExecutionSummary summary = listener.getSummary();
+		assertEquals(0, summary.getTotalFailureCount());
+		assertEquals(25, summary.getTestsSkippedCount());
+		assertEquals(25, summary.getTestsSucceededCount());
+	}
+
+	@Test
+	void rejectsNonPositivePermitTimeout() {
+		LauncherDiscoveryRequest request = LauncherDiscoveryRequestBuilder.request() //
+				.selectors(selectClass(DisabledInvocationsTestCase.class)) //
+				.configurationParameter(ConcurrentMethodArgumentsProvider.PERMIT_TIMEOUT_PROPERTY_NAME, "0") //
+				.build();
+		SummaryGeneratingListener listener = new SummaryGeneratingListener();
+
+		LauncherFactory.create().execute(request, listener);
+
+		TestExecutionSummary summary = listener.getSummary();
+		assertEquals(1, summary.getContainersFailedCount());
+		assertEquals(0, summary.getTestsStartedCount());
+	}
+
+	static class ConcurrentTestCase {
+
+		private static final CyclicBarrier barrier = new CyclicBarrier(2);
+
+		private static final AtomicInteger pending = new AtomicInteger();
+
+		static final AtomicInteger maxPending = new AtomicInteger();
+
+		@ParameterizedTest
+		@ConcurrentMethodSource(value = "numbers", maxInFlight = 2)
+		void invocation(int number) throws Exception {
+			barrier.await(5, TimeUnit.SECONDS);
+			pending.decrementAndGet();
+		}
+
+		static IntStream numbers() {
+			return IntStream.range(0, 100) //
+					.peek(number -> maxPending.accumulateAndGet(pending.incrementAndGet(), Math::max));
+		}
+
+	}
+
+	@ExtendWith(DisablingCondition.class)
+	static class DisabledInvocationsTestCase {
+
+		@ParameterizedTest
+		@ConcurrentMethodSource(value = "numbers", maxInFlight = 2)
+		void invocation(int number) {
+		}
+
+		static IntStream numbers() {
+			return IntStream.range(0, 10);
+		}
+
+	}
+
+	@ExtendWith(EvenInvocationsDisablingCondition.class)
+	static class PartiallyDisabledInvocationsTestCase {
+
+		@ParameterizedTest
+		@ConcurrentMethodSource(value = "numbers", maxInFlight = 2)
+		void invocation(int number) {
+		}
+
+		static IntStream numbers() {
+			return IntStream.range(0, 50);
+		}
+
+	}
+
+	/**
+	 * Disables every invocation before {@code PermitReleasingCondition},
+	 * which is registered on the method, gets to see it if automatic
+	 * extension detection is disabled.
+	 */
+	static class DisablingCondition implements ExecutionCondition {
+
+		@Override
+		public ConditionEvaluationResult evaluateExecutionCondition(ExtensionContext context) {
+			boolean invocation = context.getParent().flatMap(ExtensionContext::getTestMethod).isPresent();
+			return invocation ? ConditionEvaluationResult.disabled("disabled invocation")
+					: ConditionEvaluationResult.enabled("not an invocation");
+		}
+
+	}
+
+	/**
+	 * Disables every invocation with an even index, which is encoded in its
+	 * display name, e.g. {@code [2] 1}.
+	 */
+	static class EvenInvocationsDisablingCondition implements ExecutionCondition {
+
+		@Override
+		public ConditionEvaluationResult evaluateExecutionCondition(ExtensionContext context) {
+			String displayName = context.getDisplayName();
+			boolean evenInvocation = displayName.startsWith("[")
+					&& Integer.parseInt(displayName.substring(1, displayName.indexOf(']'))) % 2 == 0;
+			return evenInvocation ? ConditionEvaluationResult.disabled("even invocation")
+					: ConditionEvaluationResult.enabled("odd invocation or not an invocation");
+		}
+
+	}
+
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package example.params;
+
+import static java.lang.invoke.MethodType.methodType;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.Year;
+import java.time.YearMonth;
+import java.time.ZonedDateTime;
+import java.time.chrono.ChronoLocalDate;
+import java.time.chrono.ChronoLocalDateTime;
+import java.time.chrono.ChronoZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalQuery;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.params.converter.ArgumentConversionException;
+
+/**
+ * Cache of resolved conversion plans.
+ *
+ * <p>A plan is resolved once per combination of source type, target type
+ * and conversion annotation; converting a value afterwards is a single
+ * {@link MethodHandle} invocation or a parse with a precompiled
+ * {@link DateTimeFormatter}, without any reflection or pattern parsing.
+ *
+ * @since 5.3
+ */
+final class ConversionPlans {
+
+	/**
+	 * A resolved conversion from a source type to a target type.
+	 */
+	interface Plan {
+
+		Object convert(Object source) throws Throwable;
+
+	}
+
+	private static final Map<List<Object>, Plan> cache = new ConcurrentHashMap<>();
+
+	private static final Map<Class<?>, TemporalQuery<?>> TEMPORAL_QUERIES;
+
+	static {
+		Map<Class<?>, TemporalQuery<?>> queries = new HashMap<>();
+		queries.put(ChronoLocalDate.class, ChronoLocalDate::from);
+		queries.put(ChronoLocalDateTime.class, ChronoLocalDateTime::from);
+		queries.put(ChronoZonedDateTime.class, ChronoZonedDateTime::from);
+		queries.put(LocalDate.class, LocalDate::from);
+		queries.put(LocalDateTime.class, LocalDateTime::from);
+		queries.put(LocalTime.class, LocalTime::from);
+		queries.put(OffsetDateTime.class, OffsetDateTime::from);
+		queries.put(OffsetTime.class, OffsetTime::from);
+		queries.put(Year.class, Year::from);
+		queries.put(YearMonth.class, YearMonth::from);
+		queries.put(ZonedDateTime.class, ZonedDateTime::from);
+		TEMPORAL_QUERIES = queries;
+	}
+
+	private ConversionPlans() {
+		/* no-op */
+	}
+
+	/**
+	 * Get the plan for converting instances of {@code sourceType} into
+	 * {@code targetType}.
+	 *
+	 * <p>If the source is already an instance of the target type it is
+	 * returned as is. Otherwise, the target type must declare exactly one
+	 * non-private static factory method that accepts the source type and
+	 * returns the target type, or exactly one non-private constructor that
+	 * accepts the source type &mdash; the same rules that Jupiter applies for
+	 * its implicit fallback conversion from {@code String}.
+	 */
+	static Plan factoryPlan(Class<?> sourceType, Class<?> targetType) {
+		return cache.computeIfAbsent(Arrays.asList(sourceType, targetType),
+			key -> resolveFactoryPlan(sourceType, targetType));
+	}
+
+	/**
+	 * Get the plan for parsing strings into {@code targetType} with the
+	 * supplied {@link DateTimeFormatter} pattern.
+	 */
+	static Plan javaTimePlan(String pattern, Class<?> targetType) {
+		return cache.computeIfAbsent(Arrays.asList(String.class, targetType, pattern),
+			key -> resolveJavaTimePlan(pattern, targetType));
+	}
+
+	static int size() {
+		return cache.size();
+	}
+
+	private static Plan resolveFactoryPlan(Class<?> sourceType, Class<?> targetType) {
+		if (targetType.isAssignableFrom(sourceType)) {
+			return source -> source;
+		}
+		List<Method> factoryMethods = Stream.of(targetType.getDeclaredMethods()) //
+				.filter(method -> Modifier.isStatic(method.getModifiers())) //
+				.filter(method -> method.getReturnType() == targetType) //
+				.filter(method -> acceptsOnly(method, sourceType)) //
+				.collect(Collectors.toList());
+		List<Constructor<?>> constructors = Stream.of(targetType.getDeclaredConstructors()) //
+				.filter(constructor -> acceptsOnly(constructor, sourceType)) //
+				.collect(Collectors.toList());
+		try {
+			MethodHandles.Lookup lookup = lookupFor(targetType);
+			MethodHandle handle;
+			if (factoryMethods.size() == 1) {
+				handle = lookup.unreflect(factoryMethods.get(0));
+			}
+			else if (factoryMethods.isEmpty() && constructors.size() == 1) {
+				handle = lookup.unreflectConstructor(constructors.get(0));
+			}
+			else {
+				return source -> {
+					throw new ArgumentConversionException(String.format(
+						"No single factory method or constructor found in %s that accepts %s", targetType.getName(),
+						sourceType.getName()));
+				};
+			}
+			MethodHandle converter = handle.asType(methodType(Object.class, Object.class));
+			return source -> (Object) converter.invokeExact(source);
+		}
+		catch (IllegalAccessException e) {
+			throw new ArgumentConversionException("Failed to access factory of " + targetType.getName(), e);
+		}
+	}
+
+	/**
+	 * Get a lookup with private access to the supplied type, or a public
+	 * lookup if its module does not open it, e.g. for {@code java.time}.
+	 */
+	static MethodHandles.Lookup lookupFor(Class<?> type) {
+		try {
+			return MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+		}
+		catch (IllegalAccessException e) {
+			return MethodHandles.publicLookup();
+		}
+	}
+
+	private static boolean acceptsOnly(Executable executable, Class<?> sourceType) {
+		return !Modifier.isPrivate(executable.getModifiers()) && executable.getParameterCount() == 1
+				&& executable.getParameterTypes()[0].isAssignableFrom(sourceType);
+	}
+
+	private static Plan resolveJavaTimePlan(String pattern, Class<?> targetType) {
+		TemporalQuery<?> query = TEMPORAL_QUERIES.get(targetType);
+		if (query == null) {
+			throw new ArgumentConversionException("Cannot convert to " + targetType.getName());
+		}
+		DateTimeFormatter formatter = DateTimeFormatter.ofPattern(Objects.requireNonNull(pattern));
+		return source -> formatter.parse((String) source, query);
+	}
+
+}
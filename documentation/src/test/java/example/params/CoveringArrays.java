@@ -0,0 +1,266 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package example.params;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.platform.commons.JUnitException;
+
+/**
+ * Generation of covering arrays via the In-Parameter-Order (IPOG)
+ * strategy.
+ *
+ * <p>A covering array of strength {@code t} contains, for every choice of
+ * {@code t} dimensions, every combination of their values in at least one
+ * row. IPOG starts with all combinations of the first {@code t} dimensions
+ * and then adds one dimension at a time: it first extends every existing
+ * row with the value that covers the most new combinations, and then adds
+ * rows for the combinations that are still missing. The result is usually
+ * close to the smallest possible covering array and is computed in time
+ * proportional to the number of combinations to cover.
+ *
+ * <p>Covering arrays only depend on the dimension sizes and the strength,
+ * so they are cached.
+ *
+ * @since 5.3
+ */
+final class CoveringArrays {
+
+	private static final int DONT_CARE = -1;
+
+	private static final Map<List<Integer>, int[][]> cache = new ConcurrentHashMap<>();
+
+	private CoveringArrays() {
+		/* no-op */
+	}
+
+	/**
+	 * Generate a covering array of the supplied strength; each row holds one
+	 * value index per dimension.
+	 *
+	 * @param sizes the number of values of each dimension
+	 * @param strength the number of dimensions whose interactions are
+	 * covered; values greater than the number of dimensions yield all
+	 * combinations
+	 */
+	static int[][] generate(int[] sizes, int strength) {
+		if (strength < 1) {
+			throw new JUnitException("Strength must be positive: " + strength);
+		}
+		if (Arrays.stream(sizes).anyMatch(size -> size < 1)) {
+			throw new JUnitException("Every dimension must have at least one value: " + Arrays.toString(sizes));
+		}
+		List<Integer> key = new ArrayList<>();
+		key.add(Math.min(strength, sizes.length));
+		Arrays.stream(sizes).forEach(key::add);
+		return cache.computeIfAbsent(key, k -> new Generator(sizes, Math.min(strength, sizes.length)).generate());
+	}
+
+	private static class Generator {
+
+		private final int[] sizes;
+
+		private final int strength;
+
+		private final List<int[]> rows = new ArrayList<>();
+
+		Generator(int[] sizes, int strength) {
+			this.sizes = sizes;
+			this.strength = strength;
+		}
+
+		int[][] generate() {
+			if (this.sizes.length == 0) {
+				return new int[0][];
+			}
+			addAllCombinationsOfFirstDimensions();
+			for (int dimension = this.strength; dimension < this.sizes.length; dimension++) {
+				extend(dimension);
+			}
+			for (int[] row : this.rows) {
+				for (int i = 0; i < row.length; i++) {
+					if (row[i] == DONT_CARE) {
+						row[i] = 0;
+					}
+				}
+			}
+			return this.rows.toArray(new int[0][]);
+		}
+
+		private void addAllCombinationsOfFirstDimensions() {
+			int[] row = new int[this.sizes.length];
+			Arrays.fill(row, DONT_CARE);
+			Arrays.fill(row, 0, this.strength, 0);
+			while (true) {
+				this.rows.add(row.clone());
+				int i = this.strength - 1;
+				while (i >= 0 && ++row[i] == this.sizes[i]) {
+					row[i--] = 0;
+				}
+				if (i < 0) {
+					return;
+				}
+			}
+		}
+
+		/**
+		 * Add the supplied dimension, covering all its interactions with the
+		 * preceding dimensions.
+		 */
+		private void extend(int dimension) {
+			List<int[]> combinations = combinations(dimension, this.strength - 1);
+			boolean[][] covered = new boolean[combinations.size()][];
+			for (int c = 0; c < covered.length; c++) {
+				covered[c] = new boolean[tupleCount(combinations.get(c)) * this.sizes[dimension]];
+			}
+
+			// horizontal growth
+			for (int[] row : this.rows) {
+				int bestValue = 0;
+				int bestGain = -1;
+				for (int value = 0; value < this.sizes[dimension]; value++) {
+					row[dimension] = value;
+					int gain = 0;
+					for (int c = 0; c < covered.length; c++) {
+						int index = tupleIndex(row, combinations.get(c), dimension);
+						if (index >= 0 && !covered[c][index]) {
+							gain++;
+						}
+					}
+					if (gain > bestGain) {
+						bestGain = gain;
+						bestValue = value;
+					}
+				}
+				row[dimension] = bestValue;
+				markCovered(row, dimension, combinations, covered);
+			}
+
+			// vertical growth
+			for (int c = 0; c < covered.length; c++) {
+				int[] combination = combinations.get(c);
+				for (int index = 0; index < covered[c].length; index++) {
+					if (covered[c][index]) {
+						continue;
+					}
+					int[] tuple = decode(index, combination, dimension);
+					int[] row = findCompatibleRow(tuple, combination, dimension);
+					for (int j = 0; j < combination.length; j++) {
+						row[combination[j]] = tuple[j];
+					}
+					row[dimension] = tuple[combination.length];
+					markCovered(row, dimension, combinations, covered);
+				}
+			}
+		}
+
+		private int[] findCompatibleRow(int[] tuple, int[] combination, int dimension) {
+			for (int[] row : this.rows) {
+				if (isCompatible(row[dimension], tuple[combination.length])) {
+					boolean compatible = true;
+					for (int j = 0; j < combination.length && compatible; j++) {
+						compatible = isCompatible(row[combination[j]], tuple[j]);
+					}
+					if (compatible) {
+						return row;
+					}
+				}
+			}
+			int[] row = new int[this.sizes.length];
+			Arrays.fill(row, DONT_CARE);
+			this.rows.add(row);
+			return row;
+		}
+
+		private static boolean isCompatible(int current, int value) {
+			return current == DONT_CARE || current == value;
+		}
+
+		private void markCovered(int[] row, int dimension, List<int[]> combinations, boolean[][] covered) {
+			for (int c = 0; c < covered.length; c++) {
+				int index = tupleIndex(row, combinations.get(c), dimension);
+				if (index >= 0) {
+					covered[c][index] = true;
+				}
+			}
+		}
+
+		/**
+		 * Get the index of the tuple that the supplied row covers for the
+		 * supplied combination of preceding dimensions and the current
+		 * dimension, or {@code -1} if one of them is not assigned yet.
+		 */
+		private int tupleIndex(int[] row, int[] combination, int dimension) {
+			int index = 0;
+			for (int preceding : combination) {
+				if (row[preceding] == DONT_CARE) {
+					return -1;
+				}
+				index = index * this.sizes[preceding] + row[preceding];
+			}
+			if (row[dimension] == DONT_CARE) {
+				return -1;
+			}
+			return index * this.sizes[dimension] + row[dimension];
+		}
+
+		private int[] decode(int index, int[] combination, int dimension) {
+			int[] tuple = new int[combination.length + 1];
+			tuple[combination.length] = index % this.sizes[dimension];
+			index /= this.sizes[dimension];
+			for (int j = combination.length - 1; j >= 0; j--) {
+				tuple[j] = index % this.sizes[combination[j]];
+				index /= this.sizes[combination[j]];
+			}
+			return tuple;
+		}
+
+		private int tupleCount(int[] combination) {
+			int count = 1;
+			for (int preceding : combination) {
+				count *= this.sizes[preceding];
+			}
+			return count;
+		}
+
+		/**
+		 * Get all ascending combinations of {@code k} of the dimensions
+		 * {@code 0} to {@code n - 1}.
+		 */
+		private static List<int[]> combinations(int n, int k) {
+			List<int[]> combinations = new ArrayList<>();
+			int[] combination = new int[k];
+			for (int i = 0; i < k; i++) {
+				combination[i] = i;
+			}
+			while (true) {
+				combinations.add(combination.clone());
+				int i = k - 1;
+				while (i >= 0 && combination[i] == n - k + i) {
+					i--;
+				}
+				if (i < 0) {
+					return combinations;
+				}
+				combination[i]++;
+				for (int j = i + 1; j < k; j++) {
+					combination[j] = combination[j - 1] + 1;
+				}
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package example.params;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.params.provider.CsvParsingException;
+
+/**
+ * Tokenizer for single CSV lines, shared by all CSV sources in this
+ * package: values are trimmed unless they are quoted with {@code "}, a
+ * {@code ""} within a quoted value denotes a single quote, empty unquoted
+ * values are {@code null}, and blank lines are ignored.
+ *
+ * <p>Lines are read through the {@link Line} abstraction, so that
+ * {@link MappedCsvFile} can tokenize straight from mapped bytes while other
+ * sources tokenize {@code String}s. Only complete values are extracted from
+ * a line, which keeps multi-byte encodings intact.
+ *
+ * @since 5.3
+ */
+class CsvLineTokenizer {
+
+	/**
+	 * A single line of CSV input, without its line terminator.
+	 */
+	interface Line {
+
+		long length();
+
+		/**
+		 * Get the character at the supplied index; for byte-based lines,
+		 * the byte at that index, which suffices to find delimiters, quotes
+		 * and whitespace as long as they are ASCII characters.
+		 */
+		int charAt(long index);
+
+		String substring(long start, long end);
+
+		/**
+		 * Describe this line for error messages.
+		 */
+		String describe();
+
+	}
+
+	private final char delimiter;
+
+	CsvLineTokenizer(char delimiter) {
+		this.delimiter = delimiter;
+	}
+
+	/**
+	 * Tokenize the supplied line, returning {@code null} if it is blank.
+	 */
+	String[] tokenize(String line) {
+		return tokenize(new StringLine(line));
+	}
+
+	/**
+	 * Tokenize the supplied line, returning {@code null} if it is blank.
+	 */
+	String[] tokenize(Line line) {
+		long end = line.length();
+		List<String> values = new ArrayList<>();
+		boolean blank = true;
+		long i = 0;
+		while (i <= end) {
+			while (i < end && isWhitespace(line.charAt(i))) {
+				i++;
+			}
+			if (i < end && line.charAt(i) == '"') {
+				blank = false;
+				i = readQuotedValue(line, i + 1, values);
+			}
+			else {
+				long valueStart = i;
+				while (i < end && line.charAt(i) != this.delimiter) {
+					i++;
+				}
+				long valueEnd = i;
+				while (valueEnd > valueStart && isWhitespace(line.charAt(valueEnd - 1))) {
+					valueEnd--;
+				}
+				blank &= valueEnd == valueStart && i == end;
+				values.add(valueEnd == valueStart ? null : line.substring(valueStart, valueEnd));
+			}
+			i++; // skip delimiter
+		}
+		return blank && values.size() == 1 ? null : values.toArray(new String[0]);
+	}
+
+	private long readQuotedValue(Line line, long start, List<String> values) {
+		long end = line.length();
+		StringBuilder value = null;
+		long segmentStart = start;
+		long i = start;
+		while (true) {
+			if (i >= end) {
+				throw new CsvParsingException("Unterminated quoted value in " + line.describe());
+			}
+			if (line.charAt(i) == '"') {
+				if (i + 1 < end && line.charAt(i + 1) == '"') {
+					value = (value == null ? new StringBuilder() : value).append(line.substring(segmentStart, i + 1));
+					i += 2;
+					segmentStart = i;
+					continue;
+				}
+				String last = line.substring(segmentStart, i);
+				values.add(value == null ? last : value.append(last).toString());
+				i++;
+				break;
+			}
+			i++;
+		}
+		while (i < end && line.charAt(i) != this.delimiter) {
+			if (!isWhitespace(line.charAt(i))) {
+				throw new CsvParsingException("Unexpected character after quoted value in " + line.describe());
+			}
+			i++;
+		}
+		return i;
+	}
+
+	private static boolean isWhitespace(int c) {
+		return c == ' ' || c == '\t';
+	}
+
+	private static class StringLine implements Line {
+
+		private final String line;
+
+		StringLine(String line) {
+			this.line = line;
+		}
+
+		@Override
+		public long length() {
+			return this.line.length();
+		}
+
+		@Override
+		public int charAt(long index) {
+			return this.line.charAt((int) index);
+		}
+
+		@Override
+		public String substring(long start, long end) {
+			return this.line.substring((int) start, (int) end);
+		}
+
+		@Override
+		public String describe() {
+			return "CSV line: " + this.line;
+		}
+
+	}
+
+}
@@ -0,0 +1,235 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package example.params;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+import example.params.BinaryFixture.ColumnType;
+
+import org.junit.platform.commons.JUnitException;
+
+/**
+ * Converts CSV files into {@linkplain BinaryFixture binary fixture files}.
+ *
+ * <p>The CSV file is read twice via {@link MappedCsvFile}: once to count
+ * the rows and the size of the string values, and once to write every
+ * value straight to its final position. Memory usage therefore does not
+ * depend on the size of the CSV file.
+ *
+ * <p>Usage from the command line:
+ *
+ * <pre>
+ * java example.params.CsvToBinaryFixtureConverter two-column.csv two-column.fixture 1 string,int
+ * </pre>
+ *
+ * @since 5.3
+ */
+class CsvToBinaryFixtureConverter {
+
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	public static void main(String... args) {
+		if (args.length != 4) {
+			System.err.println("Usage: CsvToBinaryFixtureConverter <csv file> <fixture file> <lines to skip> "
+					+ "<column types, e.g. string,int,long,double,boolean,local_date>");
+			System.exit(1);
+		}
+		ColumnType[] types = Stream.of(args[3].split(",")) //
+				.map(type -> ColumnType.valueOf(type.trim().toUpperCase(Locale.ROOT))) //
+				.toArray(ColumnType[]::new);
+		new CsvToBinaryFixtureConverter().convert(Paths.get(args[0]), Paths.get(args[1]), Integer.parseInt(args[2]),
+			types);
+	}
+
+	/**
+	 * Convert the supplied comma-separated file.
+	 *
+	 * @param numLinesToSkip the number of header lines to skip
+	 * @param types the type of each column
+	 */
+	void convert(Path csvFile, Path fixtureFile, int numLinesToSkip, ColumnType... types) {
+		MappedCsvFile csv = MappedCsvFile.open(csvFile);
+		long[] blobSizes = new long[types.length];
+		long rowCount;
+		try (Stream<String[]> rows = csv.rows(numLinesToSkip, Long.MAX_VALUE, ',', UTF_8)) {
+			rowCount = rows.peek(row -> {
+				checkColumnCount(row, types);
+				for (int column = 0; column < types.length; column++) {
+					if (types[column] == ColumnType.STRING && row[column] != null) {
+						blobSizes[column] += row[column].getBytes(UTF_8).length;
+					}
+				}
+			}).count();
+		}
+
+		long[] offsets = new long[types.length];
+		long[] blobOffsets = new long[types.length];
+		long position = BinaryFixture.HEADER_SIZE + (long) BinaryFixture.COLUMN_HEADER_SIZE * types.length;
+		for (int column = 0; column < types.length; column++) {
+			offsets[column] = position;
+			position += rowCount * types[column].width;
+			blobOffsets[column] = position;
+			position += blobSizes[column];
+		}
+		if (position > Integer.MAX_VALUE) {
+			throw new JUnitException("Binary fixture for " + csvFile + " would be larger than 2 GB");
+		}
+
+		try (FileChannel channel = FileChannel.open(fixtureFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+			StandardOpenOption.TRUNCATE_EXISTING)) {
+
+			ColumnWriter header = new ColumnWriter(channel, 0);
+			header.buffer(BinaryFixture.HEADER_SIZE).putInt(BinaryFixture.MAGIC).putLong(rowCount).putInt(types.length);
+			for (int column = 0; column < types.length; column++) {
+				header.buffer(BinaryFixture.COLUMN_HEADER_SIZE).put((byte) types[column].ordinal()) //
+						.putLong(offsets[column]).putLong(blobOffsets[column]);
+			}
+			header.flush();
+
+			ColumnWriter[] writers = new ColumnWriter[types.length];
+			ColumnWriter[] blobWriters = new ColumnWriter[types.length];
+			int[] blobPositions = new int[types.length];
+			for (int column = 0; column < types.length; column++) {
+				writers[column] = new ColumnWriter(channel, offsets[column]);
+				blobWriters[column] = new ColumnWriter(channel, blobOffsets[column]);
+			}
+			try (Stream<String[]> rows = csv.rows(numLinesToSkip, Long.MAX_VALUE, ',', UTF_8)) {
+				rows.forEach(row -> {
+					for (int column = 0; column < types.length; column++) {
+						String value = row[column];
+						if (types[column] == ColumnType.STRING) {
+							byte[] bytes = value == null ? new byte[0] : value.getBytes(UTF_8);
+							writers[column].buffer(8).putInt(blobPositions[column]).putInt(
+								value == null ? -1 : bytes.length);
+							blobWriters[column].put(bytes);
+							blobPositions[column] += bytes.length;
+						}
+						else {
+							write(writers[column].buffer(types[column].width), types[column], value);
+						}
+					}
+				});
+			}
+			for (int column = 0; column < types.length; column++) {
+				writers[column].flush();
+				blobWriters[column].flush();
+			}
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException("Failed to write binary fixture " + fixtureFile, e);
+		}
+	}
+
+	private static void checkColumnCount(String[] row, ColumnType[] types) {
+		if (row.length != types.length) {
+			throw new JUnitException(
+				String.format("Expected %d columns but found %d: %s", types.length, row.length, Arrays.toString(row)));
+		}
+	}
+
+	private static void write(ByteBuffer buffer, ColumnType type, String value) {
+		if (value == null) {
+			throw new JUnitException("Column of type " + type + " must not contain empty values");
+		}
+		switch (type) {
+			case INT:
+				buffer.putInt(Integer.parseInt(value));
+				break;
+			case LONG:
+				buffer.putLong(Long.parseLong(value));
+				break;
+			case DOUBLE:
+				buffer.putDouble(Double.parseDouble(value));
+				break;
+			case BOOLEAN:
+				buffer.put((byte) (parseBoolean(value) ? 1 : 0));
+				break;
+			case LOCAL_DATE:
+				buffer.putLong(LocalDate.parse(value).toEpochDay());
+				break;
+			default:
+				throw new IllegalArgumentException("Unsupported column type: " + type);
+		}
+	}
+
+	private static boolean parseBoolean(String value) {
+		if ("true".equalsIgnoreCase(value)) {
+			return true;
+		}
+		if ("false".equalsIgnoreCase(value)) {
+			return false;
+		}
+		throw new JUnitException("Not a boolean: " + value);
+	}
+
+	/**
+	 * Sequential writer for one region of the fixture file.
+	 */
+	private static class ColumnWriter {
+
+		private final FileChannel channel;
+
+		private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+
+		private long position;
+
+		ColumnWriter(FileChannel channel, long position) {
+			this.channel = channel;
+			this.position = position;
+		}
+
+		/**
+		 * Get the buffer, making room for at least the supplied number of
+		 * bytes first.
+		 */
+		ByteBuffer buffer(int bytes) {
+			if (this.buffer.remaining() < bytes) {
+				flush();
+			}
+			return this.buffer;
+		}
+
+		void put(byte[] bytes) {
+			for (int offset = 0; offset < bytes.length;) {
+				int length = Math.min(bytes.length - offset, buffer(1).remaining());
+				this.buffer.put(bytes, offset, length);
+				offset += length;
+			}
+		}
+
+		void flush() {
+			this.buffer.flip();
+			try {
+				while (this.buffer.hasRemaining()) {
+					this.position += this.channel.write(this.buffer, this.position);
+				}
+			}
+			catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+			this.buffer.clear();
+		}
+
+	}
+
+}
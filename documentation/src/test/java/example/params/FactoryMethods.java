@@ -0,0 +1,84 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package example.params;
+
+import java.lang.reflect.Method;
+import java.util.Iterator;
+import java.util.stream.BaseStream;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.platform.commons.JUnitException;
+import org.junit.platform.commons.support.ReflectionSupport;
+
+/**
+ * Invocation of argument factory methods, following the conventions of
+ * {@code @MethodSource}.
+ *
+ * @since 5.3
+ */
+final class FactoryMethods {
+
+	private FactoryMethods() {
+		/* no-op */
+	}
+
+	/**
+	 * Invoke the factory method with the supplied name, either declared in
+	 * the test class or given as its fully qualified name, e.g.
+	 * {@code com.example.Factory#arguments}, and return an iterator over its
+	 * {@code Stream}, {@code Iterable} or {@code Iterator}.
+	 */
+	static Iterator<?> invoke(ExtensionContext context, String methodName) {
+		Class<?> factoryClass = context.getRequiredTestClass();
+		String factoryMethodName = methodName;
+		int separator = methodName.indexOf('#');
+		if (separator >= 0) {
+			String className = methodName.substring(0, separator);
+			factoryClass = ReflectionSupport.loadClass(className).orElseThrow(
+				() -> new JUnitException("Could not load class [" + className + "]"));
+			factoryMethodName = methodName.substring(separator + 1);
+		}
+		Method factoryMethod = ReflectionSupport.findMethod(factoryClass, factoryMethodName).orElseThrow(
+			() -> new JUnitException("Could not find factory method [" + methodName + "]"));
+		Object testInstance = factoryClass.equals(context.getRequiredTestClass())
+				? context.getTestInstance().orElse(null)
+				: null;
+		return toIterator(ReflectionSupport.invokeMethod(factoryMethod, testInstance));
+	}
+
+	/**
+	 * Convert an element produced by a factory method into {@link Arguments}.
+	 */
+	static Arguments toArguments(Object item) {
+		if (item instanceof Arguments) {
+			return (Arguments) item;
+		}
+		if (item instanceof Object[]) {
+			return Arguments.of((Object[]) item);
+		}
+		return Arguments.of(item);
+	}
+
+	private static Iterator<?> toIterator(Object result) {
+		if (result instanceof BaseStream) {
+			return ((BaseStream<?, ?>) result).iterator();
+		}
+		if (result instanceof Iterable) {
+			return ((Iterable<?>) result).iterator();
+		}
+		if (result instanceof Iterator) {
+			return (Iterator<?>) result;
+		}
+		throw new JUnitException("Factory method must return a Stream, Iterable or Iterator: " + result);
+	}
+
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package example.params;
+
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.JUnitException;
+
+/**
+ * Resolution of fixture files that are given as file system paths or as
+ * classpath resources.
+ *
+ * @since 5.3
+ */
+final class FixtureFiles {
+
+	private FixtureFiles() {
+		/* no-op */
+	}
+
+	/**
+	 * Resolve the supplied files, relative to the current working directory,
+	 * and resources, relative to the test class, to paths; resources must
+	 * not be packaged in a JAR.
+	 */
+	static List<Path> resolve(ExtensionContext context, String[] files, String[] resources) {
+		List<Path> paths = new ArrayList<>();
+		for (String file : files) {
+			paths.add(Paths.get(file));
+		}
+		for (String resource : resources) {
+			URL url = context.getRequiredTestClass().getResource(resource);
+			if (url == null || !"file".equals(url.getProtocol())) {
+				throw new JUnitException("Classpath resource [" + resource + "] does not exist or is not a file");
+			}
+			try {
+				paths.add(Paths.get(url.toURI()));
+			}
+			catch (URISyntaxException e) {
+				throw new JUnitException("Invalid classpath resource [" + resource + "]", e);
+			}
+		}
+		return paths;
+	}
+
+}
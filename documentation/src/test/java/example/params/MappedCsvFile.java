@@ -0,0 +1,374 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package example.params;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ExtensionContext.Namespace;
+import org.junit.jupiter.api.extension.ExtensionContext.Store.CloseableResource;
+
+/**
+ * Memory-mapped CSV file with a sparse line-offset index.
+ *
+ * <p>The index stores the byte offset of every {@code indexInterval}-th
+ * line, so it stays small even for files with billions of lines, and
+ * reading from an arbitrary line only needs to scan at most
+ * {@code indexInterval - 1} lines. Within a test run, indexes are cached
+ * per file for as long as the file's size and modification time do not
+ * change; the cache lives in the store of the root {@link ExtensionContext}
+ * and is discarded once the engine has finished executing.
+ *
+ * <p>Rows are tokenized lazily, straight from the mapped bytes: no line is
+ * ever copied into an intermediate {@code String} or {@code char[]}, only
+ * the values of the row that is currently consumed are decoded. Rows are
+ * tokenized by {@link CsvLineTokenizer}.
+ *
+ * @since 5.3
+ */
+class MappedCsvFile {
+
+	static final int DEFAULT_INDEX_INTERVAL = 1024;
+
+	/**
+	 * Maximum size of a single mapped region; rows must be shorter.
+	 */
+	private static final long REGION_SIZE = 64L * 1024 * 1024;
+
+	private static final Namespace NAMESPACE = Namespace.create(MappedCsvFile.class);
+
+	/**
+	 * Open the supplied file, reusing an index built earlier in the current
+	 * test run if possible.
+	 */
+	static MappedCsvFile open(ExtensionContext context, Path file) {
+		return context.getRoot().getStore(NAMESPACE).getOrComputeIfAbsent(Cache.class, key -> new Cache(),
+			Cache.class).open(file);
+	}
+
+	/**
+	 * Open the supplied file, building a new index.
+	 */
+	static MappedCsvFile open(Path file) {
+		return open(file, DEFAULT_INDEX_INTERVAL);
+	}
+
+	static MappedCsvFile open(Path file, int indexInterval) {
+		return new MappedCsvFile(CacheKey.of(file, indexInterval));
+	}
+
+	private final Path file;
+
+	private final long size;
+
+	private final int indexInterval;
+
+	private final long[] index;
+
+	private final long lineCount;
+
+	private MappedCsvFile(CacheKey key) {
+		this.file = key.file;
+		this.size = key.size;
+		this.indexInterval = key.indexInterval;
+
+		List<Long> offsets = new ArrayList<>();
+		long lines = 0;
+		try (FileChannel channel = FileChannel.open(this.file)) {
+			offsets.add(0L);
+			for (long regionStart = 0; regionStart < this.size; regionStart += REGION_SIZE) {
+				MappedByteBuffer region = map(channel, regionStart, Math.min(REGION_SIZE, this.size - regionStart));
+				for (int i = 0; i < region.limit(); i++) {
+					if (region.get(i) == '\n') {
+						lines++;
+						if (lines % this.indexInterval == 0) {
+							offsets.add(regionStart + i + 1);
+						}
+					}
+				}
+			}
+			if (this.size > 0 && readByte(channel, this.size - 1) != '\n') {
+				lines++;
+			}
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException("Failed to index CSV file " + this.file, e);
+		}
+		this.index = offsets.stream().mapToLong(Long::longValue).toArray();
+		this.lineCount = lines;
+	}
+
+	/**
+	 * Get the number of lines in this file.
+	 */
+	long getLineCount() {
+		return this.lineCount;
+	}
+
+	/**
+	 * Stream the rows of the lines in the supplied range, tokenizing each
+	 * row only when the stream requests it.
+	 *
+	 * @param fromLine the first line to read, inclusive
+	 * @param toLine the last line to read, exclusive
+	 */
+	Stream<String[]> rows(long fromLine, long toLine, char delimiter, Charset charset) {
+		RowSpliterator spliterator = new RowSpliterator(Math.max(0, fromLine), Math.min(toLine, this.lineCount),
+			delimiter, charset);
+		return StreamSupport.stream(spliterator, false).onClose(spliterator::close);
+	}
+
+	private static MappedByteBuffer map(FileChannel channel, long position, long length) throws IOException {
+		return channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+	}
+
+	private static byte readByte(FileChannel channel, long position) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(1);
+		channel.read(buffer, position);
+		return buffer.get(0);
+	}
+
+	private class RowSpliterator extends Spliterators.AbstractSpliterator<String[]> {
+
+		private final long toLine;
+
+		private final CsvLineTokenizer tokenizer;
+
+		private final MappedLine currentLine = new MappedLine();
+
+		private final Charset charset;
+
+		private final FileChannel channel;
+
+		private MappedByteBuffer region;
+
+		private long regionStart;
+
+		private long line;
+
+		private long position;
+
+		RowSpliterator(long fromLine, long toLine, char delimiter, Charset charset) {
+			super(Math.max(0, toLine - fromLine), Spliterator.ORDERED | Spliterator.NONNULL);
+			this.toLine = toLine;
+			this.tokenizer = new CsvLineTokenizer(delimiter);
+			this.charset = charset;
+			try {
+				this.channel = FileChannel.open(file);
+			}
+			catch (IOException e) {
+				throw new UncheckedIOException("Failed to open CSV file " + file, e);
+			}
+			seek(fromLine);
+		}
+
+		/**
+		 * Position this spliterator at the start of the supplied line, using
+		 * the sparse index to skip whole blocks of lines.
+		 */
+		private void seek(long targetLine) {
+			int block = (int) Math.min(targetLine / indexInterval, index.length - 1);
+			this.line = (long) block * indexInterval;
+			this.position = index[block];
+			while (this.line < targetLine && this.position < size) {
+				this.position = findLineEnd(this.position) + 1;
+				this.line++;
+			}
+		}
+
+		@Override
+		public boolean tryAdvance(Consumer<? super String[]> action) {
+			while (this.line < this.toLine && this.position < size) {
+				long lineEnd = findLineEnd(this.position);
+				long start = this.position;
+				this.position = lineEnd + 1;
+				this.line++;
+				String[] row = tokenize(start, lineEnd);
+				if (row != null) {
+					action.accept(row);
+					return true;
+				}
+			}
+			return false;
+		}
+
+		void close() {
+			try {
+				this.channel.close();
+			}
+			catch (IOException e) {
+				throw new UncheckedIOException("Failed to close CSV file " + file, e);
+			}
+		}
+
+		private long findLineEnd(long start) {
+			for (long i = start; i < size; i++) {
+				if (byteAt(i) == '\n') {
+					return i;
+				}
+			}
+			return size;
+		}
+
+		private byte byteAt(long offset) {
+			if (this.region == null || offset < this.regionStart || offset >= this.regionStart + this.region.limit()) {
+				this.regionStart = offset;
+				try {
+					this.region = map(this.channel, offset, Math.min(REGION_SIZE, size - offset));
+				}
+				catch (IOException e) {
+					throw new UncheckedIOException("Failed to map CSV file " + file, e);
+				}
+			}
+			return this.region.get((int) (offset - this.regionStart));
+		}
+
+		/**
+		 * Tokenize the row in the supplied byte range, returning {@code null}
+		 * for blank lines.
+		 */
+		private String[] tokenize(long start, long end) {
+			if (end > start && byteAt(end - 1) == '\r') {
+				end--;
+			}
+			this.currentLine.start = start;
+			this.currentLine.end = end;
+			return this.tokenizer.tokenize(this.currentLine);
+		}
+
+		private String decode(long start, long end) {
+			byteAt(start);
+			if (end <= this.regionStart + this.region.limit()) {
+				ByteBuffer value = this.region.duplicate();
+				value.position((int) (start - this.regionStart));
+				value.limit((int) (end - this.regionStart));
+				return this.charset.decode(value).toString();
+			}
+			byte[] bytes = new byte[(int) (end - start)];
+			for (int i = 0; i < bytes.length; i++) {
+				bytes[i] = byteAt(start + i);
+			}
+			return new String(bytes, this.charset);
+		}
+
+		/**
+		 * View of the byte range of the current line.
+		 */
+		private class MappedLine implements CsvLineTokenizer.Line {
+
+			private long start;
+
+			private long end;
+
+			@Override
+			public long length() {
+				return this.end - this.start;
+			}
+
+			@Override
+			public int charAt(long index) {
+				return byteAt(this.start + index);
+			}
+
+			@Override
+			public String substring(long start, long end) {
+				return decode(this.start + start, this.start + end);
+			}
+
+			@Override
+			public String describe() {
+				return "CSV file " + file + " at line " + line;
+			}
+
+		}
+
+	}
+
+	/**
+	 * Cache of indexed files that is emptied when it is closed.
+	 */
+	static class Cache implements CloseableResource {
+
+		private final Map<CacheKey, MappedCsvFile> files = new ConcurrentHashMap<>();
+
+		MappedCsvFile open(Path file) {
+			return this.files.computeIfAbsent(CacheKey.of(file, DEFAULT_INDEX_INTERVAL), MappedCsvFile::new);
+		}
+
+		@Override
+		public void close() {
+			this.files.clear();
+		}
+
+	}
+
+	private static class CacheKey {
+
+		final Path file;
+
+		final long size;
+
+		final long lastModified;
+
+		final int indexInterval;
+
+		CacheKey(Path file, long size, long lastModified, int indexInterval) {
+			this.file = file;
+			this.size = size;
+			this.lastModified = lastModified;
+			this.indexInterval = indexInterval;
+		}
+
+		static CacheKey of(Path file, int indexInterval) {
+			try {
+				return new CacheKey(file.toRealPath(), Files.size(file), Files.getLastModifiedTime(file).toMillis(),
+					indexInterval);
+			}
+			catch (IOException e) {
+				throw new UncheckedIOException("Failed to open CSV file " + file, e);
+			}
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof CacheKey)) {
+				return false;
+			}
+			CacheKey other = (CacheKey) obj;
+			return this.file.equals(other.file) && this.size == other.size && this.lastModified == other.lastModified
+					&& this.indexInterval == other.indexInterval;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(this.file, this.size, this.lastModified, this.indexInterval);
+		}
+
+	}
+
+}
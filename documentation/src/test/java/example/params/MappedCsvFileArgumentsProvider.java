@@ -0,0 +1,57 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package example.params;
+
+import java.nio.charset.Charset;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.ArgumentsProvider;
+import org.junit.jupiter.params.support.AnnotationConsumer;
+
+/**
+ * {@link ArgumentsProvider} for {@link MappedCsvFileSource @MappedCsvFileSource}.
+ *
+ * @since 5.3
+ */
+class MappedCsvFileArgumentsProvider implements ArgumentsProvider, AnnotationConsumer<MappedCsvFileSource> {
+
+	static final String SHARD_COUNT_PROPERTY_NAME = "mapped-csv.shard.count";
+
+	static final String SHARD_INDEX_PROPERTY_NAME = "mapped-csv.shard.index";
+
+	private MappedCsvFileSource annotation;
+
+	@Override
+	public void accept(MappedCsvFileSource annotation) {
+		this.annotation = annotation;
+	}
+
+	@Override
+	public Stream<? extends Arguments> provideArguments(ExtensionContext context) {
+		Shard shard = Shard.fromConfiguration(context, SHARD_COUNT_PROPERTY_NAME, SHARD_INDEX_PROPERTY_NAME);
+		Charset charset = Charset.forName(this.annotation.encoding());
+
+		Stream<Arguments> arguments = FixtureFiles.resolve(context, this.annotation.files(),
+			this.annotation.resources()).stream() //
+				.map(file -> MappedCsvFile.open(context, file)) //
+				.flatMap(file -> {
+					long skipped = this.annotation.numLinesToSkip();
+					long lines = Math.max(0, file.getLineCount() - skipped);
+					return file.rows(skipped + shard.from(lines), skipped + shard.to(lines),
+						this.annotation.delimiter(), charset);
+				}) //
+				.map(Arguments::of);
+		return Sampling.apply(context, arguments);
+	}
+
+}
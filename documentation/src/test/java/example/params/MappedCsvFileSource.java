@@ -0,0 +1,74 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package example.params;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.junit.jupiter.params.provider.ArgumentsSource;
+
+/**
+ * File-backed alternative to {@code @CsvFileSource} for very large CSV
+ * files.
+ *
+ * <p>The files are memory-mapped instead of being read through a stream,
+ * and each row is tokenized only when the corresponding invocation is
+ * requested. Lines to skip are located via a sparse line-offset index, so
+ * a large {@link #numLinesToSkip} does not require scanning the skipped
+ * lines again.
+ *
+ * <p>If the {@value MappedCsvFileArgumentsProvider#SHARD_COUNT_PROPERTY_NAME}
+ * and {@value MappedCsvFileArgumentsProvider#SHARD_INDEX_PROPERTY_NAME}
+ * configuration parameters are set, only the contiguous range of lines that
+ * belongs to the current shard is read, which allows splitting a single
+ * parameterized test across several test runs.
+ *
+ * @since 5.3
+ * @see MappedCsvFileArgumentsProvider
+ */
+@Target({ ElementType.ANNOTATION_TYPE, ElementType.METHOD })
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@ArgumentsSource(MappedCsvFileArgumentsProvider.class)
+public @interface MappedCsvFileSource {
+
+	/**
+	 * The CSV files to use as the sources of arguments, relative to the
+	 * current working directory.
+	 */
+	String[] files() default {};
+
+	/**
+	 * The CSV classpath resources to use as the sources of arguments; they
+	 * must not be packaged in a JAR since they cannot be memory-mapped
+	 * otherwise.
+	 */
+	String[] resources() default {};
+
+	/**
+	 * The encoding to use when decoding values; must be ASCII-compatible.
+	 */
+	String encoding() default "UTF-8";
+
+	/**
+	 * The column delimiter to use when reading the CSV files.
+	 */
+	char delimiter() default ',';
+
+	/**
+	 * The number of lines to skip at the beginning of each file.
+	 */
+	int numLinesToSkip() default 0;
+
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package example.params;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.toList;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvParsingException;
+
+/**
+ * Tests for {@link MappedCsvFileSource} and {@link MappedCsvFile}.
+ *
+ * @since 5.3
+ */
+class MappedCsvFileSourceTests {
+
+	private Path file;
+
+	@BeforeEach
+	void createFile() throws IOException {
+		this.file = Files.createTempFile("mapped", ".csv");
+	}
+
+	@AfterEach
+	void deleteFile() throws IOException {
+		Files.delete(this.file);
+	}
+
+	@ParameterizedTest
+	@MappedCsvFileSource(resources = "/two-column.csv", numLinesToSkip = 1)
+	void testWithMappedCsvFileSource(String first, int second) {
+		assertNotEquals(null, first);
+		assertNotEquals(0, second);
+	}
+
+	@Test
+	void tokenizesQuotedAndEmptyValues() throws IOException {
+		Files.write(this.file, "  a , 'x' ,\"b, \"\"c\"\"\" ,\r\n\n   \n\"\",d\n".getBytes(UTF_8));
+
+		List<String[]> rows = read(MappedCsvFile.open(this.file), 0, Long.MAX_VALUE);
+
+		assertEquals(2, rows.size());
+		assertArrayEquals(new String[] { "a", "'x'", "b, \"c\"", null }, rows.get(0));
+		assertArrayEquals(new String[] { "", "d" }, rows.get(1));
+	}
+
+	@Test
+	void reportsUnterminatedQuotedValue() throws IOException {
+		Files.write(this.file, "a,\"b\n".getBytes(UTF_8));
+
+		assertThrows(CsvParsingException.class, () -> read(MappedCsvFile.open(this.file), 0, Long.MAX_VALUE));
+	}
+
+	@Test
+	void seeksViaSparseIndex() throws IOException {
+		Files.write(this.file, IntStream.range(0, 100) //
+				.mapToObj(i -> i + "," + (i * i)) //
+				.collect(Collectors.joining("\n")) //
+				.getBytes(UTF_8));
+		MappedCsvFile csvFile = MappedCsvFile.open(this.file, 7);
+
+		assertEquals(100, csvFile.getLineCount());
+		for (int from : new int[] { 0, 6, 7, 8, 50, 99 }) {
+			List<String[]> rows = read(csvFile, from, from + 1);
+			assertEquals(1, rows.size());
+			assertArrayEquals(new String[] { String.valueOf(from), String.valueOf(from * from) }, rows.get(0));
+		}
+		assertEquals(0, read(csvFile, 100, 200).size());
+	}
+
+	@Test
+	void shardsCoverAllLinesExactlyOnce() throws IOException {
+		Files.write(this.file, IntStream.range(0, 11) //
+				.mapToObj(String::valueOf) //
+				.collect(Collectors.joining("\n", "", "\n")) //
+				.getBytes(UTF_8));
+		MappedCsvFile csvFile = MappedCsvFile.open(this.file, 2);
+		long lines = csvFile.getLineCount();
+
+		List<String> values = IntStream.range(0, 3) //
+				.boxed() //
+				.flatMap(shard -> read(csvFile, lines * shard / 3, lines * (shard + 1) / 3).stream()) //
+				.map(row -> row[0]) //
+				.collect(toList());
+
+		assertEquals(IntStream.range(0, 11).mapToObj(String::valueOf).collect(toList()), values);
+	}
+
+	@Test
+	void reusesIndexUntilFileChanges() throws IOException {
+		MappedCsvFile.Cache cache = new MappedCsvFile.Cache();
+		Files.write(this.file, "a\n".getBytes(UTF_8));
+		MappedCsvFile csvFile = cache.open(this.file);
+
+		assertSame(csvFile, cache.open(this.file));
+
+		Files.write(this.file, "a\nb\n".getBytes(UTF_8));
+		assertEquals(2, cache.open(this.file).getLineCount());
+	}
+
+	@Test
+	void discardsIndexesWhenCacheIsClosed() throws IOException {
+		MappedCsvFile.Cache cache = new MappedCsvFile.Cache();
+		Files.write(this.file, "a\n".getBytes(UTF_8));
+		MappedCsvFile csvFile = cache.open(this.file);
+
+		cache.close();
+
+		assertNotSame(csvFile, cache.open(this.file));
+	}
+
+	@Test
+	void readsEmptyFile() {
+		MappedCsvFile csvFile = MappedCsvFile.open(this.file);
+
+		assertEquals(0, csvFile.getLineCount());
+		assertNull(read(csvFile, 0, 1).stream().findFirst().orElse(null));
+	}
+
+	private static List<String[]> read(MappedCsvFile csvFile, long fromLine, long toLine) {
+		try (Stream<String[]> rows = csvFile.rows(fromLine, toLine, ',', UTF_8)) {
+			return rows.collect(toList());
+		}
+	}
+
+}
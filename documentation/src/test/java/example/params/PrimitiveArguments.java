@@ -0,0 +1,156 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package example.params;
+
+import org.junit.jupiter.params.aggregator.ArgumentAccessException;
+import org.junit.jupiter.params.aggregator.ArgumentsAccessor;
+
+/**
+ * Boxing-free access to primitive arguments.
+ *
+ * <p>Unlike {@link ArgumentsAccessor#getInteger(int)} and friends, which
+ * convert through the implicit argument converters and return wrapper
+ * objects, these methods parse {@code String} arguments directly into
+ * primitives and unwrap {@code Number} arguments whose widening to the
+ * requested type is exact, so reading a column allocates nothing. Any
+ * other argument, e.g. a {@code Long} read as {@code double}, is rejected
+ * with an {@link ArgumentAccessException}.
+ *
+ * <pre>
+ * void test(ArgumentsAccessor arguments) {
+ *     int count = PrimitiveArguments.getInt(arguments, 1);
+ * }
+ * </pre>
+ *
+ * @since 5.3
+ */
+public final class PrimitiveArguments {
+
+	private PrimitiveArguments() {
+		/* no-op */
+	}
+
+	public static int getInt(ArgumentsAccessor arguments, int index) {
+		try {
+			return toInt(arguments.get(index));
+		}
+		catch (RuntimeException e) {
+			throw accessException(arguments, index, int.class, e);
+		}
+	}
+
+	public static long getLong(ArgumentsAccessor arguments, int index) {
+		try {
+			return toLong(arguments.get(index));
+		}
+		catch (RuntimeException e) {
+			throw accessException(arguments, index, long.class, e);
+		}
+	}
+
+	public static double getDouble(ArgumentsAccessor arguments, int index) {
+		try {
+			return toDouble(arguments.get(index));
+		}
+		catch (RuntimeException e) {
+			throw accessException(arguments, index, double.class, e);
+		}
+	}
+
+	static int toInt(Object value) {
+		if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+			return ((Number) value).intValue();
+		}
+		return Integer.parseInt(asString(value, int.class));
+	}
+
+	static long toLong(Object value) {
+		if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+			return ((Number) value).longValue();
+		}
+		return Long.parseLong(asString(value, long.class));
+	}
+
+	static double toDouble(Object value) {
+		if (value instanceof Double || value instanceof Float || value instanceof Integer || value instanceof Short
+				|| value instanceof Byte) {
+			return ((Number) value).doubleValue();
+		}
+		return Double.parseDouble(asString(value, double.class));
+	}
+
+	static float toFloat(Object value) {
+		if (value instanceof Float || value instanceof Short || value instanceof Byte) {
+			return ((Number) value).floatValue();
+		}
+		return Float.parseFloat(asString(value, float.class));
+	}
+
+	static short toShort(Object value) {
+		if (value instanceof Short || value instanceof Byte) {
+			return ((Number) value).shortValue();
+		}
+		return Short.parseShort(asString(value, short.class));
+	}
+
+	static byte toByte(Object value) {
+		if (value instanceof Byte) {
+			return (Byte) value;
+		}
+		return Byte.parseByte(asString(value, byte.class));
+	}
+
+	static boolean toBoolean(Object value) {
+		if (value instanceof Boolean) {
+			return (Boolean) value;
+		}
+		String string = asString(value, boolean.class);
+		if ("true".equalsIgnoreCase(string)) {
+			return true;
+		}
+		if ("false".equalsIgnoreCase(string)) {
+			return false;
+		}
+		throw new IllegalArgumentException("Not a boolean: " + string);
+	}
+
+	static char toChar(Object value) {
+		if (value instanceof Character) {
+			return (Character) value;
+		}
+		String string = asString(value, char.class);
+		if (string.length() != 1) {
+			throw new IllegalArgumentException("Not a single character: " + string);
+		}
+		return string.charAt(0);
+	}
+
+	private static String asString(Object value, Class<?> targetType) {
+		if (value instanceof String) {
+			return (String) value;
+		}
+		throw new IllegalArgumentException(
+			String.format("Cannot convert %s to %s", value == null ? "null" : value.getClass().getName(), targetType));
+	}
+
+	private static ArgumentAccessException accessException(ArgumentsAccessor arguments, int index,
+			Class<?> targetType, RuntimeException cause) {
+
+		if (cause instanceof ArgumentAccessException) {
+			return (ArgumentAccessException) cause;
+		}
+		return new ArgumentAccessException(
+			String.format("Argument at index [%d] with value [%s] cannot be converted to %s", index,
+				arguments.get(index), targetType),
+			cause);
+	}
+
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package example.params;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Restricts a parameterized test to a deterministic sample of its
+ * arguments.
+ *
+ * <p>Overrides the global {@value Sampling#FRACTION_PROPERTY_NAME} and
+ * {@value Sampling#SEED_PROPERTY_NAME} configuration parameters for the
+ * annotated method. It is honored by all argument sources in this package
+ * and by {@link SampledArgumentsSource @SampledArgumentsSource}.
+ *
+ * @since 5.3
+ * @see Sampling
+ */
+@Target({ ElementType.ANNOTATION_TYPE, ElementType.METHOD })
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Sampled {
+
+	/**
+	 * The fraction of arguments to use, between {@code 0} and {@code 1}.
+	 */
+	double fraction();
+
+	/**
+	 * The seed that determines which arguments are selected.
+	 */
+	long seed() default 0;
+
+	/**
+	 * The maximum number of selected arguments to use.
+	 */
+	long maxInvocations() default Long.MAX_VALUE;
+
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package example.params;
+
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.ArgumentsProvider;
+import org.junit.jupiter.params.support.AnnotationConsumer;
+import org.junit.platform.commons.support.ReflectionSupport;
+
+/**
+ * {@link ArgumentsProvider} for {@link SampledArgumentsSource @SampledArgumentsSource}.
+ *
+ * @since 5.3
+ */
+class SampledArgumentsProvider implements ArgumentsProvider, AnnotationConsumer<SampledArgumentsSource> {
+
+	private ArgumentsProvider delegate;
+
+	@Override
+	public void accept(SampledArgumentsSource annotation) {
+		this.delegate = ReflectionSupport.newInstance(annotation.value());
+	}
+
+	@Override
+	public Stream<? extends Arguments> provideArguments(ExtensionContext context) throws Exception {
+		return Sampling.apply(context, this.delegate.provideArguments(context));
+	}
+
+	/**
+	 * {@link ArgumentsProvider} for {@link SampledMethodSource @SampledMethodSource}.
+	 */
+	static class MethodProvider implements ArgumentsProvider, AnnotationConsumer<SampledMethodSource> {
+
+		private String methodName;
+
+		@Override
+		public void accept(SampledMethodSource annotation) {
+			this.methodName = annotation.value();
+		}
+
+		@Override
+		public Stream<? extends Arguments> provideArguments(ExtensionContext context) {
+			Iterator<?> arguments = Sampling.apply(context, FactoryMethods.invoke(context, this.methodName));
+			return StreamSupport.stream(Spliterators.spliteratorUnknownSize(arguments, Spliterator.ORDERED), false) //
+					.map(FactoryMethods::toArguments);
+		}
+
+	}
+
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package example.params;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.junit.jupiter.params.provider.ArgumentsProvider;
+import org.junit.jupiter.params.provider.ArgumentsSource;
+
+/**
+ * Variant of {@code @ArgumentsSource} whose arguments are subject to
+ * {@link Sampling}.
+ *
+ * <p>The supplied provider must have a no-args constructor; it is not
+ * passed any annotation.
+ *
+ * @since 5.3
+ * @see Sampled
+ */
+@Target({ ElementType.ANNOTATION_TYPE, ElementType.METHOD })
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@ArgumentsSource(SampledArgumentsProvider.class)
+public @interface SampledArgumentsSource {
+
+	/**
+	 * The provider whose arguments to sample.
+	 */
+	Class<? extends ArgumentsProvider> value();
+
+}
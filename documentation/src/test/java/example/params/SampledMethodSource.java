@@ -0,0 +1,44 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package example.params;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.junit.jupiter.params.provider.ArgumentsSource;
+
+/**
+ * Variant of {@code @MethodSource} that is subject to {@link Sampling}.
+ *
+ * <p>The factory method's {@code Stream}, {@code Iterable} or
+ * {@code Iterator} is consumed lazily and arguments that are not selected
+ * are dropped right away.
+ *
+ * @since 5.3
+ * @see Sampled
+ */
+@Target({ ElementType.ANNOTATION_TYPE, ElementType.METHOD })
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@ArgumentsSource(SampledArgumentsProvider.MethodProvider.class)
+public @interface SampledMethodSource {
+
+	/**
+	 * The name of the factory method, either declared in the test class or
+	 * given as its fully qualified name, e.g.
+	 * {@code com.example.Factory#arguments}.
+	 */
+	String value();
+
+}
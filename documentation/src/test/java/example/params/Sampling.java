@@ -0,0 +1,186 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package example.params;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.JUnitException;
+import org.junit.platform.commons.support.AnnotationSupport;
+
+/**
+ * Deterministic sampling of argument streams.
+ *
+ * <p>Whether the argument at a given index is selected depends only on the
+ * seed and that index, so the same seed always yields the same sample and
+ * each argument is dropped as soon as it has been pulled from the
+ * underlying stream. Arguments that are not selected are never handed to
+ * the engine, so they do not show up as skipped invocations either.
+ *
+ * <p>The sampling configuration of a test method is taken from its
+ * {@link Sampled @Sampled} annotation or else from the
+ * {@value #FRACTION_PROPERTY_NAME} and {@value #SEED_PROPERTY_NAME}
+ * configuration parameters. Setting {@value #ENABLED_PROPERTY_NAME} to
+ * {@code false}, e.g. for a nightly build, disables sampling altogether.
+ *
+ * <p>Sources whose arguments are only meaningful as a whole, such as the
+ * covering arrays of {@link CombinatorialSource @CombinatorialSource}, use
+ * {@link #applyIfAnnotated(ExtensionContext, Stream)} so that they are only
+ * sampled if the test method explicitly asks for it.
+ *
+ * @since 5.3
+ */
+final class Sampling {
+
+	static final String ENABLED_PROPERTY_NAME = "sampling.enabled";
+
+	static final String FRACTION_PROPERTY_NAME = "sampling.fraction";
+
+	static final String SEED_PROPERTY_NAME = "sampling.seed";
+
+	private final double fraction;
+
+	private final long seed;
+
+	private final long maxInvocations;
+
+	private Sampling(double fraction, long seed, long maxInvocations) {
+		if (!(fraction >= 0 && fraction <= 1)) {
+			throw new JUnitException("Sampling fraction must be between 0 and 1: " + fraction);
+		}
+		this.fraction = fraction;
+		this.seed = seed;
+		this.maxInvocations = maxInvocations;
+	}
+
+	static Sampling of(double fraction, long seed, long maxInvocations) {
+		return new Sampling(fraction, seed, maxInvocations);
+	}
+
+	/**
+	 * Get the sampling configuration for the test method of the supplied
+	 * context, if any.
+	 */
+	static Optional<Sampling> forContext(ExtensionContext context) {
+		if (!isEnabled(context)) {
+			return Optional.empty();
+		}
+		Optional<Sampling> annotated = forAnnotation(context);
+		if (annotated.isPresent()) {
+			return annotated;
+		}
+		long seed = context.getConfigurationParameter(SEED_PROPERTY_NAME).map(Long::parseLong).orElse(0L);
+		return context.getConfigurationParameter(FRACTION_PROPERTY_NAME) //
+				.map(Double::parseDouble) //
+				.map(fraction -> of(fraction, seed, Long.MAX_VALUE));
+	}
+
+	/**
+	 * Get the sampling configuration of the {@link Sampled @Sampled}
+	 * annotation of the test method of the supplied context, if any,
+	 * ignoring the global configuration parameters.
+	 */
+	private static Optional<Sampling> forAnnotation(ExtensionContext context) {
+		return context.getTestMethod() //
+				.flatMap(method -> AnnotationSupport.findAnnotation(method, Sampled.class)) //
+				.map(sampled -> of(sampled.fraction(), sampled.seed(), sampled.maxInvocations()));
+	}
+
+	private static boolean isEnabled(ExtensionContext context) {
+		return context.getConfigurationParameter(ENABLED_PROPERTY_NAME).map(Boolean::parseBoolean).orElse(true);
+	}
+
+	/**
+	 * Sample the supplied stream according to the configuration for the
+	 * test method of the supplied context.
+	 */
+	static <T> Stream<T> apply(ExtensionContext context, Stream<T> stream) {
+		return forContext(context).map(sampling -> sampling.sample(stream)).orElse(stream);
+	}
+
+	/**
+	 * Sample the supplied iterator according to the configuration for the
+	 * test method of the supplied context.
+	 */
+	static <T> Iterator<T> apply(ExtensionContext context, Iterator<T> iterator) {
+		return forContext(context).map(sampling -> sampling.sample(iterator)).orElse(iterator);
+	}
+
+	/**
+	 * Sample the supplied stream only if the test method of the supplied
+	 * context is annotated with {@link Sampled @Sampled}.
+	 */
+	static <T> Stream<T> applyIfAnnotated(ExtensionContext context, Stream<T> stream) {
+		if (!isEnabled(context)) {
+			return stream;
+		}
+		return forAnnotation(context).map(sampling -> sampling.sample(stream)).orElse(stream);
+	}
+
+	<T> Stream<T> sample(Stream<T> stream) {
+		long[] index = { 0 };
+		return stream.filter(element -> isSelected(index[0]++)).limit(this.maxInvocations);
+	}
+
+	<T> Iterator<T> sample(Iterator<T> iterator) {
+		return new Iterator<T>() {
+
+			private long index;
+
+			private long selected;
+
+			private T next;
+
+			private boolean hasNext;
+
+			@Override
+			public boolean hasNext() {
+				while (!this.hasNext && this.selected < maxInvocations && iterator.hasNext()) {
+					T element = iterator.next();
+					if (isSelected(this.index++)) {
+						this.next = element;
+						this.hasNext = true;
+						this.selected++;
+					}
+				}
+				return this.hasNext;
+			}
+
+			@Override
+			public T next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				this.hasNext = false;
+				T element = this.next;
+				this.next = null;
+				return element;
+			}
+		};
+	}
+
+	/**
+	 * Determine whether the element at the supplied index is selected, using
+	 * the SplitMix64 finalizer to map seed and index to a uniformly
+	 * distributed value.
+	 */
+	boolean isSelected(long index) {
+		long z = this.seed + (index + 1) * 0x9E37_79B9_7F4A_7C15L;
+		z = (z ^ (z >>> 30)) * 0xBF58_476D_1CE4_E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D0_49BB_1331_11EBL;
+		z = z ^ (z >>> 31);
+		return (z >>> 11) * 0x1.0p-53 < this.fraction;
+	}
+
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package example.params;
+
+import static java.util.stream.Collectors.toList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.ArgumentsProvider;
+import org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder;
+import org.junit.platform.launcher.core.LauncherFactory;
+import org.junit.platform.launcher.listeners.SummaryGeneratingListener;
+
+/**
+ * Tests for {@link Sampling}, {@link Sampled @Sampled},
+ * {@link SampledMethodSource @SampledMethodSource} and
+ * {@link SampledArgumentsSource @SampledArgumentsSource}.
+ *
+ * @since 5.3
+ */
+class SamplingTests {
+
+	@Test
+	void selectsDeterministicFractionOfArguments() {
+		Sampling sampling = Sampling.of(0.1, 42, Long.MAX_VALUE);
+
+		List<Long> sample = sampling.sample(LongStream.range(0, 100_000).boxed()).collect(toList());
+
+		assertEquals(sample, sampling.sample(LongStream.range(0, 100_000).boxed()).collect(toList()));
+		assertTrue(Math.abs(sample.size() - 10_000) < 500, () -> "sample size: " + sample.size());
+		assertNotEquals(sample,
+			Sampling.of(0.1, 43, Long.MAX_VALUE).sample(
+				LongStream.range(0, 100_000).boxed()).collect(toList()));
+	}
+
+	@Test
+	void stopsPullingOnceMaxInvocationsAreSelected() {
+		AtomicLong pulled = new AtomicLong();
+		Sampling sampling = Sampling.of(0.5, 0, 10);
+
+		long selected = sampling.sample(Stream.generate(pulled::incrementAndGet)).count();
+
+		assertEquals(10, selected);
+		assertTrue(pulled.get() < 100, () -> "pulled: " + pulled);
+	}
+
+	@Test
+	void samplesIteratorsLikeStreams() {
+		Sampling sampling = Sampling.of(0.3, 7, 50);
+
+		List<Integer> fromIterator = IntStream.range(0, 1000).boxed().collect(toList());
+		List<Integer> sampled = new ArrayList<>();
+		sampling.sample(fromIterator.iterator()).forEachRemaining(sampled::add);
+
+		assertEquals(sampling.sample(fromIterator.stream()).collect(toList()), sampled);
+	}
+
+	@Test
+	void honorsGlobalConfigurationAndAnnotation() {
+		long sampledByConfiguration = Sampling.of(0.05, 1, Long.MAX_VALUE) //
+				.sample(IntStream.range(0, 100).boxed()) //
+				.count();
+		long provider = Sampling.of(0.2, 3, 20).sample(IntStream.range(0, 100).boxed()).count();
+
+		assertEquals(Map.of("sampledByConfiguration", sampledByConfiguration, "sampledByAnnotation", 20L, "provider",
+			provider), execute(Map.of(Sampling.FRACTION_PROPERTY_NAME, "0.05", Sampling.SEED_PROPERTY_NAME, "1")));
+		assertEquals(Map.of("sampledByConfiguration", 100L, "sampledByAnnotation", 100L, "provider", 100L),
+			execute(Map.of(Sampling.ENABLED_PROPERTY_NAME, "false", Sampling.FRACTION_PROPERTY_NAME, "0.05")));
+	}
+
+	private static Map<String, Long> execute(Map<String, String> configurationParameters) {
+		SampledTestCase.invocations.clear();
+		SummaryGeneratingListener listener = new SummaryGeneratingListener();
+		LauncherFactory.create().execute(LauncherDiscoveryRequestBuilder.request() //
+				.selectors(selectClass(SampledTestCase.class)) //
+				.configurationParameters(configurationParameters) //
+				.build(), listener);
+		assertEquals(0, listener.getSummary().getTestsFailedCount());
+		return SampledTestCase.invocations;
+	}
+
+	static class SampledTestCase {
+
+		static final Map<String, Long> invocations = new ConcurrentHashMap<>();
+
+		@ParameterizedTest
+		@SampledMethodSource("stringIntAndListProvider")
+		void sampledByConfiguration(String str, int num, List<String> list) {
+			invocations.merge("sampledByConfiguration", 1L, Long::sum);
+		}
+
+		@ParameterizedTest
+		@SampledMethodSource("stringIntAndListProvider")
+		@Sampled(fraction = 0.5, maxInvocations = 20)
+		void sampledByAnnotation(String str, int num, List<String> list) {
+			invocations.merge("sampledByAnnotation", 1L, Long::sum);
+		}
+
+		@ParameterizedTest
+		@SampledArgumentsSource(HundredArgumentsProvider.class)
+		@Sampled(fraction = 0.2, seed = 3, maxInvocations = 20)
+		void provider(int number) {
+			invocations.merge("provider", 1L, Long::sum);
+		}
+
+		static Stream<Arguments> stringIntAndListProvider() {
+			return IntStream.range(0, 100).mapToObj(i -> arguments("foo" + i, i, List.of("a", "b")));
+		}
+
+	}
+
+	static class HundredArgumentsProvider implements ArgumentsProvider {
+
+		@Override
+		public Stream<? extends Arguments> provideArguments(ExtensionContext context) {
+			return IntStream.range(0, 100).mapToObj(Arguments::of);
+		}
+
+	}
+
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package example.params;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.JUnitException;
+
+/**
+ * Contiguous share of a sequence of rows that belongs to the current test
+ * run when a parameterized test is split across several runs.
+ *
+ * @since 5.3
+ */
+class Shard {
+
+	private static final Shard ALL = new Shard(0, 1);
+
+	/**
+	 * Read the shard from the supplied configuration parameters; if they are
+	 * absent, the shard covers all rows.
+	 */
+	static Shard fromConfiguration(ExtensionContext context, String countPropertyName, String indexPropertyName) {
+		int count = context.getConfigurationParameter(countPropertyName).map(Integer::parseInt).orElse(1);
+		int index = context.getConfigurationParameter(indexPropertyName).map(Integer::parseInt).orElse(0);
+		if (count < 1 || index < 0 || index >= count) {
+			throw new JUnitException(String.format("Invalid shard %d of %d", index, count));
+		}
+		return count == 1 ? ALL : new Shard(index, count);
+	}
+
+	private final int index;
+
+	private final int count;
+
+	private Shard(int index, int count) {
+		this.index = index;
+		this.count = count;
+	}
+
+	/**
+	 * Get the first row of this shard, inclusive.
+	 */
+	long from(long rows) {
+		return rows * this.index / this.count;
+	}
+
+	/**
+	 * Get the last row of this shard, exclusive.
+	 */
+	long to(long rows) {
+		return rows * (this.index + 1) / this.count;
+	}
+
+}
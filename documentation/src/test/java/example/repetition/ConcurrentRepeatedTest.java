@@ -0,0 +1,70 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package example.repetition;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.RepetitionInfo;
+import org.junit.jupiter.api.TestTemplate;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+/**
+ * Variant of {@link RepeatedTest @RepeatedTest} whose repetitions are
+ * executed concurrently, with {@link #concurrency} of them in flight at
+ * any time.
+ *
+ * <p>The first {@code concurrency} repetitions wait for each other before
+ * their {@code @BeforeEach} methods are executed, so they really start at
+ * the same time; every later repetition starts as soon as an earlier one
+ * has finished. Each repetition is reported individually, just like those
+ * of {@code @RepeatedTest}, and may declare a {@link RepetitionInfo}
+ * parameter that describes that repetition only.
+ *
+ * <p>Concurrent execution requires
+ * {@code junit.jupiter.execution.parallel.enabled=true}; otherwise the
+ * repetitions are executed sequentially.
+ *
+ * @since 5.3
+ * @see ConcurrentRepeatedTestExtension
+ */
+@Target({ ElementType.ANNOTATION_TYPE, ElementType.METHOD })
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@TestTemplate
+@ExtendWith(ConcurrentRepeatedTestExtension.class)
+@Execution(ExecutionMode.CONCURRENT)
+public @interface ConcurrentRepeatedTest {
+
+	/**
+	 * The number of repetitions; must be positive.
+	 */
+	int value();
+
+	/**
+	 * The maximum number of repetitions that are executed at the same
+	 * time; must be positive.
+	 */
+	int concurrency();
+
+	/**
+	 * The display name of each repetition, supporting the same
+	 * placeholders as {@link RepeatedTest#name()}.
+	 */
+	String name() default RepeatedTest.SHORT_DISPLAY_NAME;
+
+}
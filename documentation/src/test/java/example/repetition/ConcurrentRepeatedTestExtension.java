@@ -0,0 +1,181 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package example.repetition;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.Extension;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ExtensionContext.Namespace;
+import org.junit.jupiter.api.extension.TestTemplateInvocationContext;
+import org.junit.jupiter.api.extension.TestTemplateInvocationContextProvider;
+import org.junit.platform.commons.JUnitException;
+import org.junit.platform.commons.support.AnnotationSupport;
+
+/**
+ * {@link TestTemplateInvocationContextProvider} for
+ * {@link ConcurrentRepeatedTest @ConcurrentRepeatedTest}.
+ *
+ * <p>All repetitions of a test share a {@link Gate} that holds a permit
+ * for each repetition in flight and a start latch for the first ones.
+ * Since the repetitions are executed by workers of the Jupiter engine's
+ * {@link ForkJoinPool}, waiting at the gate is done via
+ * {@link ForkJoinPool#managedBlock} so the pool can compensate for the
+ * blocked workers. Repetitions that do not arrive at the start latch
+ * within {@value #START_TIMEOUT_SECONDS} seconds, e.g. because another
+ * repetition was disabled, are started anyway.
+ *
+ * @since 5.3
+ */
+class ConcurrentRepeatedTestExtension implements TestTemplateInvocationContextProvider {
+
+	static final long START_TIMEOUT_SECONDS = 10;
+
+	private static final Logger logger = Logger.getLogger(ConcurrentRepeatedTestExtension.class.getName());
+
+	private static final Namespace NAMESPACE = Namespace.create(ConcurrentRepeatedTestExtension.class);
+
+	@Override
+	public boolean supportsTestTemplate(ExtensionContext context) {
+		return context.getTestMethod() //
+				.filter(method -> AnnotationSupport.isAnnotated(method, ConcurrentRepeatedTest.class)) //
+				.isPresent();
+	}
+
+	@Override
+	public Stream<TestTemplateInvocationContext> provideTestTemplateInvocationContexts(ExtensionContext context) {
+		ConcurrentRepeatedTest annotation = AnnotationSupport.findAnnotation(context.getRequiredTestMethod(),
+			ConcurrentRepeatedTest.class).get();
+		int totalRepetitions = annotation.value();
+		if (totalRepetitions < 1 || annotation.concurrency() < 1) {
+			throw new JUnitException(String.format(
+				"Configuration error: @ConcurrentRepeatedTest on method [%s] must be declared with a positive "
+						+ "number of repetitions and a positive concurrency.",
+				context.getRequiredTestMethod()));
+		}
+		boolean parallel = context.getConfigurationParameter("junit.jupiter.execution.parallel.enabled") //
+				.map(Boolean::parseBoolean) //
+				.orElse(false);
+		int concurrency = Math.min(annotation.concurrency(), totalRepetitions);
+		Gate gate = new Gate(concurrency, parallel ? concurrency : 0);
+		String displayName = context.getDisplayName();
+		return IntStream.rangeClosed(1, totalRepetitions).mapToObj(
+			repetition -> new ConcurrentRepetitionInvocationContext(
+				Repetitions.displayName(annotation.name(), displayName, repetition, totalRepetitions),
+				new Repetitions.Repetition(repetition, totalRepetitions), gate));
+	}
+
+	private static class ConcurrentRepetitionInvocationContext implements TestTemplateInvocationContext {
+
+		private final String displayName;
+
+		private final Repetitions.Repetition repetition;
+
+		private final Gate gate;
+
+		ConcurrentRepetitionInvocationContext(String displayName, Repetitions.Repetition repetition, Gate gate) {
+			this.displayName = displayName;
+			this.repetition = repetition;
+			this.gate = gate;
+		}
+
+		@Override
+		public String getDisplayName(int invocationIndex) {
+			return this.displayName;
+		}
+
+		@Override
+		public List<Extension> getAdditionalExtensions() {
+			return Arrays.asList(this.repetition, this.gate);
+		}
+
+	}
+
+	/**
+	 * Lets at most {@code concurrency} repetitions pass at a time, and
+	 * holds back the first {@code startParties} repetitions until all of
+	 * them have arrived.
+	 */
+	private static class Gate implements BeforeEachCallback, AfterEachCallback {
+
+		private final Semaphore permits;
+
+		private final CountDownLatch start;
+
+		Gate(int concurrency, int startParties) {
+			this.permits = new Semaphore(concurrency);
+			this.start = new CountDownLatch(startParties);
+		}
+
+		@Override
+		public void beforeEach(ExtensionContext context) throws InterruptedException {
+			ForkJoinPool.managedBlock(new ForkJoinPool.ManagedBlocker() {
+
+				@Override
+				public boolean block() throws InterruptedException {
+					permits.acquire();
+					return true;
+				}
+
+				@Override
+				public boolean isReleasable() {
+					return permits.tryAcquire();
+				}
+			});
+			context.getStore(NAMESPACE).put(Semaphore.class, this.permits);
+			awaitStart(context);
+		}
+
+		private void awaitStart(ExtensionContext context) throws InterruptedException {
+			if (this.start.getCount() == 0) {
+				return;
+			}
+			this.start.countDown();
+			ForkJoinPool.managedBlock(new ForkJoinPool.ManagedBlocker() {
+
+				@Override
+				public boolean block() throws InterruptedException {
+					if (!start.await(START_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+						logger.warning(() -> String.format(
+							"Not all concurrent repetitions arrived within %d seconds; starting [%s] anyway.",
+							START_TIMEOUT_SECONDS, context.getDisplayName()));
+					}
+					return true;
+				}
+
+				@Override
+				public boolean isReleasable() {
+					return start.getCount() == 0;
+				}
+			});
+		}
+
+		@Override
+		public void afterEach(ExtensionContext context) {
+			Semaphore permit = context.getStore(NAMESPACE).remove(Semaphore.class, Semaphore.class);
+			if (permit != null) {
+				permit.release();
+			}
+		}
+
+	}
+
+}
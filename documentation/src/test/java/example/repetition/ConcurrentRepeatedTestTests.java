@@ -0,0 +1,104 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package example.repetition;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.RepetitionInfo;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.junit.platform.launcher.LauncherDiscoveryRequest;
+import org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder;
+import org.junit.platform.launcher.core.LauncherFactory;
+import org.junit.platform.launcher.listeners.SummaryGeneratingListener;
+import org.junit.platform.launcher.listeners.TestExecutionSummary;
+
+/**
+ * Tests for {@link ConcurrentRepeatedTest}.
+ *
+ * @since 5.3
+ */
+@Execution(ExecutionMode.SAME_THREAD)
+class ConcurrentRepeatedTestTests {
+
+	@Test
+	void executesRepetitionsConcurrently() {
+		TestExecutionSummary summary = execute("true");
+
+		assertEquals(20, summary.getTestsSucceededCount());
+		assertEquals(1, summary.getContainersFailedCount());
+		assertTrue(ConcurrentTestCase.maxInFlight.get() <= 4, () -> "max in flight: " + ConcurrentTestCase.maxInFlight);
+		assertTrue(ConcurrentTestCase.maxInFlight.get() >= 2, () -> "max in flight: " + ConcurrentTestCase.maxInFlight);
+		assertEquals(IntStream.rangeClosed(1, 20).boxed().collect(Collectors.toSet()), ConcurrentTestCase.repetitions);
+	}
+
+	@Test
+	void executesRepetitionsSequentiallyWithoutParallelExecution() {
+		TestExecutionSummary summary = execute("false");
+
+		assertEquals(20, summary.getTestsSucceededCount());
+		assertEquals(1, ConcurrentTestCase.maxInFlight.get());
+	}
+
+	private static TestExecutionSummary execute(String parallel) {
+		ConcurrentTestCase.inFlight.set(0);
+		ConcurrentTestCase.maxInFlight.set(0);
+		ConcurrentTestCase.repetitions.clear();
+		LauncherDiscoveryRequest request = LauncherDiscoveryRequestBuilder.request() //
+				.selectors(selectClass(ConcurrentTestCase.class)) //
+				.configurationParameter("junit.jupiter.execution.parallel.enabled", parallel) //
+				.build();
+		SummaryGeneratingListener listener = new SummaryGeneratingListener();
+		LauncherFactory.create().execute(request, listener);
+		return listener.getSummary();
+	}
+
+	static class ConcurrentTestCase {
+
+		static final AtomicInteger inFlight = new AtomicInteger();
+
+		static final AtomicInteger maxInFlight = new AtomicInteger();
+
+		static final Set<Integer> repetitions = ConcurrentHashMap.newKeySet();
+
+		@ConcurrentRepeatedTest(value = 20, concurrency = 4)
+		void repeatedTest(RepetitionInfo repetitionInfo, TestInfo testInfo) throws Exception {
+			int current = inFlight.incrementAndGet();
+			maxInFlight.accumulateAndGet(current, Math::max);
+			try {
+				Thread.sleep(20);
+				assertEquals(20, repetitionInfo.getTotalRepetitions());
+				assertEquals("repetition " + repetitionInfo.getCurrentRepetition() + " of 20",
+					testInfo.getDisplayName());
+				repetitions.add(repetitionInfo.getCurrentRepetition());
+			}
+			finally {
+				inFlight.decrementAndGet();
+			}
+		}
+
+		@ConcurrentRepeatedTest(value = 1, concurrency = 0)
+		void invalidConcurrency() {
+		}
+
+	}
+
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package example.repetition;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.TestReporter;
+import org.junit.jupiter.api.TestTemplate;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+/**
+ * Variant of {@link RepeatedTest @RepeatedTest} that measures the test
+ * method like a lightweight microbenchmark.
+ *
+ * <p>First, {@link #warmup} repetitions are executed to let the JIT
+ * compile the code under test; they are reported as tests but excluded
+ * from the measurements. Then {@link #value} measured repetitions are
+ * executed, timing each invocation of the test method itself, i.e.
+ * without its {@code @BeforeEach} and {@code @AfterEach} methods. Once
+ * the last one has finished, the throughput in operations per second and
+ * the mean, median, 90th and 99th percentile latencies of the successful
+ * measured repetitions are published as a report entry, just like via
+ * {@link TestReporter}. If the throughput is below
+ * {@link #minOpsPerSecond}, the last measured repetition fails.
+ *
+ * <p>Repetitions are always executed sequentially, in the same thread.
+ *
+ * @since 5.3
+ * @see RepeatedBenchmarkExtension
+ */
+@Target({ ElementType.ANNOTATION_TYPE, ElementType.METHOD })
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@TestTemplate
+@ExtendWith(RepeatedBenchmarkExtension.class)
+@Execution(ExecutionMode.SAME_THREAD)
+public @interface RepeatedBenchmark {
+
+	/**
+	 * The number of measured repetitions; must be positive.
+	 */
+	int value();
+
+	/**
+	 * The number of warmup repetitions; must not be negative.
+	 */
+	int warmup() default 10;
+
+	/**
+	 * The minimum throughput in operations per second; {@code 0} disables
+	 * the check.
+	 */
+	double minOpsPerSecond() default 0;
+
+	/**
+	 * The display name of each measured repetition, supporting the same
+	 * placeholders as {@link RepeatedTest#name()}.
+	 */
+	String name() default RepeatedTest.SHORT_DISPLAY_NAME;
+
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package example.repetition;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.Extension;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.TestTemplateInvocationContext;
+import org.junit.jupiter.api.extension.TestTemplateInvocationContextProvider;
+import org.junit.platform.commons.JUnitException;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.opentest4j.AssertionFailedError;
+
+/**
+ * {@link TestTemplateInvocationContextProvider} for
+ * {@link RepeatedBenchmark @RepeatedBenchmark}.
+ *
+ * <p>All repetitions of a benchmark share a {@link Measurements} instance
+ * that times the test method via {@link BeforeTestExecutionCallback} and
+ * {@link AfterTestExecutionCallback}, and evaluates the samples after the
+ * last measured repetition.
+ *
+ * @since 5.3
+ */
+class RepeatedBenchmarkExtension implements TestTemplateInvocationContextProvider {
+
+	@Override
+	public boolean supportsTestTemplate(ExtensionContext context) {
+		return context.getTestMethod() //
+				.filter(method -> AnnotationSupport.isAnnotated(method, RepeatedBenchmark.class)) //
+				.isPresent();
+	}
+
+	@Override
+	public Stream<TestTemplateInvocationContext> provideTestTemplateInvocationContexts(ExtensionContext context) {
+		RepeatedBenchmark annotation = AnnotationSupport.findAnnotation(context.getRequiredTestMethod(),
+			RepeatedBenchmark.class).get();
+		int measured = annotation.value();
+		int warmup = annotation.warmup();
+		if (measured < 1 || warmup < 0 || annotation.minOpsPerSecond() < 0) {
+			throw new JUnitException(String.format(
+				"Configuration error: @RepeatedBenchmark on method [%s] must be declared with a positive number of "
+						+ "repetitions, a non-negative number of warmup repetitions and a non-negative minimum "
+						+ "throughput.",
+				context.getRequiredTestMethod()));
+		}
+		Measurements measurements = new Measurements(measured, annotation.minOpsPerSecond());
+		String displayName = context.getDisplayName();
+		Stream<TestTemplateInvocationContext> warmupRepetitions = IntStream.rangeClosed(1, warmup).mapToObj(
+			repetition -> new BenchmarkInvocationContext(String.format("warmup %d of %d", repetition, warmup),
+				new Repetitions.Repetition(repetition, warmup), null));
+		Stream<TestTemplateInvocationContext> measuredRepetitions = IntStream.rangeClosed(1, measured).mapToObj(
+			repetition -> new BenchmarkInvocationContext(
+				Repetitions.displayName(annotation.name(), displayName, repetition, measured),
+				new Repetitions.Repetition(repetition, measured), measurements));
+		return Stream.concat(warmupRepetitions, measuredRepetitions);
+	}
+
+	private static class BenchmarkInvocationContext implements TestTemplateInvocationContext {
+
+		private final String displayName;
+
+		private final Repetitions.Repetition repetition;
+
+		private final Measurements measurements;
+
+		BenchmarkInvocationContext(String displayName, Repetitions.Repetition repetition, Measurements measurements) {
+			this.displayName = displayName;
+			this.repetition = repetition;
+			this.measurements = measurements;
+		}
+
+		@Override
+		public String getDisplayName(int invocationIndex) {
+			return this.displayName;
+		}
+
+		@Override
+		public List<Extension> getAdditionalExtensions() {
+			return this.measurements == null ? Arrays.asList(this.repetition)
+					: Arrays.asList(this.repetition, this.measurements);
+		}
+
+	}
+
+	/**
+	 * Durations of the measured repetitions of a single benchmark.
+	 */
+	private static class Measurements implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+
+		private final long[] durations;
+
+		private final double minOpsPerSecond;
+
+		private int finished;
+
+		private int successful;
+
+		private long startTime;
+
+		Measurements(int repetitions, double minOpsPerSecond) {
+			this.durations = new long[repetitions];
+			this.minOpsPerSecond = minOpsPerSecond;
+		}
+
+		@Override
+		public void beforeTestExecution(ExtensionContext context) {
+			this.startTime = System.nanoTime();
+		}
+
+		@Override
+		public void afterTestExecution(ExtensionContext context) {
+			long duration = System.nanoTime() - this.startTime;
+			if (!context.getExecutionException().isPresent()) {
+				this.durations[this.successful++] = duration;
+			}
+			if (++this.finished == this.durations.length && this.successful > 0) {
+				evaluate(context);
+			}
+		}
+
+		private void evaluate(ExtensionContext context) {
+			long[] samples = Arrays.copyOf(this.durations, this.successful);
+			Arrays.sort(samples);
+			long total = Arrays.stream(samples).sum();
+			double opsPerSecond = samples.length * 1e9 / Math.max(1, total);
+
+			Map<String, String> entry = new LinkedHashMap<>();
+			entry.put("benchmark.repetitions", String.valueOf(samples.length));
+			entry.put("benchmark.ops/s", String.format(Locale.ROOT, "%.1f", opsPerSecond));
+			entry.put("benchmark.mean", formatMicros((double) total / samples.length));
+			entry.put("benchmark.p50", formatMicros(percentile(samples, 50)));
+			entry.put("benchmark.p90", formatMicros(percentile(samples, 90)));
+			entry.put("benchmark.p99", formatMicros(percentile(samples, 99)));
+			entry.put("benchmark.max", formatMicros(samples[samples.length - 1]));
+			context.getParent().orElse(context).publishReportEntry(entry);
+
+			if (opsPerSecond < this.minOpsPerSecond) {
+				throw new AssertionFailedError(String.format(Locale.ROOT,
+					"Throughput of %.1f ops/s is below the minimum of %.1f ops/s", opsPerSecond,
+					this.minOpsPerSecond));
+			}
+		}
+
+		/**
+		 * Get the supplied percentile of the sorted samples using the
+		 * nearest-rank method.
+		 */
+		private static long percentile(long[] sortedSamples, int percentile) {
+			int rank = (int) Math.ceil(percentile / 100.0 * sortedSamples.length);
+			return sortedSamples[Math.max(0, rank - 1)];
+		}
+
+		private static String formatMicros(double nanos) {
+			return String.format(Locale.ROOT, "%.3f us", nanos / 1000);
+		}
+
+	}
+
+}
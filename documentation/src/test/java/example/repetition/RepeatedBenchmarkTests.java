@@ -0,0 +1,97 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package example.repetition;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectMethod;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.RepetitionInfo;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.junit.platform.engine.reporting.ReportEntry;
+import org.junit.platform.launcher.LauncherDiscoveryRequest;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder;
+import org.junit.platform.launcher.core.LauncherFactory;
+import org.junit.platform.launcher.listeners.SummaryGeneratingListener;
+import org.junit.platform.launcher.listeners.TestExecutionSummary;
+
+/**
+ * Tests for {@link RepeatedBenchmark}.
+ *
+ * @since 5.3
+ */
+class RepeatedBenchmarkTests {
+
+	@Test
+	void reportsStatisticsOfMeasuredRepetitions() {
+		List<Map<String, String>> entries = new CopyOnWriteArrayList<>();
+
+		TestExecutionSummary summary = execute("benchmark", entries);
+
+		assertEquals(25, summary.getTestsSucceededCount());
+		assertEquals(1, entries.size());
+		Map<String, String> entry = entries.get(0);
+		assertEquals("20", entry.get("benchmark.repetitions"));
+		assertTrue(Double.parseDouble(entry.get("benchmark.ops/s")) > 0);
+		assertTrue(entry.get("benchmark.p99").endsWith(" us"));
+		assertTrue(entry.keySet().containsAll(List.of("benchmark.mean", "benchmark.p50", "benchmark.p90")));
+	}
+
+	@Test
+	void failsLastRepetitionIfThroughputIsTooLow() {
+		TestExecutionSummary summary = execute("slowBenchmark", new CopyOnWriteArrayList<>());
+
+		assertEquals(3, summary.getTestsSucceededCount());
+		assertEquals(1, summary.getTestsFailedCount());
+		assertTrue(summary.getFailures().get(0).getException().getMessage().startsWith("Throughput of "));
+	}
+
+	private static TestExecutionSummary execute(String methodName, List<Map<String, String>> entries) {
+		LauncherDiscoveryRequest request = LauncherDiscoveryRequestBuilder.request() //
+				.selectors(selectMethod(BenchmarkTestCase.class, methodName,
+					RepetitionInfo.class.getName() + "," + TestInfo.class.getName())) //
+				.build();
+		SummaryGeneratingListener listener = new SummaryGeneratingListener();
+		TestExecutionListener reportListener = new TestExecutionListener() {
+
+			@Override
+			public void reportingEntryPublished(TestIdentifier testIdentifier, ReportEntry entry) {
+				entries.add(entry.getKeyValuePairs());
+			}
+		};
+		LauncherFactory.create().execute(request, listener, reportListener);
+		return listener.getSummary();
+	}
+
+	static class BenchmarkTestCase {
+
+		@RepeatedBenchmark(value = 20, warmup = 5)
+		void benchmark(RepetitionInfo repetitionInfo, TestInfo testInfo) {
+			String prefix = testInfo.getDisplayName().startsWith("warmup") ? "warmup " : "repetition ";
+			assertEquals(prefix + repetitionInfo.getCurrentRepetition() + " of " + repetitionInfo.getTotalRepetitions(),
+				testInfo.getDisplayName());
+		}
+
+		@RepeatedBenchmark(value = 2, warmup = 2, minOpsPerSecond = 1_000_000)
+		void slowBenchmark(RepetitionInfo repetitionInfo, TestInfo testInfo) throws Exception {
+			Thread.sleep(5);
+		}
+
+	}
+
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package example.repetition;
+
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.RepetitionInfo;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolver;
+
+/**
+ * Utilities shared by the repeated test variants in this package.
+ *
+ * @since 5.3
+ */
+final class Repetitions {
+
+	private Repetitions() {
+		/* no-op */
+	}
+
+	/**
+	 * Format the display name of a repetition like {@link RepeatedTest}.
+	 */
+	static String displayName(String pattern, String displayName, int currentRepetition, int totalRepetitions) {
+		return pattern.trim() //
+				.replace(RepeatedTest.DISPLAY_NAME_PLACEHOLDER, displayName) //
+				.replace(RepeatedTest.CURRENT_REPETITION_PLACEHOLDER, String.valueOf(currentRepetition)) //
+				.replace(RepeatedTest.TOTAL_REPETITIONS_PLACEHOLDER, String.valueOf(totalRepetitions));
+	}
+
+	/**
+	 * {@link RepetitionInfo} of a single repetition, which also resolves
+	 * itself as a parameter of that repetition.
+	 */
+	static class Repetition implements RepetitionInfo, ParameterResolver {
+
+		private final int currentRepetition;
+
+		private final int totalRepetitions;
+
+		Repetition(int currentRepetition, int totalRepetitions) {
+			this.currentRepetition = currentRepetition;
+			this.totalRepetitions = totalRepetitions;
+		}
+
+		@Override
+		public int getCurrentRepetition() {
+			return this.currentRepetition;
+		}
+
+		@Override
+		public int getTotalRepetitions() {
+			return this.totalRepetitions;
+		}
+
+		@Override
+		public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+			return parameterContext.getParameter().getType() == RepetitionInfo.class;
+		}
+
+		@Override
+		public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+			return this;
+		}
+
+		@Override
+		public String toString() {
+			return String.format("Repetition [currentRepetition = %d, totalRepetitions = %d]", this.currentRepetition,
+				this.totalRepetitions);
+		}
+
+	}
+
+}
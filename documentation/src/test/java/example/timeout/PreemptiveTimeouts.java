@@ -0,0 +1,209 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package example.timeout;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.function.Executable;
+import org.junit.jupiter.api.function.ThrowingSupplier;
+import org.opentest4j.AssertionFailedError;
+
+/**
+ * Variants of {@code Assertions.assertTimeoutPreemptively()} that run the
+ * supplied code on a shared executor instead of a new thread per call.
+ *
+ * <p>The executor is configured via the {@value #EXECUTOR_PROPERTY_NAME}
+ * system property:
+ *
+ * <ul>
+ * <li>{@code virtual} (default): a new virtual thread per call, falling back
+ * to {@code pooled} on JREs that do not support virtual threads</li>
+ * <li>{@code pooled}: a pool of daemon threads whose size is configured via
+ * {@value #PARALLELISM_PROPERTY_NAME} and defaults to twice the number of
+ * available processors; idle threads terminate after one minute</li>
+ * </ul>
+ *
+ * <p>The semantics are the same as those of the built-in assertions: if
+ * the code does not complete within the timeout, the worker is interrupted
+ * and an {@link AssertionFailedError} is thrown; exceptions thrown by the
+ * code are rethrown unchanged. Calls are never queued: if every pooled
+ * worker is busy, e.g. because its code ignores the interruption, the call
+ * runs on a new daemon thread instead, just like the built-in assertions.
+ * The timeout starts once the code has started running.
+ *
+ * <p>While running the supplied code, a worker is named after the current
+ * test if {@link TestNameRecorder} is registered, and after the calling
+ * thread otherwise, so thread dumps show which test a worker belongs to.
+ *
+ * @since 5.3
+ */
+public final class PreemptiveTimeouts {
+
+	public static final String EXECUTOR_PROPERTY_NAME = "preemptive-timeouts.executor";
+
+	public static final String PARALLELISM_PROPERTY_NAME = "preemptive-timeouts.parallelism";
+
+	private static final Logger logger = Logger.getLogger(PreemptiveTimeouts.class.getName());
+
+	private static final ThreadLocal<String> currentTestName = new ThreadLocal<>();
+
+	private PreemptiveTimeouts() {
+		/* no-op */
+	}
+
+	public static void assertTimeoutPreemptively(Duration timeout, Executable executable) {
+		assertTimeoutPreemptively(timeout, executable, null);
+	}
+
+	public static void assertTimeoutPreemptively(Duration timeout, Executable executable, String message) {
+		assertTimeoutPreemptively(timeout, () -> {
+			executable.execute();
+			return null;
+		}, message);
+	}
+
+	public static <T> T assertTimeoutPreemptively(Duration timeout, ThrowingSupplier<T> supplier) {
+		return assertTimeoutPreemptively(timeout, supplier, null);
+	}
+
+	public static <T> T assertTimeoutPreemptively(Duration timeout, ThrowingSupplier<T> supplier, String message) {
+		return assertTimeoutPreemptively(Holder.executorService, timeout, supplier, message);
+	}
+
+	static <T> T assertTimeoutPreemptively(ExecutorService executorService, Duration timeout,
+			ThrowingSupplier<T> supplier, String message) {
+		String workerName = workerName();
+		CountDownLatch started = new CountDownLatch(1);
+		Future<T> future = executorService.submit(() -> {
+			started.countDown();
+			Thread worker = Thread.currentThread();
+			String originalName = worker.getName();
+			worker.setName(workerName);
+			try {
+				return supplier.get();
+			}
+			catch (Throwable t) {
+				throw PreemptiveTimeouts.<Exception> sneakyThrow(t);
+			}
+			finally {
+				worker.setName(originalName);
+			}
+		});
+		try {
+			started.await();
+			return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+		}
+		catch (TimeoutException e) {
+			throw new AssertionFailedError(
+				buildPrefix(message) + "execution timed out after " + timeout.toMillis() + " ms");
+		}
+		catch (ExecutionException e) {
+			throw PreemptiveTimeouts.<RuntimeException> sneakyThrow(e.getCause());
+		}
+		catch (Throwable t) {
+			throw PreemptiveTimeouts.<RuntimeException> sneakyThrow(t);
+		}
+		finally {
+			future.cancel(true);
+		}
+	}
+
+	private static String workerName() {
+		String testName = currentTestName.get();
+		return (testName != null ? testName : Thread.currentThread().getName()) + " [preemptive timeout]";
+	}
+
+	private static String buildPrefix(String message) {
+		return message != null && !message.trim().isEmpty() ? message + " ==> " : "";
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T extends Throwable> T sneakyThrow(Throwable t) throws T {
+		throw (T) t;
+	}
+
+	private static ExecutorService createExecutorService() {
+		String executor = System.getProperty(EXECUTOR_PROPERTY_NAME, "virtual");
+		if ("virtual".equals(executor.trim().toLowerCase(Locale.ROOT))) {
+			try {
+				return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+			}
+			catch (ReflectiveOperationException e) {
+				logger.info(() -> "Virtual threads are not supported by this JRE; using a thread pool instead.");
+			}
+		}
+		return createPooledExecutorService(
+			Integer.getInteger(PARALLELISM_PROPERTY_NAME, 2 * Runtime.getRuntime().availableProcessors()));
+	}
+
+	/**
+	 * Create a pool of up to {@code parallelism} daemon threads that hands
+	 * calls to a new daemon thread instead of queueing them while all of
+	 * its threads are busy.
+	 */
+	static ExecutorService createPooledExecutorService(int parallelism) {
+		AtomicInteger threadNumber = new AtomicInteger();
+		ThreadFactory threadFactory = runnable -> {
+			Thread thread = new Thread(runnable, "preemptive-timeout-worker-" + threadNumber.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		};
+		return new ThreadPoolExecutor(0, parallelism, 1, TimeUnit.MINUTES, new SynchronousQueue<>(), threadFactory,
+			(runnable, executor) -> threadFactory.newThread(runnable).start());
+	}
+
+	/**
+	 * Lazily created executor shared by all calls.
+	 */
+	private static class Holder {
+
+		static final ExecutorService executorService = createExecutorService();
+
+	}
+
+	/**
+	 * Extension that records the name of the test executing on the current
+	 * thread so that workers can be named after it.
+	 */
+	public static class TestNameRecorder implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+
+		@Override
+		public void beforeTestExecution(ExtensionContext context) {
+			String testName = context.getTestClass() //
+					.map(testClass -> testClass.getSimpleName() + "#" + context.getDisplayName()) //
+					.orElse(context.getDisplayName());
+			currentTestName.set(testName);
+		}
+
+		@Override
+		public void afterTestExecution(ExtensionContext context) {
+			currentTestName.remove();
+		}
+
+	}
+
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package example.timeout;
+
+import static example.timeout.PreemptiveTimeouts.assertTimeoutPreemptively;
+import static java.time.Duration.ofMillis;
+import static java.time.Duration.ofSeconds;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.opentest4j.AssertionFailedError;
+
+/**
+ * Tests for {@link PreemptiveTimeouts}.
+ *
+ * @since 5.3
+ */
+@ExtendWith(PreemptiveTimeouts.TestNameRecorder.class)
+class PreemptiveTimeoutsTests {
+
+	@Test
+	void returnsResultOfSupplier() {
+		assertEquals("result", assertTimeoutPreemptively(ofSeconds(5), () -> "result"));
+	}
+
+	@Test
+	void rethrowsExceptionsUnchanged() {
+		IOException exception = assertThrows(IOException.class,
+			() -> assertTimeoutPreemptively(ofSeconds(5), () -> {
+				throw new IOException("expected");
+			}));
+
+		assertEquals("expected", exception.getMessage());
+	}
+
+	@Test
+	void interruptsWorkerOnTimeout() throws Exception {
+		CountDownLatch interrupted = new CountDownLatch(1);
+
+		AssertionFailedError error = assertThrows(AssertionFailedError.class,
+			() -> assertTimeoutPreemptively(ofMillis(10), () -> {
+				try {
+					Thread.sleep(10_000);
+				}
+				catch (InterruptedException e) {
+					interrupted.countDown();
+				}
+			}, "slow"));
+
+		assertEquals("slow ==> execution timed out after 10 ms", error.getMessage());
+		assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+	}
+
+	@Test
+	void namesWorkerAfterTest() {
+		String callerName = Thread.currentThread().getName();
+
+		String workerName = assertTimeoutPreemptively(ofSeconds(5), () -> Thread.currentThread().getName());
+
+		assertEquals("PreemptiveTimeoutsTests#namesWorkerAfterTest() [preemptive timeout]", workerName);
+		assertNotEquals(callerName, workerName);
+	}
+
+	@Test
+	void runsManyCallsOnSharedExecutor() {
+		for (int i = 0; i < 1_000; i++) {
+			int value = i;
+			int result = assertTimeoutPreemptively(ofSeconds(5), () -> value);
+			assertEquals(value, result);
+		}
+	}
+
+	@Test
+	void runsOnNewThreadWhenPoolIsSaturated() throws Exception {
+		ExecutorService executorService = PreemptiveTimeouts.createPooledExecutorService(1);
+		CountDownLatch release = new CountDownLatch(1);
+		try {
+			assertThrows(AssertionFailedError.class,
+				() -> PreemptiveTimeouts.assertTimeoutPreemptively(executorService, ofMillis(10), () -> {
+					while (release.getCount() > 0) {
+						// ignore interruption and keep the pooled worker busy
+						Thread.interrupted();
+					}
+					return null;
+				}, null));
+
+			String result = PreemptiveTimeouts.assertTimeoutPreemptively(executorService, ofMillis(500), () -> {
+				Thread.sleep(100);
+				return "completed";
+			}, null);
+
+			assertEquals("completed", result);
+		}
+		finally {
+			release.countDown();
+			executorService.shutdown();
+		}
+	}
+
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package example.timeout;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+/**
+ * {@code @Timeout} fails a test or a {@code @BeforeEach} or
+ * {@code @AfterEach} method if its execution exceeds the given duration.
+ *
+ * <p>When declared on a test class, it applies to every test method of
+ * that class that does not declare its own {@code @Timeout}. Since Jupiter
+ * only registers extensions that are declared on test classes and test
+ * methods, {@code @Timeout} on a lifecycle method requires
+ * {@link TimeoutExtension} to be registered for its class, e.g. via
+ * {@code @ExtendWith} or a class-level {@code @Timeout}.
+ *
+ * @since 5.3
+ * @see TimeoutExtension
+ */
+@Target({ ElementType.TYPE, ElementType.METHOD, ElementType.ANNOTATION_TYPE })
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Inherited
+@ExtendWith(TimeoutExtension.class)
+public @interface Timeout {
+
+	/**
+	 * The duration of this timeout; must be positive.
+	 */
+	long value();
+
+	/**
+	 * The time unit of {@link #value}.
+	 */
+	TimeUnit unit() default TimeUnit.SECONDS;
+
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package example.timeout;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ExtensionContext.Namespace;
+import org.junit.jupiter.api.extension.ExtensionContext.Store;
+import org.junit.jupiter.api.extension.TestExecutionExceptionHandler;
+import org.junit.platform.commons.JUnitException;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.junit.platform.commons.support.HierarchyTraversalMode;
+import org.junit.platform.commons.support.ReflectionSupport;
+
+/**
+ * Extension that enforces {@link Timeout @Timeout}.
+ *
+ * <p>Every timed phase schedules a single timer on the shared
+ * {@link TimerWheel} and cancels it when the phase ends, so thousands of
+ * concurrent tests cost neither a thread nor a wrapping lambda each. When
+ * a timer expires, the thread executing the phase is interrupted and the
+ * phase is flagged as timed out; the phase then fails with a
+ * {@link TimeoutException}, even if it ignores the interruption and runs
+ * to completion.
+ *
+ * <p>Jupiter's extension API has callbacks around the {@code @BeforeEach}
+ * methods, the test method and the {@code @AfterEach} methods of a test,
+ * but not around individual lifecycle methods. Therefore all
+ * {@code @BeforeEach} methods of a test class share a single timeout that
+ * is the sum of the timeouts declared on them, and likewise for
+ * {@code @AfterEach} methods. {@code @BeforeAll} and {@code @AfterAll}
+ * methods are not supported.
+ *
+ * @since 5.3
+ */
+public class TimeoutExtension implements BeforeEachCallback, BeforeTestExecutionCallback,
+		TestExecutionExceptionHandler, AfterTestExecutionCallback, AfterEachCallback {
+
+	private static final Namespace NAMESPACE = Namespace.create(TimeoutExtension.class);
+
+	@Override
+	public void beforeEach(ExtensionContext context) {
+		lifecycleTimeoutMillis(context, BeforeEach.class) //
+				.ifPresent(millis -> start(context, Phase.BEFORE_EACH, millis));
+	}
+
+	@Override
+	public void beforeTestExecution(ExtensionContext context) throws TimeoutException {
+		finish(context, Phase.BEFORE_EACH);
+		Optional<Timeout> timeout = findTimeout(context.getRequiredTestMethod());
+		if (!timeout.isPresent()) {
+			timeout = findTimeout(context.getRequiredTestClass());
+		}
+		timeout.ifPresent(annotation -> start(context, Phase.TEST, toMillis(annotation)));
+	}
+
+	@Override
+	public void handleTestExecutionException(ExtensionContext context, Throwable throwable) throws Throwable {
+		TimedPhase phase = getStore(context).get(Phase.TEST, TimedPhase.class);
+		if (phase != null && phase.isTimedOut()) {
+			TimeoutException timeoutException = phase.createException(context);
+			timeoutException.addSuppressed(throwable);
+			throw timeoutException;
+		}
+		throw throwable;
+	}
+
+	@Override
+	public void afterTestExecution(ExtensionContext context) throws TimeoutException {
+		TimedPhase phase = getStore(context).remove(Phase.TEST, TimedPhase.class);
+		boolean timedOut = phase != null && phase.finish();
+		lifecycleTimeoutMillis(context, AfterEach.class) //
+				.ifPresent(millis -> start(context, Phase.AFTER_EACH, millis));
+		if (timedOut && !context.getExecutionException().isPresent()) {
+			throw phase.createException(context);
+		}
+	}
+
+	@Override
+	public void afterEach(ExtensionContext context) throws TimeoutException {
+		try {
+			finish(context, Phase.AFTER_EACH);
+		}
+		finally {
+			// in case a @BeforeEach method failed
+			finish(context, Phase.BEFORE_EACH);
+		}
+	}
+
+	private static void start(ExtensionContext context, Phase phase, long millis) {
+		getStore(context).put(phase, new TimedPhase(phase, millis));
+	}
+
+	private static void finish(ExtensionContext context, Phase phase) throws TimeoutException {
+		TimedPhase timedPhase = getStore(context).remove(phase, TimedPhase.class);
+		if (timedPhase != null && timedPhase.finish()) {
+			throw timedPhase.createException(context);
+		}
+	}
+
+	private static Optional<Long> lifecycleTimeoutMillis(ExtensionContext context,
+			Class<? extends Annotation> lifecycleAnnotation) {
+		List<Method> methods = ReflectionSupport.findMethods(context.getRequiredTestClass(),
+			method -> AnnotationSupport.isAnnotated(method, lifecycleAnnotation), HierarchyTraversalMode.TOP_DOWN);
+		return methods.stream() //
+				.map(TimeoutExtension::findTimeout) //
+				.filter(Optional::isPresent) //
+				.map(timeout -> toMillis(timeout.get())) //
+				.reduce(Long::sum);
+	}
+
+	private static Optional<Timeout> findTimeout(AnnotatedElement element) {
+		return AnnotationSupport.findAnnotation(element, Timeout.class);
+	}
+
+	private static long toMillis(Timeout timeout) {
+		if (timeout.value() <= 0) {
+			throw new JUnitException("@Timeout value must be positive: " + timeout);
+		}
+		return Math.max(1, timeout.unit().toMillis(timeout.value()));
+	}
+
+	private static Store getStore(ExtensionContext context) {
+		return context.getStore(NAMESPACE);
+	}
+
+	private enum Phase {
+
+		BEFORE_EACH("@BeforeEach methods of "), TEST(""), AFTER_EACH("@AfterEach methods of ");
+
+		private final String prefix;
+
+		Phase(String prefix) {
+			this.prefix = prefix;
+		}
+
+	}
+
+	/**
+	 * Timer of a single phase of a test, and the thread executing it.
+	 *
+	 * <p>A thread is only interrupted while it is executing the phase: once
+	 * the phase has finished, an interruption that has already been
+	 * delivered is cleared under the same lock.
+	 */
+	private static class TimedPhase {
+
+		private final Phase phase;
+
+		private final long millis;
+
+		private final Thread thread = Thread.currentThread();
+
+		private final TimerWheel.Timer timer;
+
+		private boolean timedOut;
+
+		private boolean finished;
+
+		TimedPhase(Phase phase, long millis) {
+			this.phase = phase;
+			this.millis = millis;
+			this.timer = TimerWheel.shared().schedule(millis, TimeUnit.MILLISECONDS, this::timeout);
+		}
+
+		private synchronized void timeout() {
+			if (!this.finished) {
+				this.timedOut = true;
+				this.thread.interrupt();
+			}
+		}
+
+		synchronized boolean isTimedOut() {
+			return this.timedOut;
+		}
+
+		/**
+		 * Finish this phase.
+		 *
+		 * @return whether it has timed out
+		 */
+		synchronized boolean finish() {
+			this.timer.cancel();
+			this.finished = true;
+			if (this.timedOut) {
+				Thread.interrupted();
+			}
+			return this.timedOut;
+		}
+
+		TimeoutException createException(ExtensionContext context) {
+			finish();
+			return new TimeoutException(String.format("%s%s timed out after %d %s", this.phase.prefix,
+				context.getDisplayName(), this.millis, TimeUnit.MILLISECONDS.name().toLowerCase(Locale.ROOT)));
+		}
+
+	}
+
+}
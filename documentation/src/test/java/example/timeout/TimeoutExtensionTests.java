@@ -0,0 +1,150 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package example.timeout;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.platform.launcher.LauncherDiscoveryRequest;
+import org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder;
+import org.junit.platform.launcher.core.LauncherFactory;
+import org.junit.platform.launcher.listeners.SummaryGeneratingListener;
+import org.junit.platform.launcher.listeners.TestExecutionSummary;
+import org.junit.platform.launcher.listeners.TestExecutionSummary.Failure;
+
+/**
+ * Tests for {@link TimeoutExtension}.
+ *
+ * @since 5.3
+ */
+class TimeoutExtensionTests {
+
+	@Test
+	void failsTestsThatExceedTheirTimeout() {
+		TestExecutionSummary summary = execute(TimeoutTestCase.class);
+
+		assertEquals(2, summary.getTestsSucceededCount());
+		Map<String, Throwable> failures = summary.getFailures().stream() //
+				.collect(Collectors.toMap(failure -> failure.getTestIdentifier().getDisplayName(),
+					Failure::getException));
+		assertEquals(3, failures.size());
+		failures.values().forEach(exception -> assertTrue(exception instanceof TimeoutException));
+		assertEquals("sleepingTest() timed out after 50 milliseconds", failures.get("sleepingTest()").getMessage());
+		assertTrue(failures.get("sleepingTest()").getSuppressed()[0] instanceof InterruptedException);
+		assertEquals("busyTest() timed out after 50 milliseconds", failures.get("busyTest()").getMessage());
+		assertEquals("classLevelTimeout() timed out after 100 milliseconds",
+			failures.get("classLevelTimeout()").getMessage());
+	}
+
+	@Test
+	void failsLifecycleMethodsThatExceedTheirTimeout() {
+		TestExecutionSummary summary = execute(LifecycleTimeoutTestCase.class);
+
+		assertEquals(1, summary.getTestsFailedCount());
+		Throwable exception = summary.getFailures().get(0).getException();
+		assertEquals("@BeforeEach methods of test() timed out after 50 milliseconds",
+			exception.getSuppressed()[0].getMessage());
+	}
+
+	@Test
+	void scalesToManyConcurrentTests() {
+		TestExecutionSummary summary = execute(ManyTestsTestCase.class);
+
+		assertEquals(1_000, summary.getTestsSucceededCount());
+	}
+
+	private static TestExecutionSummary execute(Class<?> testClass) {
+		LauncherDiscoveryRequest request = LauncherDiscoveryRequestBuilder.request() //
+				.selectors(selectClass(testClass)) //
+				.build();
+		SummaryGeneratingListener listener = new SummaryGeneratingListener();
+		LauncherFactory.create().execute(request, listener);
+		return listener.getSummary();
+	}
+
+	@Timeout(value = 100, unit = TimeUnit.MILLISECONDS)
+	static class TimeoutTestCase {
+
+		@Test
+		@Timeout(5)
+		void fastTest() {
+		}
+
+		@Test
+		@Timeout(value = 50, unit = TimeUnit.MILLISECONDS)
+		void sleepingTest() throws Exception {
+			Thread.sleep(10_000);
+		}
+
+		@Test
+		@Timeout(value = 50, unit = TimeUnit.MILLISECONDS)
+		void busyTest() {
+			long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(300);
+			while (System.nanoTime() < deadline) {
+				Thread.onSpinWait();
+			}
+		}
+
+		@Test
+		void classLevelTimeout() throws Exception {
+			Thread.sleep(10_000);
+		}
+
+		@Test
+		void notInterruptedAfterwards() throws Exception {
+			Thread.sleep(10);
+			assertFalse(Thread.currentThread().isInterrupted());
+		}
+
+	}
+
+	@ExtendWith(TimeoutExtension.class)
+	static class LifecycleTimeoutTestCase {
+
+		@BeforeEach
+		@Timeout(value = 50, unit = TimeUnit.MILLISECONDS)
+		void slowSetUp() throws Exception {
+			Thread.sleep(10_000);
+		}
+
+		@Test
+		void test() {
+		}
+
+		@AfterEach
+		@Timeout(1)
+		void tearDown() {
+		}
+
+	}
+
+	@Timeout(5)
+	static class ManyTestsTestCase {
+
+		@RepeatedTest(1_000)
+		void test() {
+		}
+
+	}
+
+}
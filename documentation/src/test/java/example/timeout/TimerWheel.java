@@ -0,0 +1,209 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package example.timeout;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Hashed timer wheel that runs short tasks once their deadline has passed.
+ *
+ * <p>A single daemon thread advances the wheel once per tick and runs the
+ * tasks of the current bucket whose deadline has passed, so scheduling and
+ * cancelling are constant-time operations that never wake up that thread,
+ * no matter how many timers are pending. Newly scheduled timers are handed
+ * over via a lock-free queue, and cancelled timers are unlinked when their
+ * bucket is visited. Tasks run on the wheel's thread and must not block.
+ *
+ * <p>Timers fire up to one tick late.
+ *
+ * @since 5.3
+ */
+class TimerWheel {
+
+	private static final Logger logger = Logger.getLogger(TimerWheel.class.getName());
+
+	private static final int STATE_PENDING = 0;
+
+	private static final int STATE_CANCELLED = 1;
+
+	private static final int STATE_EXPIRED = 2;
+
+	/**
+	 * Get the wheel that is shared by all timeouts, creating its thread on
+	 * first use.
+	 */
+	static TimerWheel shared() {
+		return Holder.instance;
+	}
+
+	private final long tickNanos;
+
+	private final Timer[] buckets;
+
+	private final int mask;
+
+	private final Queue<Timer> pending = new ConcurrentLinkedQueue<>();
+
+	private final long startTime = System.nanoTime();
+
+	private volatile boolean stopped;
+
+	private long tick;
+
+	TimerWheel(long tickDuration, TimeUnit unit, int bucketCount, String threadName) {
+		if (Integer.bitCount(bucketCount) != 1) {
+			throw new IllegalArgumentException("bucketCount must be a power of two: " + bucketCount);
+		}
+		this.tickNanos = unit.toNanos(tickDuration);
+		this.buckets = new Timer[bucketCount];
+		this.mask = bucketCount - 1;
+		Thread thread = new Thread(this::run, threadName);
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/**
+	 * Schedule the supplied task to be run once the supplied delay has
+	 * elapsed.
+	 */
+	Timer schedule(long delay, TimeUnit unit, Runnable task) {
+		Timer timer = new Timer(System.nanoTime() + unit.toNanos(delay), task);
+		this.pending.add(timer);
+		return timer;
+	}
+
+	/**
+	 * Stop this wheel's thread; pending tasks will not be run.
+	 */
+	void stop() {
+		this.stopped = true;
+	}
+
+	private void run() {
+		while (!this.stopped) {
+			long deadline = this.startTime + (this.tick + 1) * this.tickNanos;
+			long now;
+			while ((now = System.nanoTime()) < deadline && !this.stopped) {
+				LockSupport.parkNanos(this, deadline - now);
+			}
+			transferPendingTimers();
+			expireTimers(this.buckets, (int) (this.tick & this.mask), now);
+			this.tick++;
+		}
+	}
+
+	private void transferPendingTimers() {
+		Timer timer;
+		while ((timer = this.pending.poll()) != null) {
+			if (timer.state.get() != STATE_PENDING) {
+				continue;
+			}
+			long ticks = Math.max((timer.deadline - this.startTime) / this.tickNanos, this.tick);
+			timer.remainingRounds = (ticks - this.tick) / this.buckets.length;
+			int index = (int) (ticks & this.mask);
+			timer.next = this.buckets[index];
+			this.buckets[index] = timer;
+		}
+	}
+
+	private static void expireTimers(Timer[] buckets, int index, long now) {
+		Timer previous = null;
+		Timer timer = buckets[index];
+		while (timer != null) {
+			Timer next = timer.next;
+			boolean remove = timer.state.get() == STATE_CANCELLED;
+			if (!remove && timer.remainingRounds <= 0 && timer.deadline - now <= 0) {
+				remove = true;
+				timer.expire();
+			}
+			else if (!remove) {
+				timer.remainingRounds--;
+			}
+			if (remove) {
+				if (previous == null) {
+					buckets[index] = next;
+				}
+				else {
+					previous.next = next;
+				}
+				timer.next = null;
+			}
+			else {
+				previous = timer;
+			}
+			timer = next;
+		}
+	}
+
+	/**
+	 * Handle of a scheduled task.
+	 */
+	static final class Timer {
+
+		private final AtomicInteger state = new AtomicInteger(STATE_PENDING);
+
+		private final long deadline;
+
+		private final Runnable task;
+
+		private long remainingRounds;
+
+		private Timer next;
+
+		Timer(long deadline, Runnable task) {
+			this.deadline = deadline;
+			this.task = task;
+		}
+
+		/**
+		 * Cancel this timer.
+		 *
+		 * @return {@code true} if its task will not run, {@code false} if it
+		 * has already run or is running
+		 */
+		boolean cancel() {
+			return this.state.compareAndSet(STATE_PENDING, STATE_CANCELLED) || isCancelled();
+		}
+
+		boolean isCancelled() {
+			return this.state.get() == STATE_CANCELLED;
+		}
+
+		boolean isExpired() {
+			return this.state.get() == STATE_EXPIRED;
+		}
+
+		private void expire() {
+			if (this.state.compareAndSet(STATE_PENDING, STATE_EXPIRED)) {
+				try {
+					this.task.run();
+				}
+				catch (Throwable t) {
+					logger.log(Level.WARNING, "Timer task failed", t);
+				}
+			}
+		}
+
+	}
+
+	private static class Holder {
+
+		static final TimerWheel instance = new TimerWheel(10, TimeUnit.MILLISECONDS, 512, "timeout-timer-wheel");
+
+	}
+
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package example.timeout;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link TimerWheel}.
+ *
+ * @since 5.3
+ */
+class TimerWheelTests {
+
+	private final TimerWheel timerWheel = new TimerWheel(1, TimeUnit.MILLISECONDS, 8, "test-timer-wheel");
+
+	@AfterEach
+	void stopTimerWheel() {
+		this.timerWheel.stop();
+	}
+
+	@Test
+	void runsTasksAfterTheirDelay() throws Exception {
+		CountDownLatch latch = new CountDownLatch(3);
+		long start = System.nanoTime();
+
+		// 20 and 30 ms span several rotations of the 8 ms wheel
+		this.timerWheel.schedule(0, TimeUnit.MILLISECONDS, latch::countDown);
+		this.timerWheel.schedule(20, TimeUnit.MILLISECONDS, latch::countDown);
+		TimerWheel.Timer timer = this.timerWheel.schedule(30, TimeUnit.MILLISECONDS, latch::countDown);
+
+		assertTrue(latch.await(5, TimeUnit.SECONDS));
+		assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(30));
+		assertTrue(timer.isExpired());
+		assertFalse(timer.cancel());
+	}
+
+	@Test
+	void doesNotRunCancelledTasks() throws Exception {
+		AtomicInteger runs = new AtomicInteger();
+		CountDownLatch latch = new CountDownLatch(1);
+
+		TimerWheel.Timer timer = this.timerWheel.schedule(10, TimeUnit.MILLISECONDS, runs::incrementAndGet);
+		this.timerWheel.schedule(50, TimeUnit.MILLISECONDS, latch::countDown);
+
+		assertTrue(timer.cancel());
+		assertTrue(latch.await(5, TimeUnit.SECONDS));
+		assertTrue(timer.isCancelled());
+		assertEquals(0, runs.get());
+	}
+
+	@Test
+	void requiresPowerOfTwoBuckets() {
+		assertThrows(IllegalArgumentException.class,
+			() -> new TimerWheel(1, TimeUnit.MILLISECONDS, 10, "invalid-timer-wheel"));
+	}
+
+}